@@ -0,0 +1,357 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+
+/**
+ * Generates a type-specific <code>Expectation</code> for every type annotated with
+ * <code>GenerateExpectation</code>.
+ * <p>
+ * The properties of the annotated type are its record components or, for any other type, its
+ * public <code>getX</code> and boolean <code>isX</code> methods, inherited ones included. The
+ * generated class is written to the annotated type's package; see {@link ExpectationWriter} for
+ * the methods it provides.
+ */
+@SupportedAnnotationTypes(ExpectationProcessor.ANNOTATION)
+public class ExpectationProcessor extends AbstractProcessor {
+  static final String ANNOTATION = "org.cobhimself.expectator.annotations.GenerateExpectation";
+
+  private static final String GENERATED = "javax.annotation.processing.Generated";
+
+  @Override public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment env) {
+    for (TypeElement annotation : annotations) {
+      for (Element element : env.getElementsAnnotatedWith(annotation)) {
+        if (this.isSupported(element)) {
+          this.generate((TypeElement) element);
+        }
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Whether an expectation can be generated for the given element, reporting an error otherwise.
+   *
+   * @param element the annotated element
+   *
+   * @return true when an expectation can be generated
+   */
+  private boolean isSupported(Element element) {
+    String reason = null;
+
+    if (!element.getKind().isClass() && !element.getKind().isInterface()
+        || element.getKind() == ElementKind.ANNOTATION_TYPE
+    ) {
+      reason = "only classes, interfaces and records are supported";
+    } else if (element.getModifiers().contains(Modifier.PRIVATE)) {
+      reason = "private types are not supported";
+    } else if (!((TypeElement) element).getTypeParameters().isEmpty()) {
+      reason = "generic types are not supported";
+    } else if (element.getEnclosingElement().getKind() != ElementKind.PACKAGE
+        && !element.getModifiers().contains(Modifier.STATIC)
+        && element.getKind() == ElementKind.CLASS
+    ) {
+      reason = "inner classes are not supported";
+    }
+
+    if (reason != null) {
+      this.processingEnv.getMessager().printMessage(
+          Kind.ERROR,
+          "Cannot generate an expectation for " + element + ": " + reason,
+          element
+      );
+    }
+
+    return reason == null;
+  }
+
+  /**
+   * Generate the expectation of the given type.
+   *
+   * @param type the annotated type
+   */
+  private void generate(TypeElement type) {
+    var elements = this.processingEnv.getElementUtils();
+    PackageElement pkg = elements.getPackageOf(type);
+    String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+    String className = this.className(type);
+    String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+
+    var writer = new ExpectationWriter(
+        packageName,
+        className,
+        type.getQualifiedName().toString(),
+        elements.getTypeElement(GENERATED) != null ? GENERATED : null,
+        this.properties(type)
+    );
+
+    try (Writer out = this.processingEnv.getFiler().createSourceFile(qualifiedName, type)
+        .openWriter()
+    ) {
+      writer.write(out);
+    } catch (IOException e) {
+      this.processingEnv.getMessager().printMessage(
+          Kind.ERROR,
+          "Cannot write " + qualifiedName + ": " + e.getMessage(),
+          type
+      );
+    }
+  }
+
+  /**
+   * Get the simple name of the class generated for the given type.
+   *
+   * @param type the annotated type
+   *
+   * @return the name given by the annotation or the type's name followed by Expectation
+   */
+  private String className(TypeElement type) {
+    for (AnnotationMirror mirror : type.getAnnotationMirrors()) {
+      var annotation = (TypeElement) mirror.getAnnotationType().asElement();
+
+      if (!annotation.getQualifiedName().contentEquals(ANNOTATION)) {
+        continue;
+      }
+
+      for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value
+          : mirror.getElementValues().entrySet()
+      ) {
+        String name = value.getValue().getValue().toString();
+
+        if (!name.isEmpty()) {
+          return name;
+        }
+      }
+    }
+
+    return type.getSimpleName() + "Expectation";
+  }
+
+  /**
+   * Find the properties of the given type, in declaration order.
+   *
+   * @param type the annotated type
+   *
+   * @return the properties of the type
+   */
+  private List<Property> properties(TypeElement type) {
+    var elements = this.processingEnv.getElementUtils();
+    var types = this.processingEnv.getTypeUtils();
+    var declared = (DeclaredType) type.asType();
+    Set<String> components = new HashSet<>();
+
+    for (Element enclosed : type.getEnclosedElements()) {
+      //Referenced by name so the processor also runs on compilers which predate records
+      if (enclosed.getKind().name().equals("RECORD_COMPONENT")) {
+        components.add(enclosed.getSimpleName().toString());
+      }
+    }
+
+    Map<String, Property> properties = new LinkedHashMap<>();
+
+    for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+      var owner = (TypeElement) method.getEnclosingElement();
+
+      if (owner.getQualifiedName().contentEquals("java.lang.Object")
+          || !method.getModifiers().contains(Modifier.PUBLIC)
+          || method.getModifiers().contains(Modifier.STATIC)
+          || !method.getParameters().isEmpty()
+          || !method.getTypeParameters().isEmpty()
+      ) {
+        continue;
+      }
+
+      TypeMirror returnType = ((ExecutableType) types.asMemberOf(declared, method))
+          .getReturnType();
+      String name = this.propertyName(method, returnType, components);
+
+      if (name != null && !properties.containsKey(name)) {
+        properties.put(name, this.property(name, method, returnType));
+      }
+    }
+
+    return new ArrayList<>(properties.values());
+  }
+
+  /**
+   * Get the name of the property the given method reads.
+   *
+   * @param method     the candidate accessor
+   * @param returnType the type the method returns
+   * @param components the names of the record components, empty when the type is not a record
+   *
+   * @return the property name or null when the method is not an accessor
+   */
+  private String propertyName(
+      ExecutableElement method,
+      TypeMirror returnType,
+      Set<String> components
+  ) {
+    String name = method.getSimpleName().toString();
+
+    if (returnType.getKind() == TypeKind.VOID) {
+      return null;
+    }
+
+    if (!components.isEmpty()) {
+      return components.contains(name) ? name : null;
+    }
+
+    if (name.length() > 3 && name.startsWith("get") && Character.isUpperCase(name.charAt(3))) {
+      return decapitalize(name.substring(3));
+    }
+
+    if (name.length() > 2 && name.startsWith("is") && Character.isUpperCase(name.charAt(2))
+        && returnType.getKind() == TypeKind.BOOLEAN
+    ) {
+      return decapitalize(name.substring(2));
+    }
+
+    return null;
+  }
+
+  /**
+   * Decapitalize a property name the way JavaBeans do: names starting with two capitals, such as
+   * <code>URL</code>, are left alone.
+   *
+   * @param name the name to decapitalize
+   *
+   * @return the decapitalized name
+   */
+  private static String decapitalize(String name) {
+    if (name.length() > 1 && Character.isUpperCase(name.charAt(1))) {
+      return name;
+    }
+
+    return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+  }
+
+  /**
+   * Describe the property read by the given accessor.
+   *
+   * @param name       the name of the property
+   * @param method     the accessor
+   * @param returnType the type of the property
+   *
+   * @return the property
+   */
+  private Property property(String name, ExecutableElement method, TypeMirror returnType) {
+    var types = this.processingEnv.getTypeUtils();
+    var elements = this.processingEnv.getElementUtils();
+    String type = returnType.toString();
+    String accessor = method.getSimpleName().toString();
+
+    if (returnType.getKind().isPrimitive()) {
+      var ordering = Property.Ordering.PRIMITIVE;
+
+      if (returnType.getKind() == TypeKind.BOOLEAN) {
+        ordering = Property.Ordering.NONE;
+      } else if (returnType.getKind() == TypeKind.FLOAT
+          || returnType.getKind() == TypeKind.DOUBLE
+      ) {
+        ordering = Property.Ordering.FLOATING;
+      }
+
+      return new Property(
+          name,
+          accessor,
+          type,
+          types.boxedClass((PrimitiveType) returnType).getQualifiedName().toString(),
+          ordering,
+          Property.Containment.NONE
+      );
+    }
+
+    var ordering = Property.Ordering.NONE;
+    var containment = Property.Containment.NONE;
+
+    if (returnType.getKind() == TypeKind.DECLARED) {
+      TypeMirror erased = types.erasure(returnType);
+
+      if (((DeclaredType) returnType).getTypeArguments().isEmpty()
+          && types.isAssignable(erased, this.erasure("java.lang.Comparable"))
+      ) {
+        ordering = Property.Ordering.COMPARABLE;
+      }
+
+      if (types.isAssignable(erased, this.erasure("java.util.Collection"))) {
+        containment = Property.Containment.COLLECTION;
+      } else if (types.isAssignable(erased, this.erasure("java.util.Map"))) {
+        containment = Property.Containment.MAP;
+      } else if (types.isAssignable(erased, elements.getTypeElement("java.lang.CharSequence")
+          .asType())
+      ) {
+        containment = Property.Containment.CHAR_SEQUENCE;
+      }
+    }
+
+    return new Property(name, accessor, type, type, ordering, containment);
+  }
+
+  /**
+   * Get the erasure of the named type.
+   *
+   * @param name the qualified name of the type
+   *
+   * @return the erased type
+   */
+  private TypeMirror erasure(String name) {
+    return this.processingEnv.getTypeUtils().erasure(
+        this.processingEnv.getElementUtils().getTypeElement(name).asType()
+    );
+  }
+}
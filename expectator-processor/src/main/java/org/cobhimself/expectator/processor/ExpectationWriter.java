@@ -0,0 +1,256 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes the source of an expectation generated for an annotated type.
+ * <p>
+ * The generated class extends <code>Expectation</code> of the annotated type and, for each
+ * property, establishes expectators which read the property through its accessor. Expectators
+ * which only compare the property with the actual value are non-capturing lambdas, so they are
+ * allocated once no matter how many expectations are created.
+ */
+final class ExpectationWriter {
+  private static final String EXPECTATION = "org.cobhimself.expectator.expectations.Expectation";
+
+  private final String packageName;
+  private final String className;
+  private final String typeName;
+  private final String generatedAnnotation;
+  private final List<Property> properties;
+  private final StringBuilder out = new StringBuilder();
+
+  /**
+   * Construct an <code>ExpectationWriter</code>.
+   *
+   * @param packageName         the package of the generated class, empty for the unnamed package
+   * @param className           the simple name of the generated class
+   * @param typeName            the canonical name of the annotated type
+   * @param generatedAnnotation the <code>Generated</code> annotation to mark the class with, if
+   *                            one is available
+   * @param properties          the properties of the annotated type
+   */
+  ExpectationWriter(
+      String packageName,
+      String className,
+      String typeName,
+      String generatedAnnotation,
+      List<Property> properties
+  ) {
+    this.packageName = packageName;
+    this.className = className;
+    this.typeName = typeName;
+    this.generatedAnnotation = generatedAnnotation;
+    this.properties = properties;
+  }
+
+  /**
+   * Write the generated class.
+   *
+   * @param writer the writer of the generated source file
+   *
+   * @throws IOException when the source file cannot be written
+   */
+  void write(Writer writer) throws IOException {
+    this.out.setLength(0);
+
+    if (!this.packageName.isEmpty()) {
+      this.line("package " + this.packageName + ";").line("");
+    }
+
+    this.line("/**")
+        .line(" * An expectation of {@link " + this.typeName + "} values.")
+        .line(" */");
+
+    if (this.generatedAnnotation != null) {
+      this.line("@" + this.generatedAnnotation + "(\""
+          + ExpectationProcessor.class.getName() + "\")");
+    }
+
+    this.line("public class " + this.className
+            + " extends " + EXPECTATION + "<" + this.typeName + "> {")
+        .line("")
+        .line("  public " + this.className + "(" + this.typeName + " expectedValue, String name) {")
+        .line("    super(expectedValue, name);")
+        .line("  }")
+        .line("")
+        .line("  public " + this.className + "(String name) {")
+        .line("    super(name);")
+        .line("  }");
+
+    for (Property property : this.properties) {
+      this.writeEquality(property);
+
+      if (property.getOrdering() != Property.Ordering.NONE) {
+        this.writeOrdering(property);
+      }
+
+      this.writeContainment(property);
+    }
+
+    this.line("}");
+    writer.write(this.out.toString());
+  }
+
+  /**
+   * Write the equals and not equals methods of a property.
+   *
+   * @param property the property
+   */
+  private void writeEquality(Property property) {
+    String value = "e." + property.getAccessor() + "()";
+    String actual = "(" + property.getBoxedType() + ") a";
+    String equals;
+    String notEquals;
+
+    if (!property.isPrimitive()) {
+      equals = "java.util.Objects.equals(" + value + ", a)";
+      notEquals = "!" + equals;
+    } else if (property.getOrdering() == Property.Ordering.FLOATING) {
+      equals = property.getBoxedType() + ".compare(" + value + ", " + actual + ") == 0";
+      notEquals = property.getBoxedType() + ".compare(" + value + ", " + actual + ") != 0";
+    } else {
+      equals = value + " == " + actual;
+      notEquals = value + " != " + actual;
+    }
+
+    this.writeMethod(property, "Equals", "equal to", property.getType() + " actual",
+        equals, "actual");
+    this.writeMethod(property, "NotEquals", "not equal to", property.getType() + " actual",
+        notEquals, "actual");
+  }
+
+  /**
+   * Write the greater than, less than and between methods of a property.
+   *
+   * @param property the property
+   */
+  private void writeOrdering(Property property) {
+    String parameter = property.getType() + " actual";
+    String actual = "(" + property.getBoxedType() + ") a";
+
+    if (property.getOrdering() == Property.Ordering.COMPARABLE) {
+      this.writeMethod(property, "GreaterThan", "greater than", parameter,
+          "value != null && value.compareTo(" + actual + ") > 0", "actual");
+      this.writeMethod(property, "LessThan", "less than", parameter,
+          "value != null && value.compareTo(" + actual + ") < 0", "actual");
+      this.writeMethod(property, "Between", "between", this.range(property),
+          "value != null && value.compareTo(min) >= 0 && value.compareTo(max) <= 0",
+          "\"[\" + min + \", \" + max + \"]\"");
+
+      return;
+    }
+
+    this.writeMethod(property, "GreaterThan", "greater than", parameter,
+        "value > " + actual, "actual");
+    this.writeMethod(property, "LessThan", "less than", parameter,
+        "value < " + actual, "actual");
+    this.writeMethod(property, "Between", "between", this.range(property),
+        "value >= min && value <= max", "\"[\" + min + \", \" + max + \"]\"");
+  }
+
+  private String range(Property property) {
+    return property.getType() + " min, " + property.getType() + " max";
+  }
+
+  /**
+   * Write the contains methods of a property.
+   *
+   * @param property the property
+   */
+  private void writeContainment(Property property) {
+    switch (property.getContainment()) {
+      case COLLECTION:
+        this.writeMethod(property, "Contains", "containing", "Object element",
+            "value != null && value.contains(a)", "element");
+        break;
+      case CHAR_SEQUENCE:
+        this.writeMethod(property, "Contains", "containing", "CharSequence sequence",
+            "value != null && value.toString().contains((CharSequence) a)", "sequence");
+        break;
+      case MAP:
+        this.writeMethod(property, "ContainsKey", "containing the key", "Object key",
+            "value != null && value.containsKey(a)", "key");
+        break;
+      default:
+        break;
+    }
+  }
+
+  /**
+   * Write a single expect method.
+   * <p>
+   * Conditions which refer to <code>value</code> are given the property's value in a local
+   * variable so the accessor is only called once.
+   *
+   * @param property   the property the method expects something of
+   * @param suffix     the suffix of the method name
+   * @param relation   how the property relates to the actual value, for the failure message
+   * @param parameters the parameters of the method
+   * @param condition  the condition the expectator checks
+   * @param actual     the actual value given to the expectator
+   */
+  private void writeMethod(
+      Property property,
+      String suffix,
+      String relation,
+      String parameters,
+      String condition,
+      String actual
+  ) {
+    this.line("")
+        .line("  public " + this.className + " expect" + property.getCapitalizedName() + suffix
+            + "(" + parameters + ") {")
+        .line("    this.expect(");
+
+    if (condition.startsWith("value")) {
+      this.line("        (e, a) -> {")
+          .line("          " + property.getType() + " value = e." + property.getAccessor() + "();")
+          .line("")
+          .line("          return " + condition + ";")
+          .line("        },");
+    } else {
+      this.line("        (e, a) -> " + condition + ",");
+    }
+
+    this.line("        " + actual + ",")
+        .line("        \"expected {expected} to have " + property.getName() + " " + relation
+            + " {actual}\"")
+        .line("    );")
+        .line("")
+        .line("    return this;")
+        .line("  }");
+  }
+
+  private ExpectationWriter line(String line) {
+    this.out.append(line).append('\n');
+
+    return this;
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.processor;
+
+/**
+ * A property of a type annotated with <code>GenerateExpectation</code>, read through a no
+ * argument accessor.
+ */
+final class Property {
+
+  /**
+   * How values of a property can be ordered.
+   */
+  enum Ordering {
+    NONE,
+    PRIMITIVE,
+    FLOATING,
+    COMPARABLE
+  }
+
+  /**
+   * What values of a property can contain.
+   */
+  enum Containment {
+    NONE,
+    COLLECTION,
+    CHAR_SEQUENCE,
+    MAP
+  }
+
+  private final String name;
+  private final String accessor;
+  private final String type;
+  private final String boxedType;
+  private final Ordering ordering;
+  private final Containment containment;
+
+  /**
+   * Construct a <code>Property</code>.
+   *
+   * @param name        the name of the property
+   * @param accessor    the name of the method reading the property
+   * @param type        the source representation of the property's type
+   * @param boxedType   the type the property is boxed to, or its type when it is a reference
+   * @param ordering    how the property's values can be ordered
+   * @param containment what the property's values can contain
+   */
+  Property(
+      String name,
+      String accessor,
+      String type,
+      String boxedType,
+      Ordering ordering,
+      Containment containment
+  ) {
+    this.name = name;
+    this.accessor = accessor;
+    this.type = type;
+    this.boxedType = boxedType;
+    this.ordering = ordering;
+    this.containment = containment;
+  }
+
+  String getName() {
+    return this.name;
+  }
+
+  /**
+   * Get the name of the property with its first letter capitalized, for use in method names.
+   *
+   * @return the capitalized name
+   */
+  String getCapitalizedName() {
+    return Character.toUpperCase(this.name.charAt(0)) + this.name.substring(1);
+  }
+
+  String getAccessor() {
+    return this.accessor;
+  }
+
+  String getType() {
+    return this.type;
+  }
+
+  String getBoxedType() {
+    return this.boxedType;
+  }
+
+  boolean isPrimitive() {
+    return !this.type.equals(this.boxedType);
+  }
+
+  Ordering getOrdering() {
+    return this.ordering;
+  }
+
+  Containment getContainment() {
+    return this.containment;
+  }
+}
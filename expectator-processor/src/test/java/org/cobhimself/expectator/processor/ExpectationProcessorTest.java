@@ -0,0 +1,242 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.processor;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaFileObject;
+import javax.tools.ToolProvider;
+import org.cobhimself.expectator.exceptions.ExpectatorException;
+import org.cobhimself.expectator.expectations.Expectation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ExpectationProcessorTest {
+
+  private static final String ORDER = String.join("\n",
+      "package sample;",
+      "",
+      "import java.util.List;",
+      "import java.util.Map;",
+      "import org.cobhimself.expectator.annotations.GenerateExpectation;",
+      "",
+      "@GenerateExpectation",
+      "public class Order {",
+      "  private final int quantity;",
+      "  private final double price;",
+      "  private final String customer;",
+      "  private final List<String> items;",
+      "  private final Map<String, Integer> tags;",
+      "  private final boolean paid;",
+      "",
+      "  public Order(int quantity, double price, String customer, List<String> items,",
+      "      Map<String, Integer> tags, boolean paid) {",
+      "    this.quantity = quantity;",
+      "    this.price = price;",
+      "    this.customer = customer;",
+      "    this.items = items;",
+      "    this.tags = tags;",
+      "    this.paid = paid;",
+      "  }",
+      "",
+      "  public int getQuantity() { return quantity; }",
+      "  public double getPrice() { return price; }",
+      "  public String getCustomer() { return customer; }",
+      "  public List<String> getItems() { return items; }",
+      "  public Map<String, Integer> getTags() { return tags; }",
+      "  public boolean isPaid() { return paid; }",
+      "  public String toString() { return \"order of \" + customer; }",
+      "}"
+  );
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void testGeneratedExpectation() throws Exception {
+    var loader = this.compile(List.of(ORDER));
+    var orderClass = loader.loadClass("sample.Order");
+    var order = orderClass.getConstructors()[0].newInstance(
+        3, 9.5, "Collin", List.of("book", "pen"), java.util.Map.of("rush", 1), true
+    );
+    var expectationClass = loader.loadClass("sample.OrderExpectation");
+    var expectation = (Expectation<?>) expectationClass
+        .getConstructor(orderClass, String.class)
+        .newInstance(order, "Order");
+
+    invoke(expectation, "expectQuantityEquals", 3);
+    invoke(expectation, "expectQuantityBetween", 1, 5);
+    invoke(expectation, "expectPriceGreaterThan", 9.0);
+    invoke(expectation, "expectCustomerEquals", "Collin");
+    invoke(expectation, "expectCustomerContains", "oll");
+    invoke(expectation, "expectCustomerLessThan", "Dan");
+    invoke(expectation, "expectItemsContains", "pen");
+    invoke(expectation, "expectTagsContainsKey", "rush");
+    invoke(expectation, "expectPaidEquals", true);
+
+    assertDoesNotThrow(expectation::confirm);
+
+    invoke(expectation, "expectQuantityLessThan", 2);
+
+    var exception = assertThrows(ExpectatorException.class, expectation::confirm);
+
+    assertEquals("Order: expected order of Collin to have quantity less than 2",
+        exception.getMessage());
+  }
+
+  @Test
+  void testNoReflectionInGeneratedSource() throws Exception {
+    this.compile(List.of(ORDER));
+
+    String source = Files.readString(
+        this.directory.resolve("generated/sample/OrderExpectation.java")
+    );
+
+    assertTrue(source.contains("e.getQuantity()"));
+    assertFalse(source.contains("java.lang.reflect"));
+    assertFalse(source.contains("expectQuantityContains"));
+    assertFalse(source.contains("expectPaidGreaterThan"));
+  }
+
+  @Test
+  void testRecord() throws Exception {
+    assumeTrue(Runtime.version().feature() >= 16, "records require Java 16");
+
+    var loader = this.compile(List.of(String.join("\n",
+        "package sample;",
+        "",
+        "@org.cobhimself.expectator.annotations.GenerateExpectation(\"PointCheck\")",
+        "public record Point(long x, long y) {}"
+    )));
+    var pointClass = loader.loadClass("sample.Point");
+    var expectation = (Expectation<?>) loader.loadClass("sample.PointCheck")
+        .getConstructor(pointClass, String.class)
+        .newInstance(pointClass.getConstructors()[0].newInstance(1L, 2L), "Point");
+
+    invoke(expectation, "expectXLessThan", 2L);
+    invoke(expectation, "expectYNotEquals", 3L);
+
+    assertDoesNotThrow(expectation::confirm);
+  }
+
+  @Test
+  void testGenericTypesAreRejected() {
+    var diagnostics = new DiagnosticCollector<JavaFileObject>();
+
+    assertFalse(this.compile(List.of(String.join("\n",
+        "package sample;",
+        "",
+        "@org.cobhimself.expectator.annotations.GenerateExpectation",
+        "public class Box<T> {}"
+    )), diagnostics));
+    assertTrue(diagnostics.getDiagnostics().stream().anyMatch(
+        d -> d.getMessage(null).contains("generic types are not supported")
+    ));
+  }
+
+  private ClassLoader compile(List<String> sources) throws IOException {
+    var diagnostics = new DiagnosticCollector<JavaFileObject>();
+
+    assertTrue(this.compile(sources, diagnostics), () -> diagnostics.getDiagnostics().stream()
+        .filter(d -> d.getKind() == Diagnostic.Kind.ERROR)
+        .map(d -> d.getMessage(null))
+        .collect(Collectors.joining("\n")));
+
+    return new URLClassLoader(
+        new URL[]{this.directory.resolve("classes").toUri().toURL()},
+        this.getClass().getClassLoader()
+    );
+  }
+
+  private boolean compile(List<String> sources, DiagnosticCollector<JavaFileObject> diagnostics) {
+    try {
+      var compiler = ToolProvider.getSystemJavaCompiler();
+      var fileManager = compiler.getStandardFileManager(diagnostics, null, null);
+      var files = new ArrayList<Path>();
+
+      for (String source : sources) {
+        String name = source.replaceAll("(?s).*public (?:class|record) (\\w+).*", "$1");
+        Path file = Files.createDirectories(this.directory.resolve("src/sample"))
+            .resolve(name + ".java");
+        files.add(Files.writeString(file, source));
+      }
+
+      String classpath = Path.of(
+          Expectation.class.getProtectionDomain().getCodeSource().getLocation().toURI()
+      ).toString();
+      var task = compiler.getTask(
+          null,
+          fileManager,
+          diagnostics,
+          List.of(
+              "-classpath", classpath,
+              "-d", Files.createDirectories(this.directory.resolve("classes")).toString(),
+              "-s", Files.createDirectories(this.directory.resolve("generated")).toString()
+          ),
+          null,
+          fileManager.getJavaFileObjectsFromPaths(files)
+      );
+      task.setProcessors(List.of(new ExpectationProcessor()));
+
+      return task.call();
+    } catch (IOException | URISyntaxException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static void invoke(Object target, String name, Object... args) throws Exception {
+    for (Method method : target.getClass().getMethods()) {
+      if (method.getName().equals(name) && method.getParameterCount() == args.length) {
+        try {
+          method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+          throw (Exception) e.getCause();
+        }
+
+        return;
+      }
+    }
+
+    throw new NoSuchMethodException(name);
+  }
+}
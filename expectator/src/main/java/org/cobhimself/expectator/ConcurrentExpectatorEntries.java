@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.cobhimself.expectator.monitoring.FailureMonitor;
+
+/**
+ * Class which helps collect {@link ExpectatorEntry} items registered from several threads.
+ * <p>
+ * Entries are held in a lock-free, append ordered queue. Everything a thread does before adding
+ * an entry happens-before another thread confirms that entry.
+ * <p>
+ * Nothing but the queue itself is shared between the threads: emptiness is checked in constant
+ * time and, as for any <code>ConcurrentLinkedQueue</code>, <code>size()</code> walks the entries,
+ * which is no more than confirming them costs.
+ *
+ * @param <T> the type of value expectators will work with.
+ */
+public class ConcurrentExpectatorEntries<T> extends ConcurrentLinkedQueue<ExpectatorEntry<T>>
+    implements ExpectatorEntryCollection<T> {
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Confirm all the {@link ExpectatorEntry}s held, in the order they were added.
+   */
+  @Override public void confirm() {
+    this.forEach(ExpectatorEntry::confirm);
+  }
+
+  /**
+   * Confirm all the {@link ExpectatorEntry}s held, in the order they were added, recording
+   * failures with the given monitor instead of throwing.
+   *
+   * @param monitor the monitor failures are recorded with
+   *
+   * @return whether every entry passed
+   */
+  @Override public boolean confirm(FailureMonitor monitor) {
+    boolean passed = true;
+
+    for (ExpectatorEntry<T> entry : this) {
+      passed &= entry.confirm(monitor);
+    }
+
+    return passed;
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator;
+
+import java.util.function.BiFunction;
+
+/**
+ * An {@link Expectator} which can explain why it failed.
+ * <p>
+ * When a <code>DetailedExpectator</code> fails, its details replace the {details} token of the
+ * failure message; for instance, where in an object graph two values first differ. The details
+ * are only computed once the expectator has failed, so they may be as expensive to compute as
+ * needed.
+ *
+ * @param <T> the type of the expected value the expectator will hold
+ */
+public interface DetailedExpectator<T> extends Expectator<T> {
+
+  /**
+   * Explain why the expected value did not meet the actual value.
+   *
+   * @param expected the expected value
+   * @param actual   the actual value
+   *
+   * @return the details of the failure
+   */
+  String details(T expected, Object actual);
+
+  /**
+   * Combine an <code>Expectator</code> with a function explaining its failures.
+   *
+   * @param expectator the expectator to run
+   * @param details    the function explaining why the expectator failed
+   * @param <T>        the type of the expected value
+   *
+   * @return a detailed expectator
+   */
+  static <T> DetailedExpectator<T> of(
+      Expectator<T> expectator,
+      BiFunction<? super T, Object, String> details
+  ) {
+    return new DetailedExpectator<>() {
+      @Override public String details(T expected, Object actual) {
+        return details.apply(expected, actual);
+      }
+
+      @Override public boolean test(T expected, Object actual) {
+        return expectator.test(expected, actual);
+      }
+    };
+  }
+}
@@ -24,19 +24,57 @@
 
 package org.cobhimself.expectator;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import org.cobhimself.expectator.monitoring.FailureMonitor;
 
 /**
- * Class which helps collect a set of {@link ExpectatorEntry} items.
+ * Class which helps collect a list of {@link ExpectatorEntry} items.
+ * <p>
+ * Entries are held in the order they were added. Clearing the list keeps its capacity, so a
+ * re-armed expectation adds its entries again without allocating.
  *
  * @param <T> the type of value expectators will work with.
  */
-public class ExpectatorEntries<T> extends HashSet<ExpectatorEntry<T>> {
+public class ExpectatorEntries<T> extends ArrayList<ExpectatorEntry<T>>
+    implements ExpectatorEntryCollection<T> {
+  private static final long serialVersionUID = 1L;
 
   /**
-   * Confirm all the {@link ExpectatorEntry}s held.
+   * Confirm all the {@link ExpectatorEntry}s held, in the order they were added.
    */
-  public void confirm() {
+  @Override public void confirm() {
     this.forEach(ExpectatorEntry::confirm);
   }
+
+  /**
+   * Confirm all the {@link ExpectatorEntry}s held, in the order they were added, recording
+   * failures with the given monitor instead of throwing.
+   *
+   * @param monitor the monitor failures are recorded with
+   *
+   * @return whether every entry passed
+   */
+  @Override public boolean confirm(FailureMonitor monitor) {
+    boolean passed = true;
+
+    for (int i = 0; i < this.size(); i++) {
+      passed &= this.get(i).confirm(monitor);
+    }
+
+    return passed;
+  }
+
+  /**
+   * Move every entry held to the given collection, leaving this one empty, without allocating.
+   *
+   * @param target the collection receiving the entries
+   */
+  @Override public void transferTo(Collection<? super ExpectatorEntry<T>> target) {
+    for (int i = 0; i < this.size(); i++) {
+      target.add(this.get(i));
+    }
+
+    this.clear();
+  }
 }
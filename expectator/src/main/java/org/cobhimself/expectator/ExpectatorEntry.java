@@ -26,6 +26,10 @@ package org.cobhimself.expectator;
 
 import org.cobhimself.expectator.exceptions.ExpectatorException;
 import org.cobhimself.expectator.expectations.Expectation;
+import org.cobhimself.expectator.jfr.ExpectatorConfirmEvent;
+import org.cobhimself.expectator.jfr.FlightRecording;
+import org.cobhimself.expectator.metrics.ExpectatorMetrics;
+import org.cobhimself.expectator.monitoring.FailureMonitor;
 
 /**
  * An <code>ExpectatorEntry</code> is the container in which an <code>Expectator</code> is stored
@@ -37,10 +41,11 @@ import org.cobhimself.expectator.expectations.Expectation;
  * @param <T> the type of value the <code>Expectator</code> stores in its expected value.
  */
 public class ExpectatorEntry<T> {
-  private final Expectator<T> expectator;
-  private final Object actual;
-  private final String message;
+  private Expectator<T> expectator;
+  private Object actual;
+  private String message;
   private final Expectation<T> parentExpectation;
+  private final boolean frozen;
 
   /**
    * Constructor which establishes the necessary properties for this entry.
@@ -62,11 +67,74 @@ public class ExpectatorEntry<T> {
       Expectator<T> expectator,
       Object actual,
       String message
+  ) {
+    this(expectation, expectator, actual, message, false);
+  }
+
+  private ExpectatorEntry(
+      Expectation<T> expectation,
+      Expectator<T> expectator,
+      Object actual,
+      String message,
+      boolean frozen
   ) {
     this.parentExpectation = expectation;
     this.expectator = expectator;
     this.actual = actual;
     this.message = message;
+    this.frozen = frozen;
+  }
+
+  /**
+   * Copy this entry into one which can never be re-armed, so it can be shared safely.
+   *
+   * @return a frozen copy of this entry
+   */
+  public ExpectatorEntry<T> frozenCopy() {
+    return new ExpectatorEntry<>(
+        this.parentExpectation,
+        this.expectator,
+        this.actual,
+        this.message,
+        true
+    );
+  }
+
+  /**
+   * Whether this entry is frozen and can never be re-armed.
+   *
+   * @return true when the entry is frozen
+   */
+  public boolean isFrozen() {
+    return this.frozen;
+  }
+
+  /**
+   * Re-arm this entry with a new <code>Expectator</code>, actual value and failure message so it
+   * can be reused instead of allocating a new entry.
+   * <p>
+   * Only the owner of an entry which is no longer being confirmed should re-arm it; this is how
+   * {@link Expectation#reset()} recycles its entries. Frozen entries, such as those of an
+   * <code>ExpectationSpec</code>, cannot be re-armed.
+   *
+   * @param expectator the <code>Expectator</code> which confirms our expectations
+   * @param actual     the actual value we are confirming our expectations against
+   * @param message    the failure message we will use when our expectations are not met
+   *
+   * @return self
+   *
+   * @throws IllegalStateException when the entry is frozen
+   */
+  public ExpectatorEntry<T> rearm(Expectator<T> expectator, Object actual, String message) {
+    if (this.frozen) {
+      throw new IllegalStateException("A frozen expectator entry cannot be re-armed");
+    }
+
+    this.expectator = expectator;
+    this.actual = actual;
+    this.message = message;
+
+    return this;
   }
 
   /**
@@ -123,10 +191,88 @@ public class ExpectatorEntry<T> {
    * @return the outcome details as to why a failure occurred.
    */
   public String outcomeDetails() {
-    return new FailureMessageBuilder()
-        .setExpected(this.getParentExpectation().getExpectedValue().toString())
-        .setActual(actual.toString())
-        .build(this.getMessage());
+    return this.outcomeDetails(this.getParentExpectation().getExpectedValue());
+  }
+
+  /**
+   * Get specific details about the given expected value vs the actual value for failure messages.
+   * <p>
+   * When the <code>Expectator</code> is a {@link DetailedExpectator}, its details replace the
+   * {details} token of the message.
+   *
+   * @param expectedValue the expected value the <code>Expectator</code> was run against
+   *
+   * @return the outcome details as to why a failure occurred.
+   */
+  public String outcomeDetails(T expectedValue) {
+    String message = this.getMessage();
+    var builder = new FailureMessageBuilder().setActual(String.valueOf(actual));
+
+    //A large expected value is only turned into a string when the message shows it
+    if (message != null && message.contains("{expected}")) {
+      builder.setExpected(String.valueOf(expectedValue));
+    }
+
+    if (this.expectator instanceof DetailedExpectator) {
+      builder.setDetails(((DetailedExpectator<T>) this.expectator).details(expectedValue, actual));
+    }
+
+    return builder.build(message);
+  }
+
+  /**
+   * Run the <code>Expectator</code> associated with this <code>ExpectatorEntry</code> without
+   * failing.
+   * <p>
+   * When {@link ExpectatorMetrics} are enabled, the run is timed and recorded. While a Flight
+   * Recorder recording is running, an {@link ExpectatorConfirmEvent} is emitted.
+   *
+   * @return whether the expected value meets our expectations
+   */
+  public boolean test() {
+    return this.test(this.getParentExpectation().getExpectedValue());
+  }
+
+  /**
+   * Run the <code>Expectator</code> associated with this <code>ExpectatorEntry</code> against the
+   * given expected value, rather than the parent <code>Expectation</code>'s, without failing.
+   * <p>
+   * The entry itself is not modified so any number of threads may test it at once.
+   *
+   * @param expectedValue the expected value to run the <code>Expectator</code> against
+   *
+   * @return whether the expected value meets our expectations
+   */
+  public boolean test(T expectedValue) {
+    if (!ExpectatorMetrics.ENABLED && !FlightRecording.isActive()) {
+      return this.getExpectator().test(expectedValue, this.getActual());
+    }
+
+    ExpectatorConfirmEvent event = null;
+
+    if (FlightRecording.isActive()) {
+      event = new ExpectatorConfirmEvent();
+      event.begin();
+    }
+
+    long start = System.nanoTime();
+    boolean passed = this.getExpectator().test(expectedValue, this.getActual());
+    long nanos = System.nanoTime() - start;
+
+    if (event != null) {
+      event.complete(this.getParentExpectation().getName(), this.getMessage(), passed);
+    }
+
+    if (ExpectatorMetrics.ENABLED) {
+      ExpectatorMetrics.record(
+          this.getParentExpectation().getName(),
+          this.getMessage(),
+          nanos,
+          passed
+      );
+    }
+
+    return passed;
   }
 
   /**
@@ -135,11 +281,50 @@ public class ExpectatorEntry<T> {
    * The <code>Expectator</code> is not run until this method is called!
    */
   public void confirm() {
-    if (!this.getExpectator().test(
-        this.getParentExpectation().getExpectedValue(),
-        this.getActual()
-    )) {
+    if (!this.test()) {
       this.fail();
     }
   }
+
+  /**
+   * Confirm the <code>Expectator</code> associated with this <code>ExpectatorEntry</code>,
+   * recording a failure with the given monitor instead of throwing.
+   *
+   * @param monitor the monitor failures are recorded with
+   *
+   * @return whether the expected value meets our expectations
+   */
+  public boolean confirm(FailureMonitor monitor) {
+    return this.confirm(this.getParentExpectation().getExpectedValue(), monitor);
+  }
+
+  /**
+   * Confirm the <code>Expectator</code> associated with this <code>ExpectatorEntry</code> against
+   * the given expected value, recording a failure with the given monitor instead of throwing.
+   * <p>
+   * An exception thrown by the <code>Expectator</code> is recorded as a failure as well, so the
+   * calling thread is never disrupted.
+   *
+   * @param expectedValue the expected value to run the <code>Expectator</code> against
+   * @param monitor       the monitor failures are recorded with
+   *
+   * @return whether the expected value meets our expectations
+   */
+  public boolean confirm(T expectedValue, FailureMonitor monitor) {
+    boolean passed;
+
+    try {
+      passed = this.test(expectedValue);
+    } catch (RuntimeException e) {
+      monitor.recordException(this, e);
+
+      return false;
+    }
+
+    if (!passed) {
+      monitor.recordFailure(this, expectedValue);
+    }
+
+    return passed;
+  }
 }
@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator;
+
+import java.util.Collection;
+import org.cobhimself.expectator.expectations.Expectation;
+import org.cobhimself.expectator.monitoring.FailureMonitor;
+
+/**
+ * A collection of {@link ExpectatorEntry} items which can confirm them all.
+ * <p>
+ * An {@link Expectation} stores its entries in one of these; {@link ExpectatorEntries} is the
+ * default and {@link ConcurrentExpectatorEntries} accepts entries from several threads at once.
+ * Implementations keep the order entries were added in and answer <code>size()</code> in
+ * constant time.
+ *
+ * @param <T> the type of value expectators will work with.
+ */
+public interface ExpectatorEntryCollection<T> extends Collection<ExpectatorEntry<T>> {
+
+  /**
+   * Confirm all the {@link ExpectatorEntry}s held, in the order they were added.
+   */
+  void confirm();
+
+  /**
+   * Confirm all the {@link ExpectatorEntry}s held, in the order they were added, recording
+   * failures with the given monitor instead of throwing.
+   *
+   * @param monitor the monitor failures are recorded with
+   *
+   * @return whether every entry passed
+   */
+  boolean confirm(FailureMonitor monitor);
+
+  /**
+   * Move every entry held, in the order they were added, to the given collection, leaving this
+   * one empty.
+   *
+   * @param target the collection receiving the entries
+   */
+  default void transferTo(Collection<? super ExpectatorEntry<T>> target) {
+    target.addAll(this);
+    this.clear();
+  }
+}
@@ -28,12 +28,14 @@ import com.google.common.base.Strings;
 
 /**
  * Class which aids in the construction of failure messages by replacing {expected} and {value}
- * tokens in the failure message with the expected and actual values provided.
+ * tokens in the failure message with the expected and actual values provided. A {details} token
+ * is replaced with any further details, such as those given by a {@link DetailedExpectator}.
  */
 public class FailureMessageBuilder {
 
   String expected;
   String actual;
+  String details;
 
   /**
    * Get the expected value.
@@ -72,6 +74,28 @@ public class FailureMessageBuilder {
     return this;
   }
 
+  /**
+   * Get the details.
+   *
+   * @return the details string if available or an empty string otherwise
+   */
+  public String getDetails() {
+    return this.getValue(this.details);
+  }
+
+  /**
+   * Set the details to be used when generating the failure message.
+   *
+   * @param details further details about the failure
+   *
+   * @return self
+   */
+  public FailureMessageBuilder setDetails(String details) {
+    this.details = details;
+
+    return this;
+  }
+
   /**
    * Get the value if it is not null or empty; otherwise, get an empty string.
    *
@@ -87,7 +111,8 @@ public class FailureMessageBuilder {
    * Build the failure message.
    * <p>
    * Our failure message should contain one or more {expected} or {actual} tokens to be replaced by
-   * the expected and actual values provided to this builder.
+   * the expected and actual values provided to this builder, and may contain {details} tokens to
+   * be replaced by the details provided.
    * <p>
    * The above tokens are not required if either of them do not need to be replaced with their
    * final values.
@@ -99,6 +124,7 @@ public class FailureMessageBuilder {
   public String build(String failureMessage) {
     return failureMessage
         .replace("{expected}", this.getExpected())
-        .replace("{actual}", this.getActual());
+        .replace("{actual}", this.getActual())
+        .replace("{details}", this.getDetails());
   }
 }
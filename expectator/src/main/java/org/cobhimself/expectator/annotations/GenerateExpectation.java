@@ -0,0 +1,61 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generate a type-specific <code>Expectation</code> for the annotated class or record.
+ * <p>
+ * With the <code>expectator-processor</code> annotation processor on the annotation processor
+ * path, a <code>XxxExpectation extends Expectation&lt;Xxx&gt;</code> class is generated alongside
+ * the annotated type <code>Xxx</code>. For every property of the type (a public getter, or a
+ * record component) the generated class provides:
+ * <ul>
+ *   <li><code>expectFooEquals</code> and <code>expectFooNotEquals</code>;</li>
+ *   <li><code>expectFooGreaterThan</code>, <code>expectFooLessThan</code> and
+ *   <code>expectFooBetween</code> when the property is numeric or <code>Comparable</code>;</li>
+ *   <li><code>expectFooContains</code> when the property is a <code>Collection</code> or a
+ *   <code>CharSequence</code>, and <code>expectFooContainsKey</code> when it is a
+ *   <code>Map</code>.</li>
+ * </ul>
+ * The generated expectators call the getters directly, without reflection, so they start quickly
+ * and can be inlined by the JIT like hand written expectators.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateExpectation {
+
+  /**
+   * The simple name of the generated class; defaults to the annotated type's name followed by
+   * <code>Expectation</code>.
+   *
+   * @return the name of the generated class
+   */
+  String value() default "";
+}
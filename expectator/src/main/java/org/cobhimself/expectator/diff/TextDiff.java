@@ -0,0 +1,624 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.diff;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Produces a bounded, unified diff excerpt of two strings, line by line.
+ * <p>
+ * The strings are first scanned for their common prefix and suffix, which are skipped except for
+ * the context lines around the differences. Only the remaining lines are diffed, with Myers'
+ * linear space algorithm: the middle snake of each region is found and the halves on either side
+ * are diffed in turn, so memory stays proportional to the number of lines.
+ * <p>
+ * The diff is bounded in every dimension so very large or pathological inputs cannot stall a
+ * test: once the edit distance searched exceeds {@link #setMaxEditDistance(int)} or the time
+ * spent exceeds {@link #setTimeout(Duration)}, the region still being diffed is reported as
+ * replaced as a whole; the output stops after {@link #setMaxOutputLines(int)} lines and long
+ * lines are cut down to a window around their first difference.
+ */
+public class TextDiff {
+  public static final int DEFAULT_CONTEXT_LINES = 3;
+  public static final int DEFAULT_MAX_OUTPUT_LINES = 100;
+  public static final int DEFAULT_MAX_LINE_LENGTH = 200;
+  public static final int DEFAULT_MAX_EDIT_DISTANCE = 2_000;
+  public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(1);
+
+  private static final byte EQUAL = 0;
+  private static final byte DELETE = 1;
+  private static final byte INSERT = 2;
+
+  private int contextLines = DEFAULT_CONTEXT_LINES;
+  private int maxOutputLines = DEFAULT_MAX_OUTPUT_LINES;
+  private int maxLineLength = DEFAULT_MAX_LINE_LENGTH;
+  private int maxEditDistance = DEFAULT_MAX_EDIT_DISTANCE;
+  private Duration timeout = DEFAULT_TIMEOUT;
+
+  /**
+   * Diff two strings with the default limits.
+   *
+   * @param expected the expected string
+   * @param actual   the actual string
+   *
+   * @return the unified diff excerpt, empty when the strings are equal
+   */
+  public static String unified(String expected, String actual) {
+    return new TextDiff().diff(expected, actual);
+  }
+
+  /**
+   * Set the number of unchanged lines shown around each change.
+   *
+   * @param contextLines the number of context lines
+   *
+   * @return self
+   */
+  public TextDiff setContextLines(int contextLines) {
+    if (contextLines < 0) {
+      throw new IllegalArgumentException("The number of context lines cannot be negative");
+    }
+
+    this.contextLines = contextLines;
+
+    return this;
+  }
+
+  /**
+   * Set the maximum number of lines of diff output.
+   *
+   * @param maxOutputLines the maximum number of lines output
+   *
+   * @return self
+   */
+  public TextDiff setMaxOutputLines(int maxOutputLines) {
+    if (maxOutputLines < 1) {
+      throw new IllegalArgumentException("The maximum number of output lines must be at least 1");
+    }
+
+    this.maxOutputLines = maxOutputLines;
+
+    return this;
+  }
+
+  /**
+   * Set the length beyond which lines are cut down to a window around their first difference.
+   *
+   * @param maxLineLength the maximum length of an output line
+   *
+   * @return self
+   */
+  public TextDiff setMaxLineLength(int maxLineLength) {
+    if (maxLineLength < 8) {
+      throw new IllegalArgumentException("The maximum line length must be at least 8");
+    }
+
+    this.maxLineLength = maxLineLength;
+
+    return this;
+  }
+
+  /**
+   * Set the edit distance beyond which a region is reported as replaced rather than diffed.
+   *
+   * @param maxEditDistance the maximum edit distance searched in a single region
+   *
+   * @return self
+   */
+  public TextDiff setMaxEditDistance(int maxEditDistance) {
+    if (maxEditDistance < 1) {
+      throw new IllegalArgumentException("The maximum edit distance must be at least 1");
+    }
+
+    this.maxEditDistance = maxEditDistance;
+
+    return this;
+  }
+
+  /**
+   * Set the time after which the remaining regions are reported as replaced rather than diffed.
+   *
+   * @param timeout the maximum time spent diffing
+   *
+   * @return self
+   */
+  public TextDiff setTimeout(Duration timeout) {
+    this.timeout = timeout;
+
+    return this;
+  }
+
+  /**
+   * Diff two strings.
+   *
+   * @param expected the expected string
+   * @param actual   the actual string
+   *
+   * @return the unified diff excerpt, empty when the strings are equal
+   */
+  public String diff(String expected, String actual) {
+    expected = String.valueOf(expected);
+    actual = String.valueOf(actual);
+
+    if (expected.equals(actual)) {
+      return "";
+    }
+
+    int prefix = commonPrefix(expected, actual);
+    int suffix = commonSuffix(expected, actual, lineStart(expected, prefix));
+
+    int start = lineStart(expected, prefix);
+
+    for (int i = 0; i < this.contextLines && start > 0; i++) {
+      start = lineStart(expected, start - 1);
+    }
+
+    int end = lineEnd(expected, expected.length() - suffix);
+
+    for (int i = 0; i < this.contextLines && end < expected.length(); i++) {
+      end = lineEnd(expected, end + 1);
+    }
+
+    String[] expectedLines = lines(expected, start, end);
+    String[] actualLines = lines(actual, start, actual.length() - (expected.length() - end));
+
+    var myers = new Myers(
+        expectedLines,
+        actualLines,
+        this.maxEditDistance,
+        System.nanoTime() + this.timeout.toNanos()
+    );
+    myers.compare(0, expectedLines.length, 0, actualLines.length);
+
+    var out = new StringBuilder("--- expected\n+++ actual\n");
+    this.writeHunks(out, myers, countLines(expected, start) + 1);
+
+    if (myers.capped) {
+      out.append("(diff limits reached; remaining differences shown as replaced blocks)\n");
+    }
+
+    return out.toString();
+  }
+
+  /**
+   * Write the changes found as unified diff hunks, stopping at the maximum number of lines.
+   *
+   * @param out       the output
+   * @param myers     the diffed lines
+   * @param firstLine the line number of the first diffed line
+   */
+  private void writeHunks(StringBuilder out, Myers myers, int firstLine) {
+    byte[] ops = myers.script();
+    String[] expectedLines = myers.expectedLines;
+    String[] actualLines = myers.actualLines;
+    int remaining = this.maxOutputLines - 2;
+    int op = 0;
+    int e = 0;
+    int a = 0;
+
+    while (op < ops.length) {
+      if (ops[op] == EQUAL) {
+        op++;
+        e++;
+        a++;
+
+        continue;
+      }
+
+      //Start the hunk with the context lines before the change and extend it until a run of
+      //unchanged lines is long enough to separate two hunks
+      int context = Math.min(this.contextLines, op);
+      int hunkStart = op - context;
+      int hunkEnd = op;
+      int equalRun = 0;
+
+      while (hunkEnd < ops.length && equalRun <= 2 * this.contextLines) {
+        equalRun = ops[hunkEnd] == EQUAL ? equalRun + 1 : 0;
+        hunkEnd++;
+      }
+
+      if (equalRun > this.contextLines) {
+        hunkEnd -= equalRun - this.contextLines;
+      }
+
+      e -= context;
+      a -= context;
+
+      int expectedCount = 0;
+      int actualCount = 0;
+
+      for (int i = hunkStart; i < hunkEnd; i++) {
+        expectedCount += ops[i] != INSERT ? 1 : 0;
+        actualCount += ops[i] != DELETE ? 1 : 0;
+      }
+
+      if (remaining-- <= 0) {
+        out.append("...\n");
+
+        return;
+      }
+
+      out.append("@@ -").append(firstLine + e).append(',').append(expectedCount)
+          .append(" +").append(firstLine + a).append(',').append(actualCount).append(" @@\n");
+
+      int i = hunkStart;
+
+      while (i < hunkEnd) {
+        if (ops[i] == EQUAL) {
+          if (remaining-- <= 0) {
+            out.append("...\n");
+
+            return;
+          }
+
+          this.writeLine(out, ' ', expectedLines[e++], 0);
+          a++;
+          i++;
+
+          continue;
+        }
+
+        int deletes = 0;
+        int inserts = 0;
+
+        while (i + deletes < hunkEnd && ops[i + deletes] == DELETE) {
+          deletes++;
+        }
+
+        while (i + deletes + inserts < hunkEnd && ops[i + deletes + inserts] == INSERT) {
+          inserts++;
+        }
+
+        //A deleted line and the inserted line in the same position are centered on their
+        //first difference when cut down
+        for (int k = 0; k < deletes + inserts; k++) {
+          if (remaining-- <= 0) {
+            out.append("...\n");
+
+            return;
+          }
+
+          boolean deleted = k < deletes;
+          int pair = deleted ? k : k - deletes;
+          int column = pair < Math.min(deletes, inserts)
+              ? commonPrefix(expectedLines[e + pair], actualLines[a + pair])
+              : 0;
+
+          if (deleted) {
+            this.writeLine(out, '-', expectedLines[e + pair], column);
+          } else {
+            this.writeLine(out, '+', actualLines[a + pair], column);
+          }
+        }
+
+        e += deletes;
+        a += inserts;
+        i += deletes + inserts;
+      }
+
+      op = hunkEnd;
+    }
+  }
+
+  /**
+   * Write a single diff line, cut down to a window around the given column when too long.
+   *
+   * @param out    the output
+   * @param marker the diff marker of the line
+   * @param line   the line
+   * @param column the column the window is centered on
+   */
+  private void writeLine(StringBuilder out, char marker, String line, int column) {
+    out.append(marker);
+
+    if (line.length() <= this.maxLineLength) {
+      out.append(line).append('\n');
+
+      return;
+    }
+
+    int from = Math.max(0, Math.min(column - this.maxLineLength / 4,
+        line.length() - this.maxLineLength));
+    int to = Math.min(line.length(), from + this.maxLineLength);
+
+    if (from > 0) {
+      out.append("...");
+    }
+
+    out.append(line, from, to);
+
+    if (to < line.length()) {
+      out.append("...");
+    }
+
+    out.append('\n');
+  }
+
+  private static int commonPrefix(String a, String b) {
+    int length = Math.min(a.length(), b.length());
+
+    for (int i = 0; i < length; i++) {
+      if (a.charAt(i) != b.charAt(i)) {
+        return i;
+      }
+    }
+
+    return length;
+  }
+
+  /**
+   * Count the characters the two strings have in common at their end, without reaching back
+   * before the given index.
+   */
+  private static int commonSuffix(String a, String b, int limit) {
+    int length = Math.min(a.length(), b.length()) - limit;
+    int aEnd = a.length() - 1;
+    int bEnd = b.length() - 1;
+
+    for (int i = 0; i < length; i++) {
+      if (a.charAt(aEnd - i) != b.charAt(bEnd - i)) {
+        return i;
+      }
+    }
+
+    return Math.max(length, 0);
+  }
+
+  private static int lineStart(String s, int index) {
+    return s.lastIndexOf('\n', index - 1) + 1;
+  }
+
+  private static int lineEnd(String s, int index) {
+    int newline = s.indexOf('\n', index);
+
+    return newline < 0 ? s.length() : newline;
+  }
+
+  private static int countLines(String s, int end) {
+    int lines = 0;
+
+    for (int i = s.indexOf('\n'); i >= 0 && i < end; i = s.indexOf('\n', i + 1)) {
+      lines++;
+    }
+
+    return lines;
+  }
+
+  private static String[] lines(String s, int start, int end) {
+    return s.substring(start, end).split("\n", -1);
+  }
+
+  /**
+   * Myers' linear space diff of two arrays of lines, marking the lines which changed.
+   */
+  private static final class Myers {
+    private final String[] expectedLines;
+    private final String[] actualLines;
+    private final int[] a;
+    private final int[] b;
+    private final boolean[] changedA;
+    private final boolean[] changedB;
+    private final int maxEditDistance;
+    private final long deadline;
+    private boolean capped = false;
+
+    Myers(String[] expectedLines, String[] actualLines, int maxEditDistance, long deadline) {
+      this.expectedLines = expectedLines;
+      this.actualLines = actualLines;
+      this.maxEditDistance = maxEditDistance;
+      this.deadline = deadline;
+
+      //Compare lines as ints: equal lines share an id
+      var ids = new HashMap<String, Integer>();
+      this.a = new int[expectedLines.length];
+      this.b = new int[actualLines.length];
+
+      for (int i = 0; i < this.a.length; i++) {
+        this.a[i] = ids.computeIfAbsent(expectedLines[i], k -> ids.size());
+      }
+
+      for (int i = 0; i < this.b.length; i++) {
+        this.b[i] = ids.computeIfAbsent(actualLines[i], k -> ids.size());
+      }
+
+      this.changedA = new boolean[this.a.length];
+      this.changedB = new boolean[this.b.length];
+    }
+
+    /**
+     * Diff <code>a[aLo, aHi)</code> against <code>b[bLo, bHi)</code>.
+     */
+    void compare(int aLo, int aHi, int bLo, int bHi) {
+      while (aLo < aHi && bLo < bHi && this.a[aLo] == this.b[bLo]) {
+        aLo++;
+        bLo++;
+      }
+
+      while (aLo < aHi && bLo < bHi && this.a[aHi - 1] == this.b[bHi - 1]) {
+        aHi--;
+        bHi--;
+      }
+
+      if (aLo == aHi || bLo == bHi) {
+        this.replace(aLo, aHi, bLo, bHi);
+
+        return;
+      }
+
+      long split = this.middleSnake(aLo, aHi, bLo, bHi);
+
+      if (split < 0) {
+        this.replace(aLo, aHi, bLo, bHi);
+
+        return;
+      }
+
+      int x = (int) (split >>> 32);
+      int y = (int) split;
+
+      if (x == aLo && y == bLo || x == aHi && y == bHi) {
+        this.replace(aLo, aHi, bLo, bHi);
+
+        return;
+      }
+
+      this.compare(aLo, x, bLo, y);
+      this.compare(x, aHi, y, bHi);
+    }
+
+    private void replace(int aLo, int aHi, int bLo, int bHi) {
+      Arrays.fill(this.changedA, aLo, aHi, true);
+      Arrays.fill(this.changedB, bLo, bHi, true);
+    }
+
+    /**
+     * Find the point where the forward and reverse searches of the shortest edit script meet.
+     *
+     * @return the split point as <code>x &lt;&lt; 32 | y</code>, or -1 when no split was found
+     *     within the limits
+     */
+    private long middleSnake(int aLo, int aHi, int bLo, int bHi) {
+      int n = aHi - aLo;
+      int m = bHi - bLo;
+      int maxD = (n + m + 1) / 2;
+      int offset = maxD;
+      int length = 2 * maxD + 2;
+      int[] forward = new int[length];
+      int[] reverse = new int[length];
+      Arrays.fill(forward, -1);
+      Arrays.fill(reverse, -1);
+      forward[offset + 1] = 0;
+      reverse[offset + 1] = 0;
+
+      int delta = n - m;
+      boolean odd = (delta & 1) != 0;
+      int forwardStart = 0;
+      int forwardEnd = 0;
+      int reverseStart = 0;
+      int reverseEnd = 0;
+
+      for (int d = 0; d < maxD; d++) {
+        if (d > this.maxEditDistance || System.nanoTime() - this.deadline > 0) {
+          this.capped = true;
+
+          return -1;
+        }
+
+        for (int k = -d + forwardStart; k <= d - forwardEnd; k += 2) {
+          int index = offset + k;
+          int x = k == -d || k != d && forward[index - 1] < forward[index + 1]
+              ? forward[index + 1]
+              : forward[index - 1] + 1;
+          int y = x - k;
+
+          while (x < n && y < m && this.a[aLo + x] == this.b[bLo + y]) {
+            x++;
+            y++;
+          }
+
+          forward[index] = x;
+
+          if (x > n) {
+            forwardEnd += 2;
+          } else if (y > m) {
+            forwardStart += 2;
+          } else if (odd) {
+            int reverseIndex = offset + delta - k;
+
+            if (reverseIndex >= 0 && reverseIndex < length && reverse[reverseIndex] != -1
+                && x >= n - reverse[reverseIndex]
+            ) {
+              return (long) (aLo + x) << 32 | (bLo + y);
+            }
+          }
+        }
+
+        for (int k = -d + reverseStart; k <= d - reverseEnd; k += 2) {
+          int index = offset + k;
+          int x = k == -d || k != d && reverse[index - 1] < reverse[index + 1]
+              ? reverse[index + 1]
+              : reverse[index - 1] + 1;
+          int y = x - k;
+
+          while (x < n && y < m && this.a[aHi - x - 1] == this.b[bHi - y - 1]) {
+            x++;
+            y++;
+          }
+
+          reverse[index] = x;
+
+          if (x > n) {
+            reverseEnd += 2;
+          } else if (y > m) {
+            reverseStart += 2;
+          } else if (!odd) {
+            int forwardIndex = offset + delta - k;
+
+            if (forwardIndex >= 0 && forwardIndex < length && forward[forwardIndex] != -1) {
+              int forwardX = forward[forwardIndex];
+              int forwardY = offset + forwardX - forwardIndex;
+
+              if (forwardX >= n - x) {
+                return (long) (aLo + forwardX) << 32 | (bLo + forwardY);
+              }
+            }
+          }
+        }
+      }
+
+      return -1;
+    }
+
+    /**
+     * Turn the changed lines into an edit script, deletions before insertions.
+     *
+     * @return the operations, one per line of output
+     */
+    byte[] script() {
+      var ops = new byte[this.a.length + this.b.length];
+      int size = 0;
+      int i = 0;
+      int j = 0;
+
+      while (i < this.a.length || j < this.b.length) {
+        if (i < this.a.length && this.changedA[i]) {
+          ops[size++] = DELETE;
+          i++;
+        } else if (j < this.b.length && this.changedB[j]) {
+          ops[size++] = INSERT;
+          j++;
+        } else {
+          ops[size++] = EQUAL;
+          i++;
+          j++;
+        }
+      }
+
+      return Arrays.copyOf(ops, size);
+    }
+  }
+}
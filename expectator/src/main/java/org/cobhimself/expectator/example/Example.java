@@ -24,12 +24,24 @@
 
 package org.cobhimself.expectator.example;
 
+import java.util.ArrayList;
+import java.util.List;
+import org.cobhimself.expectator.expectations.ExpectationInterface;
 import org.cobhimself.expectator.scenario.ScenarioInterface;
 
 public class Example implements ExampleInterface {
   protected String name = "";
   protected Integer index = 0;
   protected ScenarioInterface parentScenario;
+  protected final List<ExpectationInterface<?>> expectations = new ArrayList<>();
+
+  public Example() {
+  }
+
+  public Example(String name, ScenarioInterface parentScenario) {
+    this.name = name;
+    this.parentScenario = parentScenario;
+  }
 
   @Override public String getName() {
     return this.name;
@@ -48,4 +60,21 @@ public class Example implements ExampleInterface {
   @Override public ScenarioInterface getParentScenario() {
     return this.parentScenario;
   }
+
+  @Override public List<ExpectationInterface<?>> getExpectations() {
+    return this.expectations;
+  }
+
+  /**
+   * Add an expectation which will be confirmed when this example is run.
+   *
+   * @param expectation the expectation to confirm when this example is run
+   *
+   * @return self
+   */
+  public Example addExpectation(ExpectationInterface<?> expectation) {
+    this.expectations.add(expectation);
+
+    return this;
+  }
 }
@@ -24,6 +24,8 @@
 
 package org.cobhimself.expectator.example;
 
+import java.util.List;
+import org.cobhimself.expectator.expectations.ExpectationInterface;
 import org.cobhimself.expectator.scenario.ScenarioInterface;
 
 public interface ExampleInterface {
@@ -31,4 +33,5 @@ public interface ExampleInterface {
   Integer getIndex();
   ExampleInterface setIndex(Integer index);
   ScenarioInterface getParentScenario();
+  List<ExpectationInterface<?>> getExpectations();
 }
@@ -0,0 +1,467 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.example;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A lazy source of examples read from a delimited (CSV or TSV) table.
+ * <p>
+ * Rows are read through a buffered reader only as the examples are consumed; the table is never
+ * loaded into memory. Each row is handed to a {@link RowMapper} along with its zero based index
+ * (header excluded) and the resulting example is given that index.
+ * <p>
+ * The <code>Spliterator</code> returned by {@link #spliterator()} splits by reading a batch of raw
+ * rows; parsing and mapping of a batch happens in whichever thread consumes it. When run through
+ * a parallel consumer, such as the scenario runner, reading the file overlaps with the parsing
+ * and confirmation of the rows already read.
+ * <p>
+ * CSV tables follow RFC 4180 quoting: fields may be enclosed in double quotes, quotes are escaped
+ * by doubling them and quoted fields may contain delimiters and line breaks. TSV tables are split
+ * on every tab and do not support quoting.
+ */
+public class ExampleTable {
+  public static final int DEFAULT_BATCH_SIZE = 1024;
+
+  private static final char NO_QUOTE = '\0';
+  private static final int READ_BUFFER_SIZE = 1 << 16;
+
+  /**
+   * Maps a single table row to an example.
+   */
+  @FunctionalInterface
+  public interface RowMapper {
+
+    /**
+     * Map the given row to an example.
+     *
+     * @param index the zero based index of the row, excluding any header row
+     * @param row   the fields of the row
+     *
+     * @return the example the row describes
+     */
+    ExampleInterface map(Integer index, String[] row);
+  }
+
+  private final Path path;
+  private final char delimiter;
+  private final char quote;
+  private final RowMapper mapper;
+  private Charset charset = StandardCharsets.UTF_8;
+  private boolean skipHeader = false;
+  private int batchSize = DEFAULT_BATCH_SIZE;
+
+  /**
+   * Construct an <code>ExampleTable</code>.
+   *
+   * @param path      the path of the table
+   * @param delimiter the character which separates fields
+   * @param quote     the character which encloses fields, or <code>'\0'</code> for none
+   * @param mapper    the mapper turning rows into examples
+   */
+  protected ExampleTable(Path path, char delimiter, char quote, RowMapper mapper) {
+    this.path = path;
+    this.delimiter = delimiter;
+    this.quote = quote;
+    this.mapper = mapper;
+  }
+
+  /**
+   * Create an <code>ExampleTable</code> reading comma separated values.
+   *
+   * @param path   the path of the table
+   * @param mapper the mapper turning rows into examples
+   *
+   * @return the example table
+   */
+  public static ExampleTable csv(Path path, RowMapper mapper) {
+    return new ExampleTable(path, ',', '"', mapper);
+  }
+
+  /**
+   * Create an <code>ExampleTable</code> reading tab separated values.
+   *
+   * @param path   the path of the table
+   * @param mapper the mapper turning rows into examples
+   *
+   * @return the example table
+   */
+  public static ExampleTable tsv(Path path, RowMapper mapper) {
+    return new ExampleTable(path, '\t', NO_QUOTE, mapper);
+  }
+
+  /**
+   * Set the charset the table is encoded with; defaults to UTF-8.
+   *
+   * @param charset the charset of the table
+   *
+   * @return self
+   */
+  public ExampleTable setCharset(Charset charset) {
+    this.charset = charset;
+
+    return this;
+  }
+
+  /**
+   * Set whether the first row of the table is a header which should not become an example.
+   *
+   * @param skipHeader whether to skip the first row
+   *
+   * @return self
+   */
+  public ExampleTable setSkipHeader(boolean skipHeader) {
+    this.skipHeader = skipHeader;
+
+    return this;
+  }
+
+  /**
+   * Set the number of rows read into each batch split off the table.
+   *
+   * @param batchSize the number of rows per batch
+   *
+   * @return self
+   */
+  public ExampleTable setBatchSize(int batchSize) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("The batch size must be at least 1");
+    }
+
+    this.batchSize = batchSize;
+
+    return this;
+  }
+
+  /**
+   * Open the table and get a stream of its examples.
+   * <p>
+   * The stream should be closed to release the underlying file when it is not fully consumed.
+   *
+   * @return a stream of the table's examples
+   */
+  public Stream<ExampleInterface> stream() {
+    var spliterator = this.spliterator();
+
+    return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+  }
+
+  /**
+   * Open the table and get a splittable <code>Spliterator</code> over its examples.
+   * <p>
+   * The table is closed once the <code>Spliterator</code> is exhausted.
+   *
+   * @return a <code>Spliterator</code> over the table's examples
+   */
+  public TableSpliterator spliterator() {
+    try {
+      var reader = new BufferedReader(
+          new InputStreamReader(Files.newInputStream(this.path), this.charset.newDecoder()),
+          READ_BUFFER_SIZE
+      );
+
+      if (this.skipHeader) {
+        this.readRecord(reader);
+      }
+
+      return new TableSpliterator(reader);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Read the next record which, when quoting is enabled, may span several lines.
+   *
+   * @param reader the reader to read from
+   *
+   * @return the next record or null at the end of the table
+   *
+   * @throws IOException when the table cannot be read
+   */
+  private String readRecord(BufferedReader reader) throws IOException {
+    String line = reader.readLine();
+
+    if (line == null || this.quote == NO_QUOTE || isBalanced(line, this.quote)) {
+      return line;
+    }
+
+    var record = new StringBuilder(line);
+
+    do {
+      line = reader.readLine();
+
+      if (line == null) {
+        break;
+      }
+
+      record.append('\n').append(line);
+    } while (!isBalanced(record, this.quote));
+
+    return record.toString();
+  }
+
+  /**
+   * Whether the given text contains an even number of quote characters.
+   *
+   * @param text  the text to check
+   * @param quote the quote character
+   *
+   * @return true when no quoted field is left open
+   */
+  private static boolean isBalanced(CharSequence text, char quote) {
+    boolean balanced = true;
+
+    for (int i = 0; i < text.length(); i++) {
+      if (text.charAt(i) == quote) {
+        balanced = !balanced;
+      }
+    }
+
+    return balanced;
+  }
+
+  /**
+   * Split a record into its fields.
+   *
+   * @param record the record to split
+   *
+   * @return the fields of the record
+   */
+  String[] parse(String record) {
+    var fields = new ArrayList<String>();
+
+    if (this.quote == NO_QUOTE) {
+      int start = 0;
+      int end;
+
+      while ((end = record.indexOf(this.delimiter, start)) >= 0) {
+        fields.add(record.substring(start, end));
+        start = end + 1;
+      }
+
+      fields.add(record.substring(start));
+
+      return fields.toArray(new String[0]);
+    }
+
+    var field = new StringBuilder();
+    boolean quoted = false;
+
+    for (int i = 0; i < record.length(); i++) {
+      char c = record.charAt(i);
+
+      if (quoted) {
+        if (c != this.quote) {
+          field.append(c);
+        } else if (i + 1 < record.length() && record.charAt(i + 1) == this.quote) {
+          field.append(c);
+          i++;
+        } else {
+          quoted = false;
+        }
+      } else if (c == this.quote) {
+        quoted = true;
+      } else if (c == this.delimiter) {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else {
+        field.append(c);
+      }
+    }
+
+    fields.add(field.toString());
+
+    return fields.toArray(new String[0]);
+  }
+
+  /**
+   * Parse and map a record to its example.
+   *
+   * @param index  the index of the record
+   * @param record the raw record
+   *
+   * @return the example, indexed by its record
+   */
+  private ExampleInterface toExample(int index, String record) {
+    return this.mapper.map(index, this.parse(record)).setIndex(index);
+  }
+
+  /**
+   * A <code>Spliterator</code> reading examples from an open table.
+   */
+  public class TableSpliterator implements Spliterator<ExampleInterface>, AutoCloseable {
+    private final BufferedReader reader;
+    private int nextIndex = 0;
+    private boolean exhausted = false;
+
+    TableSpliterator(BufferedReader reader) {
+      this.reader = reader;
+    }
+
+    /**
+     * Read the next raw record, closing the table at its end.
+     *
+     * @return the next record or null when the table is exhausted
+     */
+    private String next() {
+      if (this.exhausted) {
+        return null;
+      }
+
+      try {
+        String record = ExampleTable.this.readRecord(this.reader);
+
+        if (record == null) {
+          this.close();
+        }
+
+        return record;
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override public boolean tryAdvance(Consumer<? super ExampleInterface> action) {
+      String record = this.next();
+
+      if (record == null) {
+        return false;
+      }
+
+      action.accept(ExampleTable.this.toExample(this.nextIndex++, record));
+
+      return true;
+    }
+
+    /**
+     * Split off the next batch of raw records; they are parsed by whoever consumes the batch.
+     *
+     * @return a <code>Spliterator</code> over the next batch or null at the end of the table
+     */
+    @Override public Spliterator<ExampleInterface> trySplit() {
+      var records = new String[ExampleTable.this.batchSize];
+      int size = 0;
+      String record;
+
+      while (size < records.length && (record = this.next()) != null) {
+        records[size++] = record;
+      }
+
+      if (size == 0) {
+        return null;
+      }
+
+      var batch = new BatchSpliterator(records, this.nextIndex, 0, size);
+      this.nextIndex += size;
+
+      return batch;
+    }
+
+    @Override public long estimateSize() {
+      return this.exhausted ? 0 : Long.MAX_VALUE;
+    }
+
+    @Override public int characteristics() {
+      return ORDERED | NONNULL;
+    }
+
+    /**
+     * Close the underlying table.
+     */
+    @Override public void close() {
+      this.exhausted = true;
+
+      try {
+        this.reader.close();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  /**
+   * A <code>Spliterator</code> over a batch of raw records which parses them as it advances.
+   */
+  private class BatchSpliterator implements Spliterator<ExampleInterface> {
+    private final String[] records;
+    private final int firstIndex;
+    private int origin;
+    private final int fence;
+
+    BatchSpliterator(String[] records, int firstIndex, int origin, int fence) {
+      this.records = records;
+      this.firstIndex = firstIndex;
+      this.origin = origin;
+      this.fence = fence;
+    }
+
+    @Override public boolean tryAdvance(Consumer<? super ExampleInterface> action) {
+      if (this.origin >= this.fence) {
+        return false;
+      }
+
+      int i = this.origin++;
+      String record = this.records[i];
+      this.records[i] = null;
+      action.accept(ExampleTable.this.toExample(this.firstIndex + i, record));
+
+      return true;
+    }
+
+    @Override public Spliterator<ExampleInterface> trySplit() {
+      int middle = (this.origin + this.fence) >>> 1;
+
+      if (middle <= this.origin) {
+        return null;
+      }
+
+      var prefix = new BatchSpliterator(this.records, this.firstIndex, this.origin, middle);
+      this.origin = middle;
+
+      return prefix;
+    }
+
+    @Override public long estimateSize() {
+      return this.fence - this.origin;
+    }
+
+    @Override public int characteristics() {
+      return ORDERED | NONNULL | SIZED | SUBSIZED;
+    }
+  }
+}
@@ -31,10 +31,14 @@ public class ExpectatorException
     extends RuntimeException {
 
   public ExpectatorException(ExpectationInterface<?> expectation, String msg) {
+    this(expectation.getName(), msg);
+  }
+
+  public ExpectatorException(String expectationName, String msg) {
     super(
         (
-            !Strings.isNullOrEmpty(expectation.getName())
-            ? expectation.getName() + ": "
+            !Strings.isNullOrEmpty(expectationName)
+            ? expectationName + ": "
             : ""
         ) + msg
     );
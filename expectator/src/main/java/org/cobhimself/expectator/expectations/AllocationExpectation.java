@@ -0,0 +1,259 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.expectations;
+
+import java.util.function.Consumer;
+import org.cobhimself.expectator.exceptions.ExpectatorException;
+import org.cobhimself.expectator.performance.AllocationMeter;
+import org.cobhimself.expectator.performance.Blackhole;
+
+/**
+ * An {@link Expectation} which performs expectations against the heap bytes an action allocates
+ * per call; for example, that a hot path allocates nothing at all.
+ * <p>
+ * The action is run on the confirming thread through a number of warmup iterations, so the JIT
+ * has compiled it and eliminated what allocations it can, and then through several measurement
+ * windows of iterations. The bytes the thread allocated in each window are read with
+ * {@link AllocationMeter}, less the cost of reading them. With more than one window the window
+ * which allocated the most is dropped, so a single stray allocation the JVM makes on the thread,
+ * such as for a deoptimization, does not fail an action which allocates nothing; the bytes of the
+ * remaining windows averaged over their iterations become the expected value. An action which
+ * allocates even once every few windows still shows up in that average.
+ * <p>
+ * On JVMs which cannot measure allocations, confirming skips the expectators unless
+ * {@link #setRequireSupport(boolean)} asks for a failure instead.
+ */
+public class AllocationExpectation extends Expectation<Double> {
+  public static final int DEFAULT_WARMUP_ITERATIONS = 20_000;
+  public static final int DEFAULT_MEASUREMENT_ITERATIONS = 20_000;
+  public static final int DEFAULT_WINDOWS = 5;
+
+  private final Consumer<Blackhole> action;
+  private int warmupIterations = DEFAULT_WARMUP_ITERATIONS;
+  private int measurementIterations = DEFAULT_MEASUREMENT_ITERATIONS;
+  private int windows = DEFAULT_WINDOWS;
+  private boolean requireSupport = false;
+
+  /**
+   * Construct an <code>AllocationExpectation</code> with the bytes per call already measured.
+   *
+   * @param expectedValue the measured bytes allocated per call
+   * @param name          the name of the <code>AllocationExpectation</code>
+   */
+  public AllocationExpectation(Double expectedValue, String name) {
+    super(expectedValue, name);
+    this.action = null;
+  }
+
+  /**
+   * Construct an <code>AllocationExpectation</code> measuring the given action.
+   *
+   * @param action the action to measure, given a blackhole to consume its results
+   * @param name   the name of the <code>AllocationExpectation</code>
+   */
+  public AllocationExpectation(Consumer<Blackhole> action, String name) {
+    super(name);
+
+    if (action == null) {
+      throw new IllegalArgumentException("The action cannot be null");
+    }
+
+    this.action = action;
+  }
+
+  /**
+   * Set the number of times the action is run before measuring.
+   *
+   * @param warmupIterations the number of warmup iterations
+   *
+   * @return self
+   */
+  public AllocationExpectation setWarmupIterations(int warmupIterations) {
+    if (warmupIterations < 0) {
+      throw new IllegalArgumentException("The warmup iterations cannot be negative");
+    }
+
+    this.warmupIterations = warmupIterations;
+
+    return this;
+  }
+
+  /**
+   * Set the number of times the action is run in each measurement window.
+   *
+   * @param measurementIterations the number of measurement iterations
+   *
+   * @return self
+   */
+  public AllocationExpectation setMeasurementIterations(int measurementIterations) {
+    if (measurementIterations < 1) {
+      throw new IllegalArgumentException("The measurement iterations must be at least 1");
+    }
+
+    this.measurementIterations = measurementIterations;
+
+    return this;
+  }
+
+  /**
+   * Set the number of measurement windows; with more than one, the window which allocated the
+   * most is dropped from the average.
+   *
+   * @param windows the number of measurement windows
+   *
+   * @return self
+   */
+  public AllocationExpectation setWindows(int windows) {
+    if (windows < 1) {
+      throw new IllegalArgumentException("The windows must be at least 1");
+    }
+
+    this.windows = windows;
+
+    return this;
+  }
+
+  /**
+   * Set whether confirming fails, rather than skipping the expectators, when this JVM cannot
+   * measure allocations.
+   *
+   * @param requireSupport whether allocation measurement is required
+   *
+   * @return self
+   */
+  public AllocationExpectation setRequireSupport(boolean requireSupport) {
+    this.requireSupport = requireSupport;
+
+    return this;
+  }
+
+  /**
+   * Warm up and measure the action, replacing any allocations measured before.
+   *
+   * @return self
+   *
+   * @throws IllegalStateException when there is no action or this JVM cannot measure allocations
+   */
+  public AllocationExpectation measure() {
+    if (this.action == null) {
+      throw new IllegalStateException("There is no action to measure");
+    }
+
+    if (!this.isSupported()) {
+      throw new IllegalStateException("Allocations cannot be measured on this JVM");
+    }
+
+    var blackhole = new Blackhole();
+
+    for (int i = 0; i < this.warmupIterations; i++) {
+      this.action.accept(blackhole);
+    }
+
+    long overhead = AllocationMeter.getReadOverhead();
+    long total = 0;
+    long largest = 0;
+
+    for (int window = 0; window < this.windows; window++) {
+      long before = AllocationMeter.getAllocatedBytes();
+
+      for (int i = 0; i < this.measurementIterations; i++) {
+        this.action.accept(blackhole);
+      }
+
+      long allocated = Math.max(0, AllocationMeter.getAllocatedBytes() - before - overhead);
+      total += allocated;
+      largest = Math.max(largest, allocated);
+    }
+
+    int kept = this.windows;
+
+    if (kept > 1) {
+      total -= largest;
+      kept--;
+    }
+
+    this.setExpectedValue(total / ((double) kept * this.measurementIterations));
+
+    return this;
+  }
+
+  /**
+   * Expect the action to allocate at most the given number of bytes per call on average.
+   *
+   * @param actual the most bytes per call we expect
+   *
+   * @return self
+   */
+  public AllocationExpectation expectAtMost(double actual) {
+    this.expect(
+        (e, a) -> e <= (Double) a,
+        actual,
+        "expected at most {actual} bytes allocated per call but measured {expected}"
+    );
+
+    return this;
+  }
+
+  /**
+   * Expect the action to allocate nothing.
+   *
+   * @return self
+   */
+  public AllocationExpectation expectNoAllocation() {
+    return this.expectAtMost(0);
+  }
+
+  /**
+   * Measure the action, when it has not been measured yet, and confirm the expectations against
+   * its allocations.
+   * <p>
+   * Should this JVM be unable to measure allocations, the expectators are skipped, or fail when
+   * support is required.
+   */
+  @Override public void confirm() {
+    if (this.getExpectedValue() == null && this.action != null && this.hasExpectators()) {
+      if (!this.isSupported()) {
+        if (this.requireSupport) {
+          throw new ExpectatorException(this, "allocations cannot be measured on this JVM");
+        }
+
+        return;
+      }
+
+      this.measure();
+    }
+
+    super.confirm();
+  }
+
+  /**
+   * Whether this JVM can measure allocations; overridden by tests to take the unsupported path.
+   *
+   * @return true when allocations can be measured
+   */
+  boolean isSupported() {
+    return AllocationMeter.isSupported();
+  }
+}
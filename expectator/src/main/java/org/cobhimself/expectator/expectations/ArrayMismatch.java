@@ -0,0 +1,167 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.expectations;
+
+/**
+ * Describes where two primitive arrays first differ for the failure messages of the primitive
+ * array expectations.
+ * <p>
+ * Only a window of elements either side of the mismatch is shown; elements are appended straight
+ * from their arrays so nothing is boxed, however long the arrays are.
+ */
+final class ArrayMismatch {
+  static final int WINDOW = 4;
+
+  /**
+   * Appends a single element of an array.
+   */
+  @FunctionalInterface
+  interface ElementAppender {
+
+    /**
+     * Append the element at the given index.
+     *
+     * @param builder the builder to append to
+     * @param index   the index of the element
+     */
+    void append(StringBuilder builder, int index);
+  }
+
+  private ArrayMismatch() {
+  }
+
+  /**
+   * Describe the first mismatch between a range of the expected array and a range of the actual
+   * array.
+   *
+   * @param mismatch       the offset of the mismatch within both ranges
+   * @param expected       appends elements of the expected array
+   * @param expectedFrom   the start of the expected range
+   * @param expectedLength the length of the expected range
+   * @param actual         appends elements of the actual array
+   * @param actualFrom     the start of the actual range
+   * @param actualLength   the length of the actual range
+   *
+   * @return the description
+   */
+  static String describe(
+      int mismatch,
+      ElementAppender expected,
+      int expectedFrom,
+      int expectedLength,
+      ElementAppender actual,
+      int actualFrom,
+      int actualLength
+  ) {
+    var builder = new StringBuilder("first mismatch at index ").append(expectedFrom + mismatch);
+
+    if (mismatch == Math.min(expectedLength, actualLength)) {
+      builder.append(" where ")
+          .append(expectedLength)
+          .append(" elements were expected but there were ")
+          .append(actualLength);
+    }
+
+    builder.append(": expected ");
+    window(builder, expected, expectedFrom, expectedLength, mismatch);
+    builder.append(" but was ");
+    window(builder, actual, actualFrom, actualLength, mismatch);
+
+    return builder.toString();
+  }
+
+  /**
+   * Describe a range which does not fit within the expected array.
+   *
+   * @param fromIndex      the start of the range
+   * @param length         the length of the range
+   * @param expectedLength the length of the expected array
+   *
+   * @return the description
+   */
+  static String outOfBounds(int fromIndex, int length, int expectedLength) {
+    return "the range [" + fromIndex + ", " + ((long) fromIndex + length)
+        + ") is outside of the " + expectedLength + " expected elements";
+  }
+
+  /**
+   * Whether a range lies within an array of the given length.
+   *
+   * @param fromIndex   the start of the range
+   * @param length      the length of the range
+   * @param arrayLength the length of the array
+   *
+   * @return true when the range is within the array
+   */
+  static boolean inBounds(int fromIndex, int length, int arrayLength) {
+    return fromIndex >= 0 && (long) fromIndex + length <= arrayLength;
+  }
+
+  /**
+   * Append the elements around the mismatch, marking the mismatching element with parentheses.
+   *
+   * @param builder  the builder to append to
+   * @param elements appends elements of the array
+   * @param from     the start of the range within the array
+   * @param length   the length of the range
+   * @param mismatch the offset of the mismatch within the range
+   */
+  private static void window(
+      StringBuilder builder,
+      ElementAppender elements,
+      int from,
+      int length,
+      int mismatch
+  ) {
+    int start = Math.max(0, mismatch - WINDOW);
+    int end = Math.min(length, mismatch + WINDOW + 1);
+
+    builder.append('[');
+
+    if (start > 0) {
+      builder.append("..., ");
+    }
+
+    for (int i = start; i < end; i++) {
+      if (i > start) {
+        builder.append(", ");
+      }
+
+      if (i == mismatch) {
+        builder.append('(');
+        elements.append(builder, from + i);
+        builder.append(')');
+      } else {
+        elements.append(builder, from + i);
+      }
+    }
+
+    if (end < length) {
+      builder.append(end > start ? ", ..." : "...");
+    }
+
+    builder.append(']');
+  }
+}
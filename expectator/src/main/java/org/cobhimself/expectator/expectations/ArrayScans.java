@@ -0,0 +1,179 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.expectations;
+
+/**
+ * Bulk range and tolerance scans over primitive arrays used by the primitive array expectations.
+ * <p>
+ * Arrays are scanned in blocks. Each block is first reduced to its minimum and maximum, or its
+ * largest difference, in a branch free loop the JIT auto-vectorizes; only a block whose reduction
+ * falls outside the bounds is scanned again, element by element, for the first offending index.
+ * Passing arrays, the common case, are therefore read once at vector speed.
+ * <p>
+ * Block bounds are computed from the number of elements remaining, so they cannot overflow for
+ * arrays within a block of <code>Integer.MAX_VALUE</code> elements.
+ */
+final class ArrayScans {
+  static final int BLOCK = 1024;
+
+  private ArrayScans() {
+  }
+
+  /**
+   * Find the first element outside the inclusive range.
+   *
+   * @param values the values to scan
+   * @param lo     the lowest value allowed
+   * @param hi     the highest value allowed
+   *
+   * @return the index of the first element outside the range, or -1
+   */
+  static int firstOutside(int[] values, long lo, long hi) {
+    for (int from = 0, to; from < values.length; from = to) {
+      to = from + Math.min(values.length - from, BLOCK);
+      int min = Integer.MAX_VALUE;
+      int max = Integer.MIN_VALUE;
+
+      for (int i = from; i < to; i++) {
+        min = Math.min(min, values[i]);
+        max = Math.max(max, values[i]);
+      }
+
+      if (min < lo || max > hi) {
+        for (int i = from; i < to; i++) {
+          if (values[i] < lo || values[i] > hi) {
+            return i;
+          }
+        }
+      }
+    }
+
+    return -1;
+  }
+
+  /**
+   * Find the first element outside the inclusive range.
+   *
+   * @param values the values to scan
+   * @param lo     the lowest value allowed
+   * @param hi     the highest value allowed
+   *
+   * @return the index of the first element outside the range, or -1
+   */
+  static int firstOutside(long[] values, long lo, long hi) {
+    for (int from = 0, to; from < values.length; from = to) {
+      to = from + Math.min(values.length - from, BLOCK);
+      long min = Long.MAX_VALUE;
+      long max = Long.MIN_VALUE;
+
+      for (int i = from; i < to; i++) {
+        min = Math.min(min, values[i]);
+        max = Math.max(max, values[i]);
+      }
+
+      if (min < lo || max > hi) {
+        for (int i = from; i < to; i++) {
+          if (values[i] < lo || values[i] > hi) {
+            return i;
+          }
+        }
+      }
+    }
+
+    return -1;
+  }
+
+  /**
+   * Find the first element outside the inclusive range; <code>NaN</code> is outside every range.
+   *
+   * @param values the values to scan
+   * @param lo     the lowest value allowed
+   * @param hi     the highest value allowed
+   *
+   * @return the index of the first element outside the range, or -1
+   */
+  static int firstOutside(double[] values, double lo, double hi) {
+    for (int from = 0, to; from < values.length; from = to) {
+      to = from + Math.min(values.length - from, BLOCK);
+      double min = Double.POSITIVE_INFINITY;
+      double max = Double.NEGATIVE_INFINITY;
+
+      //Math.min and Math.max propagate NaN so a NaN fails the block check below
+      for (int i = from; i < to; i++) {
+        min = Math.min(min, values[i]);
+        max = Math.max(max, values[i]);
+      }
+
+      if (!(min >= lo && max <= hi)) {
+        for (int i = from; i < to; i++) {
+          if (!(values[i] >= lo && values[i] <= hi)) {
+            return i;
+          }
+        }
+      }
+    }
+
+    return -1;
+  }
+
+  /**
+   * Find the first element which differs from the element of the reference array at the same
+   * index by more than the tolerance.
+   * <p>
+   * Elements equal to their reference, including equal infinities and <code>NaN</code>s, are
+   * always within tolerance. When the arrays differ in length, the first index past the end of
+   * the shorter array is returned if every element before it is within tolerance.
+   *
+   * @param values    the values to scan
+   * @param reference the reference values
+   * @param tolerance the largest absolute difference allowed
+   *
+   * @return the index of the first element out of tolerance, or -1
+   */
+  static int firstOutsideTolerance(double[] values, double[] reference, double tolerance) {
+    int length = Math.min(values.length, reference.length);
+
+    for (int from = 0, to; from < length; from = to) {
+      to = from + Math.min(length - from, BLOCK);
+      double largest = 0;
+
+      for (int i = from; i < to; i++) {
+        largest = Math.max(largest, Math.abs(values[i] - reference[i]));
+      }
+
+      if (!(largest <= tolerance)) {
+        for (int i = from; i < to; i++) {
+          if (!(Math.abs(values[i] - reference[i]) <= tolerance)
+              && Double.compare(values[i], reference[i]) != 0
+          ) {
+            return i;
+          }
+        }
+      }
+    }
+
+    return values.length == reference.length ? -1 : length;
+  }
+}
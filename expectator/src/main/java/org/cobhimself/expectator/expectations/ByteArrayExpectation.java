@@ -0,0 +1,194 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.expectations;
+
+import java.util.Arrays;
+import org.cobhimself.expectator.DetailedExpectator;
+
+/**
+ * An {@link Expectation} which performs expectations against <code>byte[]</code> values without
+ * boxing their elements.
+ * <p>
+ * Comparisons use the range overloads of <code>Arrays.mismatch</code> which the JIT compiles to
+ * vectorized intrinsics. Failure messages give the index of the first mismatch along with the
+ * elements around it rather than the whole arrays.
+ */
+public class ByteArrayExpectation extends Expectation<byte[]> {
+
+  /**
+   * Construct a <code>ByteArrayExpectation</code> with a known expected value up front.
+   *
+   * @param expectedValue the value our expectation expects
+   * @param name          the name of the <code>ByteArrayExpectation</code>
+   */
+  public ByteArrayExpectation(byte[] expectedValue, String name) {
+    super(expectedValue, name);
+  }
+
+  /**
+   * Construct a <code>ByteArrayExpectation</code> without specifying the expected value up front.
+   *
+   * @param name the name of the <code>ByteArrayExpectation</code>
+   */
+  public ByteArrayExpectation(String name) {
+    super(name);
+  }
+
+  /**
+   * Expect our expected array to hold the same elements as the given array.
+   *
+   * @param actual the array we expect to be equal to our expected array
+   *
+   * @return self
+   */
+  @Override public ByteArrayExpectation expectEquals(byte[] actual) {
+    this.expect(
+        DetailedExpectator.of(
+            (e, a) -> Arrays.equals(e, (byte[]) a),
+            (e, a) -> describe(e, 0, e == null ? 0 : e.length, (byte[]) a)
+        ),
+        actual,
+        "expected arrays to be equal but {details}"
+    );
+
+    return this;
+  }
+
+  /**
+   * Expect our expected array to not hold the same elements as the given array.
+   *
+   * @param actual the array we expect to not be equal to our expected array
+   *
+   * @return self
+   */
+  @Override public ByteArrayExpectation expectNotEquals(byte[] actual) {
+    this.expect(
+        (e, a) -> !Arrays.equals(e, (byte[]) a),
+        actual,
+        "expected arrays to not be equal but they are"
+    );
+
+    return this;
+  }
+
+  /**
+   * Expect our expected array to begin with the elements of the given array.
+   *
+   * @param actual the elements we expect our expected array to start with
+   *
+   * @return self
+   */
+  public ByteArrayExpectation expectStartsWith(byte[] actual) {
+    return this.expectRangeEquals(0, actual);
+  }
+
+  /**
+   * Expect the elements of our expected array, starting at the given index, to be the elements of
+   * the given array.
+   *
+   * @param fromIndex the index of our expected array the given elements should start at
+   * @param actual    the elements we expect to find
+   *
+   * @return self
+   */
+  public ByteArrayExpectation expectRangeEquals(int fromIndex, byte[] actual) {
+    this.expect(
+        DetailedExpectator.of(
+            (e, a) -> rangeEquals(e, fromIndex, (byte[]) a),
+            (e, a) -> ArrayMismatch.inBounds(fromIndex, ((byte[]) a).length, e.length)
+                ? describe(e, fromIndex, fromIndex + ((byte[]) a).length, (byte[]) a)
+                : ArrayMismatch.outOfBounds(fromIndex, ((byte[]) a).length, e.length)
+        ),
+        actual,
+        "expected the range starting at " + fromIndex + " to equal the given elements but {details}"
+    );
+
+    return this;
+  }
+
+  /**
+   * Expect our expected array to have the given length.
+   *
+   * @param actual the length we expect
+   *
+   * @return self
+   */
+  public ByteArrayExpectation expectLength(int actual) {
+    this.expect(
+        (e, a) -> e.length == (Integer) a,
+        actual,
+        "expected an array of length {actual}"
+    );
+
+    return this;
+  }
+
+  /**
+   * Whether the elements of the expected array starting at the given index are the given elements.
+   *
+   * @param expected  the expected array
+   * @param fromIndex the index the elements should start at
+   * @param actual    the elements
+   *
+   * @return true when the range is within the expected array and equal to the elements
+   */
+  private static boolean rangeEquals(byte[] expected, int fromIndex, byte[] actual) {
+    return ArrayMismatch.inBounds(fromIndex, actual.length, expected.length)
+        && Arrays.mismatch(
+            expected, fromIndex, fromIndex + actual.length, actual, 0, actual.length
+        ) < 0;
+  }
+
+  /**
+   * Describe the first mismatch between a range of the expected array and the actual array.
+   *
+   * @param expected     the expected array
+   * @param expectedFrom the start of the range
+   * @param expectedTo   the end of the range, exclusive
+   * @param actual       the actual array
+   *
+   * @return the description
+   */
+  private static String describe(
+      byte[] expected,
+      int expectedFrom,
+      int expectedTo,
+      byte[] actual
+  ) {
+    if (expected == null || actual == null) {
+      return expected == null ? "the expected array is null" : "the actual array is null";
+    }
+
+    return ArrayMismatch.describe(
+        Arrays.mismatch(expected, expectedFrom, expectedTo, actual, 0, actual.length),
+        (builder, i) -> builder.append(expected[i]),
+        expectedFrom,
+        expectedTo - expectedFrom,
+        (builder, i) -> builder.append(actual[i]),
+        0,
+        actual.length
+    );
+  }
+}
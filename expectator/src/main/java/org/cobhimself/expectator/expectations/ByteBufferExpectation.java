@@ -0,0 +1,368 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.expectations;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+import org.cobhimself.expectator.DetailedExpectator;
+
+/**
+ * An {@link Expectation} which performs expectations against the remaining bytes of heap or
+ * direct <code>ByteBuffer</code>s in place.
+ * <p>
+ * Only the bytes between a buffer's position and limit are considered. Comparisons and searches
+ * read through <code>ByteBuffer.mismatch</code> and absolute gets so neither buffer's position,
+ * limit or mark is changed and nothing is copied onto the heap. Digests are computed over a
+ * duplicate of the expected buffer for the same reason.
+ */
+public class ByteBufferExpectation extends Expectation<ByteBuffer> {
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  /**
+   * Construct a <code>ByteBufferExpectation</code> with a known expected value up front.
+   *
+   * @param expectedValue the value our expectation expects
+   * @param name          the name of the <code>ByteBufferExpectation</code>
+   */
+  public ByteBufferExpectation(ByteBuffer expectedValue, String name) {
+    super(expectedValue, name);
+  }
+
+  /**
+   * Construct a <code>ByteBufferExpectation</code> without specifying the expected value up front.
+   *
+   * @param name the name of the <code>ByteBufferExpectation</code>
+   */
+  public ByteBufferExpectation(String name) {
+    super(name);
+  }
+
+  /**
+   * Expect the remaining bytes of our expected buffer to be the remaining bytes of the given
+   * buffer.
+   *
+   * @param actual the buffer we expect to be equal to our expected buffer
+   *
+   * @return self
+   */
+  @Override public ByteBufferExpectation expectEquals(ByteBuffer actual) {
+    this.expect(
+        DetailedExpectator.of(
+            (e, a) -> a != null && e.mismatch((ByteBuffer) a) < 0,
+            (e, a) -> a == null
+                ? "the actual buffer is null"
+                : describe(e, (ByteBuffer) a, e.mismatch((ByteBuffer) a))
+        ),
+        actual,
+        "expected buffers to be equal but {details}"
+    );
+
+    return this;
+  }
+
+  /**
+   * Expect the remaining bytes of our expected buffer to begin with the remaining bytes of the
+   * given buffer.
+   *
+   * @param actual the bytes we expect our expected buffer to start with
+   *
+   * @return self
+   */
+  public ByteBufferExpectation expectStartsWith(ByteBuffer actual) {
+    this.expect(
+        DetailedExpectator.of(
+            (e, a) -> e.remaining() >= ((ByteBuffer) a).remaining()
+                && mismatch(e, e.position(), (ByteBuffer) a, ((ByteBuffer) a).remaining()) < 0,
+            (e, a) -> describe(
+                e,
+                (ByteBuffer) a,
+                mismatch(
+                    e,
+                    e.position(),
+                    (ByteBuffer) a,
+                    Math.min(e.remaining(), ((ByteBuffer) a).remaining())
+                )
+            )
+        ),
+        actual,
+        "expected the buffer to start with the given bytes but {details}"
+    );
+
+    return this;
+  }
+
+  /**
+   * Expect the remaining bytes of our expected buffer to contain the given bytes.
+   * <p>
+   * The search uses Boyer-Moore-Horspool; its shift table is built once, here, so confirming
+   * the expectation does not allocate.
+   *
+   * @param actual the bytes we expect to find
+   *
+   * @return self
+   */
+  public ByteBufferExpectation expectContains(byte[] actual) {
+    var pattern = actual.clone();
+    var shifts = shifts(pattern);
+
+    this.expect(
+        (e, a) -> indexOf(e, pattern, shifts) >= 0,
+        actual,
+        "expected the buffer to contain the given bytes but it does not"
+    );
+
+    return this;
+  }
+
+  /**
+   * Expect our expected buffer to have the given number of remaining bytes.
+   *
+   * @param actual the number of remaining bytes we expect
+   *
+   * @return self
+   */
+  public ByteBufferExpectation expectRemaining(int actual) {
+    this.expect(
+        (e, a) -> e.remaining() == (Integer) a,
+        actual,
+        "expected {actual} remaining bytes"
+    );
+
+    return this;
+  }
+
+  /**
+   * Expect the CRC-32C checksum of the remaining bytes of our expected buffer to be the given
+   * value.
+   *
+   * @param actual the checksum we expect
+   *
+   * @return self
+   */
+  public ByteBufferExpectation expectCrc32c(long actual) {
+    this.expect(
+        DetailedExpectator.of(
+            (e, a) -> crc32c(e) == (Long) a,
+            (e, a) -> String.format("was %08x", crc32c(e))
+        ),
+        actual,
+        "expected a CRC-32C checksum of " + String.format("%08x", actual) + " but it {details}"
+    );
+
+    return this;
+  }
+
+  /**
+   * Expect the digest of the remaining bytes of our expected buffer, computed with the given
+   * <code>MessageDigest</code> algorithm, to be the given bytes.
+   *
+   * @param algorithm the name of the digest algorithm, such as <code>SHA-256</code>
+   * @param actual    the digest we expect
+   *
+   * @return self
+   */
+  public ByteBufferExpectation expectDigest(String algorithm, byte[] actual) {
+    try {
+      MessageDigest.getInstance(algorithm);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalArgumentException("Unknown digest algorithm " + algorithm, e);
+    }
+
+    this.expect(
+        DetailedExpectator.of(
+            (e, a) -> MessageDigest.isEqual(digest(algorithm, e), (byte[]) a),
+            (e, a) -> hex(digest(algorithm, e))
+        ),
+        actual,
+        "expected a " + algorithm + " digest of " + hex(actual) + " but it was {details}"
+    );
+
+    return this;
+  }
+
+  /**
+   * Find the first offset, from the given indexes of each buffer, at which the buffers differ.
+   * <p>
+   * When both buffers share a byte order the bytes are compared eight at a time.
+   *
+   * @param expected the expected buffer
+   * @param from     the index of the expected buffer to start at
+   * @param actual   the actual buffer, read from its position
+   * @param length   the number of bytes to compare
+   *
+   * @return the offset of the first difference, or -1 when the bytes are the same
+   */
+  private static int mismatch(ByteBuffer expected, int from, ByteBuffer actual, int length) {
+    int actualFrom = actual.position();
+    int i = 0;
+
+    if (expected.order() == actual.order()) {
+      for (; i <= length - Long.BYTES; i += Long.BYTES) {
+        if (expected.getLong(from + i) != actual.getLong(actualFrom + i)) {
+          break;
+        }
+      }
+    }
+
+    for (; i < length; i++) {
+      if (expected.get(from + i) != actual.get(actualFrom + i)) {
+        return i;
+      }
+    }
+
+    return -1;
+  }
+
+  /**
+   * Build the Boyer-Moore-Horspool shift table of a pattern.
+   *
+   * @param pattern the pattern
+   *
+   * @return how far to shift the search for each value of the byte under the end of the pattern
+   */
+  private static int[] shifts(byte[] pattern) {
+    var shifts = new int[256];
+    Arrays.fill(shifts, Math.max(pattern.length, 1));
+
+    for (int i = 0; i < pattern.length - 1; i++) {
+      shifts[pattern[i] & 0xff] = pattern.length - 1 - i;
+    }
+
+    return shifts;
+  }
+
+  /**
+   * Search the remaining bytes of a buffer for a pattern.
+   *
+   * @param buffer  the buffer to search
+   * @param pattern the pattern to find
+   * @param shifts  the shift table of the pattern
+   *
+   * @return the index of the first occurrence relative to the buffer's position, or -1
+   */
+  private static int indexOf(ByteBuffer buffer, byte[] pattern, int[] shifts) {
+    int start = buffer.position();
+    int last = pattern.length - 1;
+    int end = buffer.limit() - last;
+
+    for (int i = start; i < end; i += shifts[buffer.get(i + last) & 0xff]) {
+      int j = last;
+
+      while (j >= 0 && buffer.get(i + j) == pattern[j]) {
+        j--;
+      }
+
+      if (j < 0) {
+        return i - start;
+      }
+    }
+
+    return -1;
+  }
+
+  /**
+   * Compute the CRC-32C checksum of the remaining bytes of a buffer.
+   *
+   * @param buffer the buffer
+   *
+   * @return the checksum
+   */
+  private static long crc32c(ByteBuffer buffer) {
+    var crc = new CRC32C();
+    crc.update(buffer.duplicate());
+
+    return crc.getValue();
+  }
+
+  /**
+   * Compute the digest of the remaining bytes of a buffer.
+   *
+   * @param algorithm the digest algorithm
+   * @param buffer    the buffer
+   *
+   * @return the digest
+   */
+  private static byte[] digest(String algorithm, ByteBuffer buffer) {
+    try {
+      var digest = MessageDigest.getInstance(algorithm);
+      digest.update(buffer.duplicate());
+
+      return digest.digest();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Describe the first mismatch between the remaining bytes of two buffers.
+   *
+   * @param expected the expected buffer
+   * @param actual   the actual buffer
+   * @param mismatch the offset of the mismatch from the position of both buffers
+   *
+   * @return the description
+   */
+  private static String describe(ByteBuffer expected, ByteBuffer actual, int mismatch) {
+    return ArrayMismatch.describe(
+        mismatch < 0 ? Math.min(expected.remaining(), actual.remaining()) : mismatch,
+        (builder, i) -> appendHex(builder, expected.get(i)),
+        expected.position(),
+        expected.remaining(),
+        (builder, i) -> appendHex(builder, actual.get(i)),
+        actual.position(),
+        actual.remaining()
+    );
+  }
+
+  /**
+   * Append a byte as two hexadecimal digits.
+   *
+   * @param builder the builder to append to
+   * @param value   the byte
+   */
+  private static void appendHex(StringBuilder builder, byte value) {
+    builder.append(HEX[(value >> 4) & 0xf]).append(HEX[value & 0xf]);
+  }
+
+  /**
+   * Format bytes as hexadecimal digits.
+   *
+   * @param bytes the bytes
+   *
+   * @return the hexadecimal digits
+   */
+  private static String hex(byte[] bytes) {
+    var builder = new StringBuilder(bytes.length * 2);
+
+    for (byte value : bytes) {
+      appendHex(builder, value);
+    }
+
+    return builder.toString();
+  }
+}
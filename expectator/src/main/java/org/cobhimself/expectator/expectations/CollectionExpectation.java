@@ -25,10 +25,15 @@
 package org.cobhimself.expectator.expectations;
 
 import java.util.Collection;
+import java.util.Comparator;
+import org.cobhimself.expectator.DetailedExpectator;
 
 /**
  * A <code>CollectionExpectation</code> is used to provide expectations for objects which implement
  * the <code>Collection</code> interface.
+ * <p>
+ * The order and uniqueness expectations scan the collection once and report the index of the first
+ * element which breaks them; see {@link CollectionScans}.
  */
 public class CollectionExpectation extends Expectation<Collection<?>> {
 
@@ -153,4 +158,114 @@ public class CollectionExpectation extends Expectation<Collection<?>> {
     return this;
   }
 
+  /**
+   * Expect our expected collection to iterate its elements in the order given by the comparator.
+   *
+   * @param comparator the order we expect the elements to be in
+   * @param <E>        the type of the elements
+   *
+   * @return self
+   */
+  public <E> CollectionExpectation expectSorted(Comparator<? super E> comparator) {
+    if (comparator == null) {
+      throw new IllegalArgumentException("The comparator cannot be null");
+    }
+
+    this.expect(
+        DetailedExpectator.of(
+            (e, a) -> CollectionScans.firstOutOfOrder(e, order(a), false) < 0,
+            (e, a) -> describe(
+                e,
+                CollectionScans.firstOutOfOrder(e, order(a), false),
+                "is out of order after"
+            )
+        ),
+        //Naturally ordered lists can be scanned through their fast paths
+        comparator == Comparator.naturalOrder() ? null : comparator,
+        "expected elements to be sorted but {details}"
+    );
+
+    return this;
+  }
+
+  /**
+   * Expect each element of our expected collection to be greater than the one before it in its
+   * natural order.
+   *
+   * @return self
+   */
+  public CollectionExpectation expectStrictlyIncreasing() {
+    this.expect(
+        DetailedExpectator.of(
+            (e, a) -> CollectionScans.firstOutOfOrder(e, null, true) < 0,
+            (e, a) -> describe(
+                e,
+                CollectionScans.firstOutOfOrder(e, null, true),
+                "is not greater than"
+            )
+        ),
+        null,
+        "expected elements to be strictly increasing but {details}"
+    );
+
+    return this;
+  }
+
+  /**
+   * Expect our expected collection to contain no two equal elements.
+   *
+   * @return self
+   */
+  public CollectionExpectation expectNoDuplicates() {
+    this.expect(
+        DetailedExpectator.of(
+            (e, a) -> CollectionScans.firstDuplicate(e) < 0,
+            (e, a) -> {
+              int index = CollectionScans.firstDuplicate(e);
+
+              return String.format(
+                  "element %d (%s) duplicates an earlier element",
+                  index,
+                  CollectionScans.elementAt(e, index)
+              );
+            }
+        ),
+        null,
+        "expected elements to have no duplicates but {details}"
+    );
+
+    return this;
+  }
+
+  /**
+   * Get the comparator given as the actual value of an order expectation.
+   *
+   * @param actual the actual value
+   *
+   * @return the comparator or null for the natural order
+   */
+  @SuppressWarnings("unchecked")
+  private static Comparator<Object> order(Object actual) {
+    return (Comparator<Object>) actual;
+  }
+
+  /**
+   * Describe the element at the given index along with the element before it.
+   *
+   * @param collection the collection
+   * @param index      the index of the element which broke the order
+   * @param relation   how the element relates to the one before it
+   *
+   * @return the description
+   */
+  private static String describe(Collection<?> collection, int index, String relation) {
+    return String.format(
+        "element %d (%s) %s element %d (%s)",
+        index,
+        CollectionScans.elementAt(collection, index),
+        relation,
+        index - 1,
+        CollectionScans.elementAt(collection, index - 1)
+    );
+  }
 }
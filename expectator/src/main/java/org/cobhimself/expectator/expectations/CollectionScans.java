@@ -0,0 +1,305 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.expectations;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Single pass scans of a collection's elements used by {@link CollectionExpectation}.
+ * <p>
+ * Each scan returns the index of the first element which breaks the property checked, or -1. Lists
+ * which implement <code>RandomAccess</code> are scanned by index; lists of boxed
+ * <code>Integer</code>, <code>Long</code> or <code>Double</code> values are compared and hashed
+ * as primitives, without calling <code>compareTo</code> or <code>hashCode</code>. Any other
+ * collection is scanned once through its iterator.
+ */
+final class CollectionScans {
+  private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+  private CollectionScans() {
+  }
+
+  /**
+   * Find the first element which is less than the element before it, or not greater than it when
+   * strict, in the order given by the comparator.
+   *
+   * @param collection the collection to scan
+   * @param comparator the order the elements should be in, or null for their natural order
+   * @param strict     whether equal neighbours break the order
+   *
+   * @return the index of the first element out of order, or -1 when all are in order
+   */
+  static int firstOutOfOrder(
+      Collection<?> collection,
+      Comparator<Object> comparator,
+      boolean strict
+  ) {
+    if (comparator == null && collection instanceof RandomAccess && collection instanceof List) {
+      return firstOutOfNaturalOrder((List<?>) collection, strict);
+    }
+
+    Comparator<Object> order = comparator == null ? CollectionScans::compareNatural : comparator;
+    Iterator<?> iterator = collection.iterator();
+
+    if (!iterator.hasNext()) {
+      return -1;
+    }
+
+    Object previous = iterator.next();
+
+    for (int i = 1; iterator.hasNext(); i++) {
+      Object current = iterator.next();
+
+      if (outOfOrder(order, previous, current, strict)) {
+        return i;
+      }
+
+      previous = current;
+    }
+
+    return -1;
+  }
+
+  /**
+   * Scan a random access list in natural order, comparing boxed numbers as primitives for as long
+   * as every element has the type of the first.
+   *
+   * @param list   the list to scan
+   * @param strict whether equal neighbours break the order
+   *
+   * @return the index of the first element out of order, or -1 when all are in order
+   */
+  private static int firstOutOfNaturalOrder(List<?> list, boolean strict) {
+    int size = list.size();
+
+    if (size < 2) {
+      return -1;
+    }
+
+    Object first = list.get(0);
+    int i = 1;
+
+    if (first instanceof Integer) {
+      int previous = (Integer) first;
+
+      for (; i < size && list.get(i) instanceof Integer; i++) {
+        int current = (Integer) list.get(i);
+
+        if (strict ? current <= previous : current < previous) {
+          return i;
+        }
+
+        previous = current;
+      }
+    } else if (first instanceof Long) {
+      long previous = (Long) first;
+
+      for (; i < size && list.get(i) instanceof Long; i++) {
+        long current = (Long) list.get(i);
+
+        if (strict ? current <= previous : current < previous) {
+          return i;
+        }
+
+        previous = current;
+      }
+    } else if (first instanceof Double) {
+      double previous = (Double) first;
+
+      for (; i < size && list.get(i) instanceof Double; i++) {
+        double current = (Double) list.get(i);
+        int comparison = Double.compare(previous, current);
+
+        if (strict ? comparison >= 0 : comparison > 0) {
+          return i;
+        }
+
+        previous = current;
+      }
+    }
+
+    //Compare whatever is left, from the first element the fast paths did not handle
+    for (; i < size; i++) {
+      if (outOfOrder(CollectionScans::compareNatural, list.get(i - 1), list.get(i), strict)) {
+        return i;
+      }
+    }
+
+    return -1;
+  }
+
+  private static boolean outOfOrder(
+      Comparator<Object> order,
+      Object previous,
+      Object current,
+      boolean strict
+  ) {
+    int comparison = order.compare(previous, current);
+
+    return strict ? comparison >= 0 : comparison > 0;
+  }
+
+  /**
+   * Compare two elements in their natural order; nulls and elements which are not comparable with
+   * each other are always out of order.
+   *
+   * @param previous the earlier element
+   * @param current  the later element
+   *
+   * @return the comparison of the elements
+   */
+  @SuppressWarnings("unchecked")
+  private static int compareNatural(Object previous, Object current) {
+    if (!(previous instanceof Comparable) || current == null) {
+      return 1;
+    }
+
+    try {
+      return ((Comparable<Object>) previous).compareTo(current);
+    } catch (ClassCastException e) {
+      return 1;
+    }
+  }
+
+  /**
+   * Find the first element equal to an element before it.
+   *
+   * @param collection the collection to scan
+   *
+   * @return the index of the first duplicate, or -1 when all elements are distinct
+   */
+  static int firstDuplicate(Collection<?> collection) {
+    if (collection instanceof RandomAccess && collection instanceof List) {
+      int duplicate = firstPrimitiveDuplicate((List<?>) collection);
+
+      if (duplicate != Integer.MIN_VALUE) {
+        return duplicate;
+      }
+    }
+
+    var seen = new HashSet<Object>(Math.max(16, (int) (collection.size() / 0.75f) + 1));
+    int i = 0;
+
+    for (Object element : collection) {
+      if (!seen.add(element)) {
+        return i;
+      }
+
+      i++;
+    }
+
+    return -1;
+  }
+
+  /**
+   * Find the first duplicate of a list of boxed integers, longs or doubles by hashing their
+   * primitive values into an open addressing table.
+   *
+   * @param list the list to scan
+   *
+   * @return the index of the first duplicate, -1 when all elements are distinct or
+   *     <code>Integer.MIN_VALUE</code> when the list does not only hold one of these types
+   */
+  private static int firstPrimitiveDuplicate(List<?> list) {
+    int size = list.size();
+
+    if (size < 2) {
+      return -1;
+    }
+
+    Class<?> type = list.get(0) == null ? null : list.get(0).getClass();
+
+    if (type != Integer.class && type != Long.class && type != Double.class) {
+      return Integer.MIN_VALUE;
+    }
+
+    int capacity = Integer.highestOneBit(Math.max(size, 2) * 2 - 1) << 1;
+    int shift = 64 - Integer.numberOfTrailingZeros(capacity);
+    int mask = capacity - 1;
+    var keys = new long[capacity];
+    var used = new boolean[capacity];
+
+    for (int i = 0; i < size; i++) {
+      Object element = list.get(i);
+
+      if (element == null || element.getClass() != type) {
+        return Integer.MIN_VALUE;
+      }
+
+      long key;
+
+      if (type == Integer.class) {
+        key = (Integer) element;
+      } else if (type == Long.class) {
+        key = (Long) element;
+      } else {
+        //The bits Double.equals compares
+        key = Double.doubleToLongBits((Double) element);
+      }
+
+      int slot = (int) ((key * HASH_MULTIPLIER) >>> shift);
+
+      while (used[slot]) {
+        if (keys[slot] == key) {
+          return i;
+        }
+
+        slot = (slot + 1) & mask;
+      }
+
+      used[slot] = true;
+      keys[slot] = key;
+    }
+
+    return -1;
+  }
+
+  /**
+   * Get the element at the given index of a collection.
+   *
+   * @param collection the collection
+   * @param index      the index of the element
+   *
+   * @return the element
+   */
+  static Object elementAt(Collection<?> collection, int index) {
+    if (collection instanceof List) {
+      return ((List<?>) collection).get(index);
+    }
+
+    Iterator<?> iterator = collection.iterator();
+
+    for (int i = 0; i < index; i++) {
+      iterator.next();
+    }
+
+    return iterator.next();
+  }
+}
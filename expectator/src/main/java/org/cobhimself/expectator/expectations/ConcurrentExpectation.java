@@ -0,0 +1,144 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.expectations;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import org.cobhimself.expectator.ConcurrentExpectatorEntries;
+import org.cobhimself.expectator.Expectator;
+import org.cobhimself.expectator.ExpectatorEntry;
+import org.cobhimself.expectator.ExpectatorEntryCollection;
+
+/**
+ * An {@link Expectation} whose expectators may be established from several threads at once.
+ * <p>
+ * Expectators are collected within a {@link ConcurrentExpectatorEntries} instance, a lock-free
+ * append only queue, rather than the plain list used by <code>Expectation</code>.
+ * Every <code>expect</code> call which happens-before <code>confirm</code> (for instance, calls
+ * made by producer threads which were joined or whose futures completed before confirming) is
+ * guaranteed to be confirmed along with everything its thread did before registering it.
+ * Expectators established while <code>confirm</code> is running may or may not be confirmed.
+ * <p>
+ * The expected value may also be set from another thread: it is written with release and read
+ * with acquire semantics, so whatever a thread did before setting it is visible to the thread
+ * which reads it.
+ * <p>
+ * Plain <code>Expectation</code>s are unaffected and keep plain fields; this class only needs to
+ * be used when expectators are established concurrently.
+ *
+ * @param <T> the type of value expectators will work with.
+ */
+public class ConcurrentExpectation<T> extends Expectation<T> {
+  private static final VarHandle EXPECTED_VALUE;
+
+  static {
+    try {
+      EXPECTED_VALUE = MethodHandles.lookup()
+          .findVarHandle(Expectation.class, "expectedValue", Object.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  /**
+   * Construct a <code>ConcurrentExpectation</code> with a known expected value up front.
+   *
+   * @param expectedValue the value our expectation expects
+   * @param name          the name of the <code>ConcurrentExpectation</code>
+   */
+  public ConcurrentExpectation(T expectedValue, String name) {
+    super(expectedValue, name);
+  }
+
+  /**
+   * Construct a <code>ConcurrentExpectation</code> without specifying the expected value up front.
+   *
+   * @param name the name of the <code>ConcurrentExpectation</code>
+   */
+  public ConcurrentExpectation(String name) {
+    super(name);
+  }
+
+  /**
+   * Store expectators in a {@link ConcurrentExpectatorEntries} instance.
+   *
+   * @return an empty lock-free queue of expectator entries
+   */
+  @Override protected ExpectatorEntryCollection<T> createExpectatorEntries() {
+    return new ConcurrentExpectatorEntries<>();
+  }
+
+  /**
+   * Establish an {@link Expectator}; safe to call from any number of threads at once.
+   * <p>
+   * Entries are never re-armed from a pool, since a recycled entry may still be confirmed by
+   * another thread.
+   *
+   * @param expectator the <code>Expectator</code> to call when confirming our expectation
+   * @param actual     the actual value to compare our <code>Expectation</code>'s expected value
+   *                   against
+   * @param message    the failure message string
+   *
+   * @return self
+   */
+  @Override public ExpectationInterface<T> expect(
+      Expectator<T> expectator,
+      Object actual,
+      String message
+  ) {
+    this.expectatorEntries.add(new ExpectatorEntry<>(this, expectator, actual, message));
+
+    return this;
+  }
+
+  /**
+   * Set the expected value, publishing everything this thread did beforehand to the thread
+   * which reads it.
+   *
+   * @param value the expected value expectators will perform expectations against
+   */
+  @Override public void setExpectedValue(T value) {
+    EXPECTED_VALUE.setRelease(this, value);
+  }
+
+  /**
+   * Get the expected value most recently set by any thread.
+   *
+   * @return the expected value
+   */
+  @SuppressWarnings("unchecked")
+  @Override public T getExpectedValue() {
+    return (T) EXPECTED_VALUE.getAcquire(this);
+  }
+
+  /**
+   * Remove every expectator from this <code>ConcurrentExpectation</code>.
+   * <p>
+   * Entries are not pooled; they may still be referenced by threads confirming concurrently.
+   */
+  @Override public void reset() {
+    this.expectatorEntries.clear();
+  }
+}
@@ -0,0 +1,359 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.expectations;
+
+import java.util.Arrays;
+import org.cobhimself.expectator.DetailedExpectator;
+import org.cobhimself.expectator.statistics.KolmogorovSmirnov;
+
+/**
+ * An {@link Expectation} which performs expectations against <code>double[]</code> values without
+ * boxing their elements.
+ * <p>
+ * Comparisons use the range overloads of <code>Arrays.mismatch</code> which the JIT compiles to
+ * vectorized intrinsics. Failure messages give the index of the first mismatch along with the
+ * elements around it rather than the whole arrays. Range checks over every element are made
+ * through {@link ArrayScans}.
+ * <p>
+ * Elements are compared as <code>Double.equals</code> does: <code>NaN</code> equals itself and
+ * <code>0.0</code> does not equal <code>-0.0</code>.
+ */
+public class DoubleArrayExpectation extends Expectation<double[]> {
+
+  /**
+   * Construct a <code>DoubleArrayExpectation</code> with a known expected value up front.
+   *
+   * @param expectedValue the value our expectation expects
+   * @param name          the name of the <code>DoubleArrayExpectation</code>
+   */
+  public DoubleArrayExpectation(double[] expectedValue, String name) {
+    super(expectedValue, name);
+  }
+
+  /**
+   * Construct a <code>DoubleArrayExpectation</code> without specifying the expected value up front.
+   *
+   * @param name the name of the <code>DoubleArrayExpectation</code>
+   */
+  public DoubleArrayExpectation(String name) {
+    super(name);
+  }
+
+  /**
+   * Expect our expected array to hold the same elements as the given array.
+   *
+   * @param actual the array we expect to be equal to our expected array
+   *
+   * @return self
+   */
+  @Override public DoubleArrayExpectation expectEquals(double[] actual) {
+    this.expect(
+        DetailedExpectator.of(
+            (e, a) -> Arrays.equals(e, (double[]) a),
+            (e, a) -> describe(e, 0, e == null ? 0 : e.length, (double[]) a)
+        ),
+        actual,
+        "expected arrays to be equal but {details}"
+    );
+
+    return this;
+  }
+
+  /**
+   * Expect our expected array to not hold the same elements as the given array.
+   *
+   * @param actual the array we expect to not be equal to our expected array
+   *
+   * @return self
+   */
+  @Override public DoubleArrayExpectation expectNotEquals(double[] actual) {
+    this.expect(
+        (e, a) -> !Arrays.equals(e, (double[]) a),
+        actual,
+        "expected arrays to not be equal but they are"
+    );
+
+    return this;
+  }
+
+  /**
+   * Expect our expected array to begin with the elements of the given array.
+   *
+   * @param actual the elements we expect our expected array to start with
+   *
+   * @return self
+   */
+  public DoubleArrayExpectation expectStartsWith(double[] actual) {
+    return this.expectRangeEquals(0, actual);
+  }
+
+  /**
+   * Expect the elements of our expected array, starting at the given index, to be the elements of
+   * the given array.
+   *
+   * @param fromIndex the index of our expected array the given elements should start at
+   * @param actual    the elements we expect to find
+   *
+   * @return self
+   */
+  public DoubleArrayExpectation expectRangeEquals(int fromIndex, double[] actual) {
+    this.expect(
+        DetailedExpectator.of(
+            (e, a) -> rangeEquals(e, fromIndex, (double[]) a),
+            (e, a) -> ArrayMismatch.inBounds(fromIndex, ((double[]) a).length, e.length)
+                ? describe(e, fromIndex, fromIndex + ((double[]) a).length, (double[]) a)
+                : ArrayMismatch.outOfBounds(fromIndex, ((double[]) a).length, e.length)
+        ),
+        actual,
+        "expected the range starting at " + fromIndex + " to equal the given elements but {details}"
+    );
+
+    return this;
+  }
+
+  /**
+   * Expect our expected array to have the given length.
+   *
+   * @param actual the length we expect
+   *
+   * @return self
+   */
+  public DoubleArrayExpectation expectLength(int actual) {
+    this.expect(
+        (e, a) -> e.length == (Integer) a,
+        actual,
+        "expected an array of length {actual}"
+    );
+
+    return this;
+  }
+
+  /**
+   * Expect every element of our expected array to be between the given values, inclusive.
+   *
+   * @param lo the lowest value we expect
+   * @param hi the highest value we expect
+   *
+   * @return self
+   */
+  public DoubleArrayExpectation expectAllBetween(double lo, double hi) {
+    return this.expectAllInRange(lo, hi, "between " + lo + " and " + hi);
+  }
+
+  /**
+   * Expect every element of our expected array to be greater than the given value.
+   *
+   * @param actual the value every element should be greater than
+   *
+   * @return self
+   */
+  public DoubleArrayExpectation expectAllGreaterThan(double actual) {
+    //Nothing is greater than positive infinity; the empty range fails every element
+    return actual == Double.POSITIVE_INFINITY
+        ? this.expectAllInRange(actual, Double.NEGATIVE_INFINITY, "greater than " + actual)
+        : this.expectAllInRange(
+            Math.nextUp(actual),
+            Double.POSITIVE_INFINITY,
+            "greater than " + actual
+        );
+  }
+
+  /**
+   * Expect every element of our expected array to be less than the given value.
+   *
+   * @param actual the value every element should be less than
+   *
+   * @return self
+   */
+  public DoubleArrayExpectation expectAllLessThan(double actual) {
+    //Nothing is less than negative infinity; the empty range fails every element
+    return actual == Double.NEGATIVE_INFINITY
+        ? this.expectAllInRange(Double.POSITIVE_INFINITY, actual, "less than " + actual)
+        : this.expectAllInRange(
+            Double.NEGATIVE_INFINITY,
+            Math.nextDown(actual),
+            "less than " + actual
+        );
+  }
+
+  /**
+   * Expect every element of our expected array to be within the given tolerance of the element at
+   * the same index of the given reference array.
+   * <p>
+   * Elements equal to their reference, including equal infinities and <code>NaN</code>s, are
+   * always within tolerance; arrays of different lengths never are.
+   *
+   * @param reference the reference values
+   * @param tolerance the largest absolute difference we expect
+   *
+   * @return self
+   */
+  public DoubleArrayExpectation expectAllWithin(double[] reference, double tolerance) {
+    if (!(tolerance >= 0)) {
+      throw new IllegalArgumentException("The tolerance must be zero or greater");
+    }
+
+    this.expect(
+        DetailedExpectator.of(
+            (e, a) -> ArrayScans.firstOutsideTolerance(e, (double[]) a, tolerance) < 0,
+            (e, a) -> {
+              var r = (double[]) a;
+              int index = ArrayScans.firstOutsideTolerance(e, r, tolerance);
+
+              return index < Math.min(e.length, r.length)
+                  ? "element " + index + " is " + e[index] + " but the reference is " + r[index]
+                  : "there are " + e.length + " elements but " + r.length + " references";
+            }
+        ),
+        reference,
+        "expected every element to be within " + tolerance + " of the reference but {details}"
+    );
+
+    return this;
+  }
+
+  /**
+   * Expect our expected array and the given array to be samples of the same distribution,
+   * according to a two-sample {@link KolmogorovSmirnov} test.
+   * <p>
+   * The expectation fails when the test's p-value is below the significance: when samples this
+   * different would be drawn from a single distribution less often than that. Both arrays are
+   * copied and sorted in parallel; neither is modified.
+   *
+   * @param actual       the sample we expect to come from the same distribution
+   * @param significance the significance level of the test, such as 0.05
+   *
+   * @return self
+   */
+  public DoubleArrayExpectation expectSameDistributionAs(double[] actual, double significance) {
+    if (!(significance > 0 && significance < 1)) {
+      throw new IllegalArgumentException("The significance must be between 0 and 1");
+    }
+
+    this.expect(
+        DetailedExpectator.of(
+            (e, a) -> {
+              var b = (double[]) a;
+
+              return KolmogorovSmirnov.pValue(
+                  KolmogorovSmirnov.statistic(e, b),
+                  e.length,
+                  b.length
+              ) >= significance;
+            },
+            (e, a) -> {
+              var b = (double[]) a;
+              double statistic = KolmogorovSmirnov.statistic(e, b);
+
+              return String.format(
+                  "D = %.4g with p = %.4g over %d and %d values",
+                  statistic,
+                  KolmogorovSmirnov.pValue(statistic, e.length, b.length),
+                  e.length,
+                  b.length
+              );
+            }
+        ),
+        actual,
+        "expected samples of the same distribution at significance " + significance
+            + " but {details}"
+    );
+
+    return this;
+  }
+
+  /**
+   * Expect every element of our expected array to be within the given inclusive range.
+   *
+   * @param lo          the lowest value allowed
+   * @param hi          the highest value allowed
+   * @param description the description of the range for the failure message
+   *
+   * @return self
+   */
+  private DoubleArrayExpectation expectAllInRange(double lo, double hi, String description) {
+    this.expect(
+        DetailedExpectator.of(
+            (e, a) -> ArrayScans.firstOutside(e, lo, hi) < 0,
+            (e, a) -> {
+              int index = ArrayScans.firstOutside(e, lo, hi);
+
+              return "element " + index + " is " + e[index];
+            }
+        ),
+        null,
+        "expected every element to be " + description + " but {details}"
+    );
+
+    return this;
+  }
+
+  /**
+   * Whether the elements of the expected array starting at the given index are the given elements.
+   *
+   * @param expected  the expected array
+   * @param fromIndex the index the elements should start at
+   * @param actual    the elements
+   *
+   * @return true when the range is within the expected array and equal to the elements
+   */
+  private static boolean rangeEquals(double[] expected, int fromIndex, double[] actual) {
+    return ArrayMismatch.inBounds(fromIndex, actual.length, expected.length)
+        && Arrays.mismatch(
+            expected, fromIndex, fromIndex + actual.length, actual, 0, actual.length
+        ) < 0;
+  }
+
+  /**
+   * Describe the first mismatch between a range of the expected array and the actual array.
+   *
+   * @param expected     the expected array
+   * @param expectedFrom the start of the range
+   * @param expectedTo   the end of the range, exclusive
+   * @param actual       the actual array
+   *
+   * @return the description
+   */
+  private static String describe(
+      double[] expected,
+      int expectedFrom,
+      int expectedTo,
+      double[] actual
+  ) {
+    if (expected == null || actual == null) {
+      return expected == null ? "the expected array is null" : "the actual array is null";
+    }
+
+    return ArrayMismatch.describe(
+        Arrays.mismatch(expected, expectedFrom, expectedTo, actual, 0, actual.length),
+        (builder, i) -> builder.append(expected[i]),
+        expectedFrom,
+        expectedTo - expectedFrom,
+        (builder, i) -> builder.append(actual[i]),
+        0,
+        actual.length
+    );
+  }
+}
@@ -24,11 +24,24 @@
 
 package org.cobhimself.expectator.expectations;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Objects;
+import org.cobhimself.expectator.DetailedExpectator;
 import org.cobhimself.expectator.Expectator;
 import org.cobhimself.expectator.ExpectatorEntries;
 import org.cobhimself.expectator.ExpectatorEntry;
+import org.cobhimself.expectator.ExpectatorEntryCollection;
 import org.cobhimself.expectator.FailureMessageBuilder;
 import org.cobhimself.expectator.exceptions.ExpectatorException;
+import org.cobhimself.expectator.graph.DeepEquality;
+import org.cobhimself.expectator.jfr.ExpectationConfirmEvent;
+import org.cobhimself.expectator.jfr.FlightRecording;
+import org.cobhimself.expectator.monitoring.FailureMonitor;
+import org.cobhimself.expectator.properties.PropertyAccessors;
+import org.cobhimself.expectator.properties.PropertyPath;
+import org.cobhimself.expectator.snapshot.SnapshotExpectator;
+import org.cobhimself.expectator.snapshot.SnapshotStore;
 
 /**
  * Base expectation class which implements the {@link ExpectationInterface}.
@@ -37,9 +50,11 @@ import org.cobhimself.expectator.exceptions.ExpectatorException;
  * this class provides an <code>expectEquals</code> and <code>expectNotEquals</code> pair of
  * methods which can help the extending classes provide basic functionality.
  * <p>
- * Failures result in a {@link ExpectatorException} being thrown.
+ * Failures result in a {@link ExpectatorException} being thrown unless a {@link FailureMonitor}
+ * has been set, in which case they are recorded with the monitor instead.
  * <p>
- * {@link Expectator}s are collected within an {@link ExpectatorEntries} instance so the class can
+ * {@link Expectator}s are collected within an {@link ExpectatorEntries} instance, or whichever
+ * {@link ExpectatorEntryCollection} {@link #createExpectatorEntries()} returns, so the class can
  * contain multiple <code>Expectator</code>s. This allows <code>Expectation</code>
  * classes to become compound expectations through the chaining of multiple <code>expect</code>
  * calls.
@@ -65,10 +80,21 @@ public class Expectation<T> implements ExpectationInterface<T> {
   final String name;
 
   /**
-   * A set of <code>Expectator</code>s this <code>Expectation</code> will utilize to confirm our
+   * The <code>Expectator</code>s this <code>Expectation</code> will utilize to confirm our
    * expected value against an actual value.
    */
-  final ExpectatorEntries<T> expectatorEntries = new ExpectatorEntries<>();
+  final ExpectatorEntryCollection<T> expectatorEntries = this.createExpectatorEntries();
+
+  /**
+   * Entries released by {@link #reset()} which <code>expect</code> re-arms before allocating new
+   * ones.
+   */
+  private final ArrayList<ExpectatorEntry<T>> recycledEntries = new ArrayList<>();
+
+  /**
+   * The monitor failures are recorded with instead of being thrown, if any.
+   */
+  private FailureMonitor failureMonitor;
 
   /**
    * Construct an <code>Expectation</code> with a known expected value up front.
@@ -90,6 +116,18 @@ public class Expectation<T> implements ExpectationInterface<T> {
     this.name = name;
   }
 
+  /**
+   * Create the collection this <code>Expectation</code>'s expectators are stored in.
+   * <p>
+   * Called once, while the <code>Expectation</code> is being constructed, so implementations
+   * must not rely on the state of the subclass.
+   *
+   * @return an empty collection of expectator entries
+   */
+  protected ExpectatorEntryCollection<T> createExpectatorEntries() {
+    return new ExpectatorEntries<>();
+  }
+
   /**
    * Expect the value stored by this <code>Expectation</code> is equal to the given value.
    *
@@ -124,6 +162,68 @@ public class Expectation<T> implements ExpectationInterface<T> {
     return this;
   }
 
+  /**
+   * Expect the object graph of the value stored by this <code>Expectation</code> to be deeply
+   * equal to the given value's, field by field, whether or not the objects implement
+   * <code>equals</code>.
+   * <p>
+   * See {@link DeepEquality} for how the graphs are compared. On failure, the message includes
+   * the path to the first difference.
+   *
+   * @param actual the value whose graph we expect to deeply equal our expected value's
+   *
+   * @return self
+   */
+  public ExpectationInterface<T> expectDeepEquals(T actual) {
+    this.expect(
+        DetailedExpectator.of(
+            DeepEquality::equals,
+            (e, a) -> String.valueOf(DeepEquality.findDifference(e, a))
+        ),
+        actual,
+        "expected {expected} to deeply equal {actual}; {details}"
+    );
+
+    return this;
+  }
+
+  /**
+   * Expect the value stored by this <code>Expectation</code> to match the snapshot stored under
+   * the given id by the default {@link SnapshotStore}.
+   *
+   * @param id the id of the snapshot
+   *
+   * @return self
+   */
+  public ExpectationInterface<T> expectMatchesSnapshot(String id) {
+    return this.expectMatchesSnapshot(id, SnapshotStore.getDefault());
+  }
+
+  /**
+   * Expect the value stored by this <code>Expectation</code> to match the snapshot stored under
+   * the given id by the given {@link SnapshotStore}.
+   * <p>
+   * When no snapshot is stored yet, the value becomes the snapshot. In update mode, a snapshot
+   * which does not match is replaced by the value. The value is compared once per confirmation;
+   * see {@link SnapshotExpectator}.
+   *
+   * @param id    the id of the snapshot
+   * @param store the store holding the snapshot
+   *
+   * @return self
+   */
+  public ExpectationInterface<T> expectMatchesSnapshot(String id, SnapshotStore store) {
+    this.expect(
+        new SnapshotExpectator<>(store),
+        id,
+        //Only the id is named; the value may be far too large for a message and is diffed in the
+        //bounded details instead
+        "expected the value to match snapshot {actual}; {details}"
+    );
+
+    return this;
+  }
+
   /**
    * Expect our expected value to not be null.
    *
@@ -154,6 +254,58 @@ public class Expectation<T> implements ExpectationInterface<T> {
     return this;
   }
 
+  /**
+   * Expect the property at the given path of our expected value to meet the given
+   * <code>Expectator</code>.
+   * <p>
+   * The path is a dot separated list of property names, such as <code>address.zip</code>, read
+   * through getters, record accessors or public fields. Accessors are resolved once per class and
+   * cached as <code>MethodHandle</code>s by {@link PropertyAccessors}, so confirming the same
+   * path against many values does not repeat any reflective lookup. A null value along the path
+   * reads as null.
+   *
+   * @param path       the dot separated path of the property
+   * @param expectator the <code>Expectator</code> receiving the property's value and the actual
+   *                   value
+   * @param actual     the actual value to compare the property against
+   * @param message    the failure message string passed to {@link FailureMessageBuilder}
+   *
+   * @return self
+   */
+  public ExpectationInterface<T> expectProperty(
+      String path,
+      Expectator<Object> expectator,
+      Object actual,
+      String message
+  ) {
+    var property = PropertyPath.of(path);
+
+    this.expect(
+        (e, a) -> expectator.test(property.read(e), a),
+        actual,
+        message
+    );
+
+    return this;
+  }
+
+  /**
+   * Expect the property at the given path of our expected value to equal the given value.
+   *
+   * @param path   the dot separated path of the property
+   * @param actual the value we expect the property to equal
+   *
+   * @return self
+   */
+  public ExpectationInterface<T> expectPropertyEquals(String path, Object actual) {
+    return this.expectProperty(
+        path,
+        Objects::equals,
+        actual,
+        "expected {expected} to have " + path + " equal to {actual}"
+    );
+  }
+
   /**
    * Establish an {@link Expectator} lambda expression which receives two arguments (the expected
    * value and the actual value) and returns whether the expectation passes.
@@ -174,18 +326,46 @@ public class Expectation<T> implements ExpectationInterface<T> {
       Object actual,
       String message
   ) {
-    var expectationEntry = new ExpectatorEntry<>(
-        this,
-        expectator,
-        actual,
-        message
-    );
-
-    this.expectatorEntries.add(expectationEntry);
+    this.expectatorEntries.add(this.newEntry(expectator, actual, message));
 
     return this;
   }
 
+  /**
+   * Get an entry for the given expectator, re-arming a recycled entry when one is available.
+   *
+   * @param expectator the <code>Expectator</code> to call when confirming our expectation
+   * @param actual     the actual value to compare our expected value against
+   * @param message    the failure message string
+   *
+   * @return an entry holding the given expectator
+   */
+  ExpectatorEntry<T> newEntry(Expectator<T> expectator, Object actual, String message) {
+    int last = this.recycledEntries.size() - 1;
+
+    if (last < 0) {
+      return new ExpectatorEntry<>(this, expectator, actual, message);
+    }
+
+    return this.recycledEntries.remove(last).rearm(expectator, actual, message);
+  }
+
+  /**
+   * Remove every expectator from this <code>Expectation</code> so it can be re-armed with new
+   * expectators and a new expected value.
+   * <p>
+   * The entries removed are pooled by this <code>Expectation</code> and re-armed by later
+   * <code>expect</code> calls; once as many expectators as before have been established again,
+   * a reset and re-armed expectation no longer allocates. Combined with non-capturing
+   * expectators, such as those of {@link IntExpectation}, a long-lived expectation can be
+   * confirmed in a hot loop without producing garbage.
+   * <p>
+   * The expected value is left untouched.
+   */
+  public void reset() {
+    this.expectatorEntries.transferTo(this.recycledEntries);
+  }
+
   /**
    * Set the expected value to be used when this <code>Expectation</code>'s expectators perform
    * their expectations.
@@ -205,6 +385,30 @@ public class Expectation<T> implements ExpectationInterface<T> {
     return this.expectedValue;
   }
 
+  /**
+   * Record failures with the given monitor rather than throwing an {@link ExpectatorException}.
+   * <p>
+   * The monitor should be set before the expectation is shared with the threads confirming it.
+   *
+   * @param failureMonitor the monitor to record failures with, or null to throw them again
+   *
+   * @return self
+   */
+  public Expectation<T> setFailureMonitor(FailureMonitor failureMonitor) {
+    this.failureMonitor = failureMonitor;
+
+    return this;
+  }
+
+  /**
+   * Get the monitor failures are recorded with.
+   *
+   * @return the failure monitor or null when failures are thrown
+   */
+  public FailureMonitor getFailureMonitor() {
+    return this.failureMonitor;
+  }
+
   /**
    * Get the name of this <code>Expectation</code>.
    *
@@ -216,15 +420,103 @@ public class Expectation<T> implements ExpectationInterface<T> {
 
   /**
    * Perform confirmation of all expectators associated with this <code>Expectation</code>.
+   * <p>
+   * While a Flight Recorder recording is running, an {@link ExpectationConfirmEvent} is emitted.
    */
   @Override public void confirm() {
-    if (this.expectatorEntries.isEmpty()) {
+    if (!this.hasExpectators()) {
       throw new ExpectatorException(
           this,
           NO_EXPECTATOR_ENTRIES_FOUND
       );
     }
 
+    if (!FlightRecording.isActive()) {
+      this.confirmMonitored();
+
+      return;
+    }
+
+    ExpectationConfirmEvent.record(
+        this.getName(),
+        this.getExpectatorCount(),
+        this::confirmMonitored
+    );
+  }
+
+  /**
+   * Confirm every expectator, recording failures with the failure monitor when one is set.
+   *
+   * @return whether every expectator passed
+   */
+  private boolean confirmMonitored() {
+    var monitor = this.failureMonitor;
+
+    if (monitor != null) {
+      return this.confirmExpectators(monitor);
+    }
+
+    this.confirmExpectators();
+
+    return true;
+  }
+
+  /**
+   * Freeze the name and the expectators currently established for this <code>Expectation</code>
+   * into an immutable {@link ExpectationSpec}.
+   * <p>
+   * The spec can be confirmed against any number of expected values from any number of threads;
+   * expectators established on this <code>Expectation</code> afterwards do not affect it.
+   *
+   * @return an immutable spec of this expectation
+   */
+  public ExpectationSpec<T> toSpec() {
+    return new ExpectationSpec<>(this.getName(), this.getExpectators());
+  }
+
+  /**
+   * Get the expectators established for this <code>Expectation</code>.
+   *
+   * @return the expectators
+   */
+  Collection<ExpectatorEntry<T>> getExpectators() {
+    return this.expectatorEntries;
+  }
+
+  /**
+   * Whether any expectators have been established for this <code>Expectation</code>.
+   *
+   * @return true when there is at least one expectator to confirm
+   */
+  boolean hasExpectators() {
+    return !this.expectatorEntries.isEmpty();
+  }
+
+  /**
+   * Get the number of expectators established for this <code>Expectation</code>.
+   *
+   * @return the number of expectators
+   */
+  int getExpectatorCount() {
+    return this.expectatorEntries.size();
+  }
+
+  /**
+   * Confirm every expectator established for this <code>Expectation</code>.
+   */
+  void confirmExpectators() {
     this.expectatorEntries.confirm();
   }
-}
\ No newline at end of file
+
+  /**
+   * Confirm every expectator established for this <code>Expectation</code>, recording failures
+   * with the given monitor.
+   *
+   * @param monitor the monitor failures are recorded with
+   *
+   * @return whether every expectator passed
+   */
+  boolean confirmExpectators(FailureMonitor monitor) {
+    return this.expectatorEntries.confirm(monitor);
+  }
+}
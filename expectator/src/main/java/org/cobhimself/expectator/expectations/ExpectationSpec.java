@@ -0,0 +1,160 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.expectations;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.cobhimself.expectator.ExpectatorEntry;
+import org.cobhimself.expectator.exceptions.ExpectatorException;
+import org.cobhimself.expectator.jfr.ExpectationConfirmEvent;
+import org.cobhimself.expectator.jfr.FlightRecording;
+import org.cobhimself.expectator.monitoring.FailureMonitor;
+
+/**
+ * An immutable expectation: a name and a frozen set of expectators, without an expected value.
+ * <p>
+ * Specs are created through {@link Expectation#toSpec()}. Rather than holding an expected value,
+ * the value is supplied on each call to {@link #confirm(Object)}, so a single spec can be built
+ * once and shared by any number of threads, each confirming its own values. Confirmation neither
+ * locks nor allocates any entry structure.
+ *
+ * @param <T> the type of value expectators will work with.
+ */
+public final class ExpectationSpec<T> {
+  private final String name;
+  private final List<ExpectatorEntry<T>> expectators;
+
+  /**
+   * Construct an <code>ExpectationSpec</code> holding a copy of the given expectators.
+   *
+   * @param name        the name of the expectation
+   * @param expectators the expectators to freeze
+   */
+  ExpectationSpec(String name, Collection<ExpectatorEntry<T>> expectators) {
+    this.name = name;
+    //Copy the entries themselves; the expectation's entries are re-armed when it is reset
+    this.expectators = expectators.stream()
+        .map(ExpectatorEntry::frozenCopy)
+        .collect(Collectors.toUnmodifiableList());
+  }
+
+  /**
+   * Get the name of this spec.
+   *
+   * @return the name of the expectation this spec was created from
+   */
+  public String getName() {
+    return this.name;
+  }
+
+  /**
+   * Get the expectators frozen into this spec.
+   * <p>
+   * The entries are frozen: re-arming them throws an <code>IllegalStateException</code>.
+   *
+   * @return an immutable list of the expectators
+   */
+  public List<ExpectatorEntry<T>> getExpectators() {
+    return this.expectators;
+  }
+
+  /**
+   * Whether the given expected value meets every expectator of this spec.
+   *
+   * @param expectedValue the value to test
+   *
+   * @return true when every expectator passes
+   */
+  public boolean test(T expectedValue) {
+    for (int i = 0; i < this.expectators.size(); i++) {
+      if (!this.expectators.get(i).test(expectedValue)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Confirm every expectator of this spec against the given expected value.
+   *
+   * @param expectedValue the value to confirm
+   *
+   * @throws ExpectatorException when an expectator fails or the spec has no expectators
+   */
+  public void confirm(T expectedValue) {
+    if (this.expectators.isEmpty()) {
+      throw new ExpectatorException(this.name, Expectation.NO_EXPECTATOR_ENTRIES_FOUND);
+    }
+
+    if (!FlightRecording.isActive()) {
+      this.confirmExpectators(expectedValue);
+
+      return;
+    }
+
+    ExpectationConfirmEvent.record(this.name, this.expectators.size(), () -> {
+      this.confirmExpectators(expectedValue);
+
+      return true;
+    });
+  }
+
+  /**
+   * Confirm every expectator of this spec against the given expected value, recording failures
+   * with the given monitor instead of throwing. Expectators which throw are recorded as failures.
+   *
+   * @param expectedValue the value to confirm
+   * @param monitor       the monitor failures are recorded with
+   *
+   * @return whether every expectator passed
+   *
+   * @throws ExpectatorException when the spec has no expectators
+   */
+  public boolean confirm(T expectedValue, FailureMonitor monitor) {
+    if (this.expectators.isEmpty()) {
+      throw new ExpectatorException(this.name, Expectation.NO_EXPECTATOR_ENTRIES_FOUND);
+    }
+
+    boolean passed = true;
+
+    for (int i = 0; i < this.expectators.size(); i++) {
+      passed &= this.expectators.get(i).confirm(expectedValue, monitor);
+    }
+
+    return passed;
+  }
+
+  private void confirmExpectators(T expectedValue) {
+    for (int i = 0; i < this.expectators.size(); i++) {
+      var expectator = this.expectators.get(i);
+
+      if (!expectator.test(expectedValue)) {
+        throw new ExpectatorException(this.name, expectator.outcomeDetails(expectedValue));
+      }
+    }
+  }
+}
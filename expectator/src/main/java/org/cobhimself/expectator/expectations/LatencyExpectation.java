@@ -0,0 +1,214 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.expectations;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+import org.cobhimself.expectator.DetailedExpectator;
+import org.cobhimself.expectator.metrics.LatencyHistogram;
+import org.cobhimself.expectator.performance.Blackhole;
+
+/**
+ * An {@link Expectation} which performs expectations against the latencies of an action.
+ * <p>
+ * The action is run, on the confirming thread, through a number of warmup iterations, giving the
+ * JIT the chance to compile it, and then through the measurement iterations, each of which is
+ * timed with <code>System.nanoTime</code> and recorded into a {@link LatencyHistogram}. That
+ * histogram becomes the expected value. Results the action computes should be handed to the
+ * {@link Blackhole} it is given so the work producing them is not optimized away.
+ * <p>
+ * Measurement happens on the first confirmation, or earlier through {@link #measure()}; failure
+ * messages include a summary of the measured distribution.
+ */
+public class LatencyExpectation extends Expectation<LatencyHistogram> {
+  public static final int DEFAULT_WARMUP_ITERATIONS = 1_000;
+  public static final int DEFAULT_MEASUREMENT_ITERATIONS = 10_000;
+
+  private final Consumer<Blackhole> action;
+  private int warmupIterations = DEFAULT_WARMUP_ITERATIONS;
+  private int measurementIterations = DEFAULT_MEASUREMENT_ITERATIONS;
+
+  /**
+   * Construct a <code>LatencyExpectation</code> with latencies already measured.
+   *
+   * @param expectedValue the measured latencies
+   * @param name          the name of the <code>LatencyExpectation</code>
+   */
+  public LatencyExpectation(LatencyHistogram expectedValue, String name) {
+    super(expectedValue, name);
+    this.action = null;
+  }
+
+  /**
+   * Construct a <code>LatencyExpectation</code> measuring the given action.
+   *
+   * @param action the action to measure, given a blackhole to consume its results
+   * @param name   the name of the <code>LatencyExpectation</code>
+   */
+  public LatencyExpectation(Consumer<Blackhole> action, String name) {
+    super(name);
+
+    if (action == null) {
+      throw new IllegalArgumentException("The action cannot be null");
+    }
+
+    this.action = action;
+  }
+
+  /**
+   * Set the number of times the action is run before measuring.
+   *
+   * @param warmupIterations the number of warmup iterations
+   *
+   * @return self
+   */
+  public LatencyExpectation setWarmupIterations(int warmupIterations) {
+    if (warmupIterations < 0) {
+      throw new IllegalArgumentException("The warmup iterations cannot be negative");
+    }
+
+    this.warmupIterations = warmupIterations;
+
+    return this;
+  }
+
+  /**
+   * Set the number of times the action is run and measured.
+   *
+   * @param measurementIterations the number of measurement iterations
+   *
+   * @return self
+   */
+  public LatencyExpectation setMeasurementIterations(int measurementIterations) {
+    if (measurementIterations < 1) {
+      throw new IllegalArgumentException("The measurement iterations must be at least 1");
+    }
+
+    this.measurementIterations = measurementIterations;
+
+    return this;
+  }
+
+  /**
+   * Warm up and measure the action, replacing any latencies measured before.
+   *
+   * @return self
+   */
+  public LatencyExpectation measure() {
+    if (this.action == null) {
+      throw new IllegalStateException("There is no action to measure");
+    }
+
+    var blackhole = new Blackhole();
+    var histogram = new LatencyHistogram();
+
+    for (int i = 0; i < this.warmupIterations; i++) {
+      this.action.accept(blackhole);
+    }
+
+    for (int i = 0; i < this.measurementIterations; i++) {
+      long start = System.nanoTime();
+      this.action.accept(blackhole);
+      histogram.record(System.nanoTime() - start);
+    }
+
+    this.setExpectedValue(histogram);
+
+    return this;
+  }
+
+  /**
+   * Expect the given percentile of the measured latencies to be within the given duration; for
+   * example, 99 for "completes within the duration 99% of the time".
+   *
+   * @param actual     the longest latency we expect at the percentile
+   * @param percentile the percentile, greater than 0 and at most 100
+   *
+   * @return self
+   */
+  public LatencyExpectation expectCompletesWithin(Duration actual, double percentile) {
+    if (!(percentile > 0 && percentile <= 100)) {
+      throw new IllegalArgumentException("The percentile must be greater than 0 and at most 100");
+    }
+
+    long bound = actual.toNanos();
+
+    this.expect(
+        DetailedExpectator.of(
+            (e, a) -> e.getValueAtPercentile(percentile) <= bound,
+            (e, a) -> e.getValueAtPercentile(percentile) + "ns (" + e + ")"
+        ),
+        actual,
+        "expected p" + percentile + " latency of at most " + bound + "ns but it was {details}"
+    );
+
+    return this;
+  }
+
+  /**
+   * Expect every measured latency to be within the given duration.
+   *
+   * @param actual the longest latency we expect
+   *
+   * @return self
+   */
+  public LatencyExpectation expectCompletesWithin(Duration actual) {
+    return this.expectCompletesWithin(actual, 100);
+  }
+
+  /**
+   * Expect the mean of the measured latencies to be within the given duration.
+   *
+   * @param actual the longest mean latency we expect
+   *
+   * @return self
+   */
+  public LatencyExpectation expectMeanWithin(Duration actual) {
+    long bound = actual.toNanos();
+
+    this.expect(
+        DetailedExpectator.of(
+            (e, a) -> e.getMean() <= bound,
+            (e, a) -> String.format("%.1fns (%s)", e.getMean(), e)
+        ),
+        actual,
+        "expected a mean latency of at most " + bound + "ns but it was {details}"
+    );
+
+    return this;
+  }
+
+  /**
+   * Measure the action, when it has not been measured yet, and confirm the expectations against
+   * its latencies.
+   */
+  @Override public void confirm() {
+    if (this.getExpectedValue() == null && this.action != null && this.hasExpectators()) {
+      this.measure();
+    }
+
+    super.confirm();
+  }
+}
@@ -0,0 +1,196 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.expectations;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.cobhimself.expectator.DetailedExpectator;
+import org.cobhimself.expectator.performance.HeapHistogram;
+
+/**
+ * An {@link Expectation} which performs expectations against the reachability of an object, to
+ * catch caches, listeners and other structures which retain objects they should let go of.
+ * <p>
+ * The object is only ever held through a <code>WeakReference</code> registered with a
+ * <code>ReferenceQueue</code>; the expectation itself never keeps it alive. When the object has
+ * already been collected, confirming costs a single read. Otherwise the garbage collector is
+ * nudged with <code>System.gc()</code> and the queue is waited on, with the wait doubling up to
+ * a bound, until the reference is enqueued or the deadline passes.
+ * <p>
+ * On failure, a summary of the live heap's class histogram, showing the largest classes and the
+ * object's class, may be added to the message; see {@link HeapHistogram}.
+ */
+public class LeakExpectation extends Expectation<Reference<?>> {
+  public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(5);
+  public static final int HISTOGRAM_TOP_CLASSES = 10;
+
+  private static final long FIRST_POLL_MILLIS = 5;
+  private static final long MAX_POLL_MILLIS = 100;
+
+  private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+  private Class<?> referentType = Object.class;
+  private boolean histogramOnFailure = false;
+
+  /**
+   * Construct a <code>LeakExpectation</code> tracking the given object.
+   *
+   * @param referent the object expected to become unreachable
+   * @param name     the name of the <code>LeakExpectation</code>
+   */
+  public LeakExpectation(Object referent, String name) {
+    super(name);
+    this.track(referent);
+  }
+
+  /**
+   * Construct a <code>LeakExpectation</code> without specifying the object up front.
+   *
+   * @param name the name of the <code>LeakExpectation</code>
+   */
+  public LeakExpectation(String name) {
+    super(name);
+  }
+
+  /**
+   * Track the given object, replacing any object tracked before.
+   *
+   * @param referent the object expected to become unreachable
+   *
+   * @return self
+   */
+  public LeakExpectation track(Object referent) {
+    if (referent == null) {
+      throw new IllegalArgumentException("The referent cannot be null");
+    }
+
+    this.referentType = referent.getClass();
+    this.setExpectedValue(new WeakReference<>(referent, this.queue));
+
+    return this;
+  }
+
+  /**
+   * Set whether a failure message includes a summary of the live heap's class histogram.
+   *
+   * @param histogramOnFailure whether to summarize the heap on failure
+   *
+   * @return self
+   */
+  public LeakExpectation setHistogramOnFailure(boolean histogramOnFailure) {
+    this.histogramOnFailure = histogramOnFailure;
+
+    return this;
+  }
+
+  /**
+   * Expect the tracked object to be collected within the default timeout.
+   *
+   * @return self
+   */
+  public LeakExpectation expectEventuallyCollected() {
+    return this.expectEventuallyCollected(DEFAULT_TIMEOUT);
+  }
+
+  /**
+   * Expect the tracked object to be collected within the given timeout.
+   *
+   * @param actual how long to wait for the object to be collected
+   *
+   * @return self
+   */
+  public LeakExpectation expectEventuallyCollected(Duration actual) {
+    long timeout = actual.toNanos();
+
+    this.expect(
+        DetailedExpectator.of(
+            (e, a) -> this.awaitCollection(e, timeout),
+            (e, a) -> "the " + this.referentType.getName() + " is still reachable"
+                + this.describeHeap()
+        ),
+        actual,
+        //The class is named at failure time as the object may be tracked after this call
+        "expected the tracked object to be collected within " + actual.toMillis()
+            + "ms but {details}"
+    );
+
+    return this;
+  }
+
+  /**
+   * Wait for a reference to be cleared, nudging the garbage collector meanwhile.
+   *
+   * @param reference the reference
+   * @param timeout   how long to wait, in nanoseconds
+   *
+   * @return whether the reference was cleared in time
+   */
+  private boolean awaitCollection(Reference<?> reference, long timeout) {
+    if (reference.get() == null) {
+      return true;
+    }
+
+    long deadline = System.nanoTime() + timeout;
+    long poll = FIRST_POLL_MILLIS;
+
+    try {
+      for (long remaining = timeout; remaining > 0; remaining = deadline - System.nanoTime()) {
+        System.gc();
+
+        long wait = Math.max(1, Math.min(poll, TimeUnit.NANOSECONDS.toMillis(remaining)));
+
+        //References registered elsewhere are never enqueued here, so this is a plain sleep
+        if (this.queue.remove(wait) == reference || reference.get() == null) {
+          return true;
+        }
+
+        poll = Math.min(poll * 2, MAX_POLL_MILLIS);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    return reference.get() == null;
+  }
+
+  /**
+   * Describe the live heap for a failure message when asked to.
+   *
+   * @return the summary of the heap's class histogram, or nothing
+   */
+  private String describeHeap() {
+    if (!this.histogramOnFailure) {
+      return "";
+    }
+
+    String summary = HeapHistogram.summarize(this.referentType, HISTOGRAM_TOP_CLASSES);
+
+    return summary == null
+        ? "; no heap histogram is available on this JVM"
+        : "; live heap:\n" + summary;
+  }
+}
@@ -0,0 +1,261 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.expectations;
+
+import java.util.Arrays;
+import org.cobhimself.expectator.DetailedExpectator;
+
+/**
+ * An {@link Expectation} which performs expectations against <code>long[]</code> values without
+ * boxing their elements.
+ * <p>
+ * Comparisons use the range overloads of <code>Arrays.mismatch</code> which the JIT compiles to
+ * vectorized intrinsics. Failure messages give the index of the first mismatch along with the
+ * elements around it rather than the whole arrays. Range checks over every element are made
+ * through {@link ArrayScans}.
+ */
+public class LongArrayExpectation extends Expectation<long[]> {
+
+  /**
+   * Construct a <code>LongArrayExpectation</code> with a known expected value up front.
+   *
+   * @param expectedValue the value our expectation expects
+   * @param name          the name of the <code>LongArrayExpectation</code>
+   */
+  public LongArrayExpectation(long[] expectedValue, String name) {
+    super(expectedValue, name);
+  }
+
+  /**
+   * Construct a <code>LongArrayExpectation</code> without specifying the expected value up front.
+   *
+   * @param name the name of the <code>LongArrayExpectation</code>
+   */
+  public LongArrayExpectation(String name) {
+    super(name);
+  }
+
+  /**
+   * Expect our expected array to hold the same elements as the given array.
+   *
+   * @param actual the array we expect to be equal to our expected array
+   *
+   * @return self
+   */
+  @Override public LongArrayExpectation expectEquals(long[] actual) {
+    this.expect(
+        DetailedExpectator.of(
+            (e, a) -> Arrays.equals(e, (long[]) a),
+            (e, a) -> describe(e, 0, e == null ? 0 : e.length, (long[]) a)
+        ),
+        actual,
+        "expected arrays to be equal but {details}"
+    );
+
+    return this;
+  }
+
+  /**
+   * Expect our expected array to not hold the same elements as the given array.
+   *
+   * @param actual the array we expect to not be equal to our expected array
+   *
+   * @return self
+   */
+  @Override public LongArrayExpectation expectNotEquals(long[] actual) {
+    this.expect(
+        (e, a) -> !Arrays.equals(e, (long[]) a),
+        actual,
+        "expected arrays to not be equal but they are"
+    );
+
+    return this;
+  }
+
+  /**
+   * Expect our expected array to begin with the elements of the given array.
+   *
+   * @param actual the elements we expect our expected array to start with
+   *
+   * @return self
+   */
+  public LongArrayExpectation expectStartsWith(long[] actual) {
+    return this.expectRangeEquals(0, actual);
+  }
+
+  /**
+   * Expect the elements of our expected array, starting at the given index, to be the elements of
+   * the given array.
+   *
+   * @param fromIndex the index of our expected array the given elements should start at
+   * @param actual    the elements we expect to find
+   *
+   * @return self
+   */
+  public LongArrayExpectation expectRangeEquals(int fromIndex, long[] actual) {
+    this.expect(
+        DetailedExpectator.of(
+            (e, a) -> rangeEquals(e, fromIndex, (long[]) a),
+            (e, a) -> ArrayMismatch.inBounds(fromIndex, ((long[]) a).length, e.length)
+                ? describe(e, fromIndex, fromIndex + ((long[]) a).length, (long[]) a)
+                : ArrayMismatch.outOfBounds(fromIndex, ((long[]) a).length, e.length)
+        ),
+        actual,
+        "expected the range starting at " + fromIndex + " to equal the given elements but {details}"
+    );
+
+    return this;
+  }
+
+  /**
+   * Expect our expected array to have the given length.
+   *
+   * @param actual the length we expect
+   *
+   * @return self
+   */
+  public LongArrayExpectation expectLength(int actual) {
+    this.expect(
+        (e, a) -> e.length == (Integer) a,
+        actual,
+        "expected an array of length {actual}"
+    );
+
+    return this;
+  }
+
+  /**
+   * Expect every element of our expected array to be between the given values, inclusive.
+   *
+   * @param lo the lowest value we expect
+   * @param hi the highest value we expect
+   *
+   * @return self
+   */
+  public LongArrayExpectation expectAllBetween(long lo, long hi) {
+    return this.expectAllInRange(lo, hi, "between " + lo + " and " + hi);
+  }
+
+  /**
+   * Expect every element of our expected array to be greater than the given value.
+   *
+   * @param actual the value every element should be greater than
+   *
+   * @return self
+   */
+  public LongArrayExpectation expectAllGreaterThan(long actual) {
+    //Nothing is greater than the largest long; the empty range fails every element
+    return actual == Long.MAX_VALUE
+        ? this.expectAllInRange(Long.MAX_VALUE, Long.MIN_VALUE, "greater than " + actual)
+        : this.expectAllInRange(actual + 1, Long.MAX_VALUE, "greater than " + actual);
+  }
+
+  /**
+   * Expect every element of our expected array to be less than the given value.
+   *
+   * @param actual the value every element should be less than
+   *
+   * @return self
+   */
+  public LongArrayExpectation expectAllLessThan(long actual) {
+    //Nothing is less than the smallest long; the empty range fails every element
+    return actual == Long.MIN_VALUE
+        ? this.expectAllInRange(Long.MAX_VALUE, Long.MIN_VALUE, "less than " + actual)
+        : this.expectAllInRange(Long.MIN_VALUE, actual - 1, "less than " + actual);
+  }
+
+  /**
+   * Expect every element of our expected array to be within the given inclusive range.
+   *
+   * @param lo          the lowest value allowed
+   * @param hi          the highest value allowed
+   * @param description the description of the range for the failure message
+   *
+   * @return self
+   */
+  private LongArrayExpectation expectAllInRange(long lo, long hi, String description) {
+    this.expect(
+        DetailedExpectator.of(
+            (e, a) -> ArrayScans.firstOutside(e, lo, hi) < 0,
+            (e, a) -> {
+              int index = ArrayScans.firstOutside(e, lo, hi);
+
+              return "element " + index + " is " + e[index];
+            }
+        ),
+        null,
+        "expected every element to be " + description + " but {details}"
+    );
+
+    return this;
+  }
+
+  /**
+   * Whether the elements of the expected array starting at the given index are the given elements.
+   *
+   * @param expected  the expected array
+   * @param fromIndex the index the elements should start at
+   * @param actual    the elements
+   *
+   * @return true when the range is within the expected array and equal to the elements
+   */
+  private static boolean rangeEquals(long[] expected, int fromIndex, long[] actual) {
+    return ArrayMismatch.inBounds(fromIndex, actual.length, expected.length)
+        && Arrays.mismatch(
+            expected, fromIndex, fromIndex + actual.length, actual, 0, actual.length
+        ) < 0;
+  }
+
+  /**
+   * Describe the first mismatch between a range of the expected array and the actual array.
+   *
+   * @param expected     the expected array
+   * @param expectedFrom the start of the range
+   * @param expectedTo   the end of the range, exclusive
+   * @param actual       the actual array
+   *
+   * @return the description
+   */
+  private static String describe(
+      long[] expected,
+      int expectedFrom,
+      int expectedTo,
+      long[] actual
+  ) {
+    if (expected == null || actual == null) {
+      return expected == null ? "the expected array is null" : "the actual array is null";
+    }
+
+    return ArrayMismatch.describe(
+        Arrays.mismatch(expected, expectedFrom, expectedTo, actual, 0, actual.length),
+        (builder, i) -> builder.append(expected[i]),
+        expectedFrom,
+        expectedTo - expectedFrom,
+        (builder, i) -> builder.append(actual[i]),
+        0,
+        actual.length
+    );
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.expectations;
+
+import org.cobhimself.expectator.DetailedExpectator;
+import org.cobhimself.expectator.graph.HeapLayout;
+import org.cobhimself.expectator.graph.RetainedSize;
+
+/**
+ * An {@link Expectation} which performs expectations against the memory footprint of an object
+ * graph; for example, that an index of a million keys stays under 64 MB.
+ * <p>
+ * The footprint is the deep retained size of the expected value estimated by
+ * {@link RetainedSize}, with the object header, reference and alignment sizes of the running JVM
+ * unless another {@link HeapLayout} is set. Each expectator walks the graph afresh, so an
+ * {@link ExpectationSpec} of this expectation always sees the graph as it is and may be confirmed
+ * from any number of threads; the graph is walked again to describe a failure.
+ */
+public class RetainedSizeExpectation extends Expectation<Object> {
+  private HeapLayout layout = HeapLayout.current();
+
+  /**
+   * Construct a <code>RetainedSizeExpectation</code>.
+   *
+   * @param expectedValue the root of the object graph we expect against
+   * @param name          the name of the <code>RetainedSizeExpectation</code>
+   */
+  public RetainedSizeExpectation(Object expectedValue, String name) {
+    super(expectedValue, name);
+  }
+
+  /**
+   * Construct a <code>RetainedSizeExpectation</code> without specifying the expected value up
+   * front.
+   *
+   * @param name the name of the <code>RetainedSizeExpectation</code>
+   */
+  public RetainedSizeExpectation(String name) {
+    super(name);
+  }
+
+  /**
+   * Set the heap layout sizes are estimated with; defaults to the layout of the running JVM.
+   *
+   * @param layout the heap layout
+   *
+   * @return self
+   */
+  public RetainedSizeExpectation setHeapLayout(HeapLayout layout) {
+    if (layout == null) {
+      throw new IllegalArgumentException("The heap layout cannot be null");
+    }
+
+    this.layout = layout;
+
+    return this;
+  }
+
+  /**
+   * Get the estimated retained size of our expected value.
+   *
+   * @return the estimated retained size
+   */
+  public RetainedSize getRetainedSize() {
+    return RetainedSize.of(this.getExpectedValue(), this.layout);
+  }
+
+  /**
+   * Expect the retained size of our expected value to be at most the given number of bytes.
+   *
+   * @param actual the maximum number of bytes
+   *
+   * @return self
+   */
+  public RetainedSizeExpectation expectRetainedSizeAtMost(long actual) {
+    if (actual < 0) {
+      throw new IllegalArgumentException("The number of bytes cannot be negative");
+    }
+
+    this.expect(
+        DetailedExpectator.of(
+            (e, a) -> RetainedSize.of(e, this.layout).getBytes() <= (Long) a,
+            (e, a) -> RetainedSize.of(e, this.layout).toString()
+        ),
+        actual,
+        "expected a retained size of at most {actual} bytes but estimated {details}"
+    );
+
+    return this;
+  }
+}
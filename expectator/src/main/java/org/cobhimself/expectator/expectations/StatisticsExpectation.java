@@ -0,0 +1,298 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.expectations;
+
+import java.util.function.ToDoubleFunction;
+import org.cobhimself.expectator.DetailedExpectator;
+import org.cobhimself.expectator.statistics.KolmogorovSmirnov;
+import org.cobhimself.expectator.statistics.SampleStatistics;
+
+/**
+ * An {@link Expectation} which performs expectations against the {@link SampleStatistics} of a
+ * numeric sample: its count, mean, spread and quantiles.
+ * <p>
+ * The statistics are gathered in a single pass over an array, stream or iterator, so large
+ * samples never need to be sorted or held. Quantiles are estimates within the relative accuracy
+ * of the statistics' sketch. Failure messages give the measured value along with a summary of
+ * the sample.
+ */
+public class StatisticsExpectation extends Expectation<SampleStatistics> {
+
+  /**
+   * Construct a <code>StatisticsExpectation</code> with a known expected value up front.
+   *
+   * @param expectedValue the value our expectation expects
+   * @param name          the name of the <code>StatisticsExpectation</code>
+   */
+  public StatisticsExpectation(SampleStatistics expectedValue, String name) {
+    super(expectedValue, name);
+  }
+
+  /**
+   * Construct a <code>StatisticsExpectation</code> without specifying the expected value up front.
+   *
+   * @param name the name of the <code>StatisticsExpectation</code>
+   */
+  public StatisticsExpectation(String name) {
+    super(name);
+  }
+
+  /**
+   * Expect the sample to hold the given number of values.
+   *
+   * @param actual the number of values we expect
+   *
+   * @return self
+   */
+  public StatisticsExpectation expectCount(long actual) {
+    this.expect(
+        DetailedExpectator.of(
+            (e, a) -> e.getCount() == (Long) a,
+            (e, a) -> String.valueOf(e.getCount())
+        ),
+        actual,
+        "expected the count to be {actual} but it was {details}"
+    );
+
+    return this;
+  }
+
+  /**
+   * Expect the mean of the sample to be between the given values, inclusive.
+   *
+   * @param lo the lowest mean we expect
+   * @param hi the highest mean we expect
+   *
+   * @return self
+   */
+  public StatisticsExpectation expectMeanBetween(double lo, double hi) {
+    return this.expectStatistic(
+        "mean",
+        SampleStatistics::getMean,
+        lo,
+        hi,
+        "to be between " + lo + " and " + hi
+    );
+  }
+
+  /**
+   * Expect the sample standard deviation to be at most the given value.
+   *
+   * @param actual the largest standard deviation we expect
+   *
+   * @return self
+   */
+  public StatisticsExpectation expectStandardDeviationAtMost(double actual) {
+    return this.expectStatistic(
+        "standard deviation",
+        SampleStatistics::getStandardDeviation,
+        Double.NEGATIVE_INFINITY,
+        actual,
+        "to be at most " + actual
+    );
+  }
+
+  /**
+   * Expect the smallest value of the sample to be at least the given value.
+   *
+   * @param actual the smallest value we expect
+   *
+   * @return self
+   */
+  public StatisticsExpectation expectMinAtLeast(double actual) {
+    return this.expectStatistic(
+        "minimum",
+        s -> s.getSummary().getMin(),
+        actual,
+        Double.POSITIVE_INFINITY,
+        "to be at least " + actual
+    );
+  }
+
+  /**
+   * Expect the largest value of the sample to be at most the given value.
+   *
+   * @param actual the largest value we expect
+   *
+   * @return self
+   */
+  public StatisticsExpectation expectMaxAtMost(double actual) {
+    return this.expectStatistic(
+        "maximum",
+        s -> s.getSummary().getMax(),
+        Double.NEGATIVE_INFINITY,
+        actual,
+        "to be at most " + actual
+    );
+  }
+
+  /**
+   * Expect the estimated quantile of the sample to be at most the given value; for example, a
+   * 99th percentile latency below a bound.
+   *
+   * @param quantile the quantile, between 0 and 1
+   * @param actual   the largest value we expect at the quantile
+   *
+   * @return self
+   */
+  public StatisticsExpectation expectQuantileAtMost(double quantile, double actual) {
+    return this.expectQuantileBetween(quantile, Double.NEGATIVE_INFINITY, actual);
+  }
+
+  /**
+   * Expect the estimated quantile of the sample to be at least the given value.
+   *
+   * @param quantile the quantile, between 0 and 1
+   * @param actual   the smallest value we expect at the quantile
+   *
+   * @return self
+   */
+  public StatisticsExpectation expectQuantileAtLeast(double quantile, double actual) {
+    return this.expectQuantileBetween(quantile, actual, Double.POSITIVE_INFINITY);
+  }
+
+  /**
+   * Expect the estimated quantile of the sample to be between the given values, inclusive.
+   *
+   * @param quantile the quantile, between 0 and 1
+   * @param lo       the lowest value we expect at the quantile
+   * @param hi       the highest value we expect at the quantile
+   *
+   * @return self
+   */
+  public StatisticsExpectation expectQuantileBetween(double quantile, double lo, double hi) {
+    if (!(quantile >= 0 && quantile <= 1)) {
+      throw new IllegalArgumentException("The quantile must be between 0 and 1");
+    }
+
+    String range = lo == Double.NEGATIVE_INFINITY
+        ? "to be at most " + hi
+        : hi == Double.POSITIVE_INFINITY
+            ? "to be at least " + lo
+            : "to be between " + lo + " and " + hi;
+
+    return this.expectStatistic(
+        quantile + " quantile",
+        s -> s.getQuantile(quantile),
+        lo,
+        hi,
+        range
+    );
+  }
+
+  /**
+   * Expect the sample and the given sample to come from the same distribution, according to a
+   * two-sample {@link KolmogorovSmirnov} test approximated from their quantile sketches.
+   * <p>
+   * This is the mode for samples too large to hold; the distance between the samples is accurate
+   * to the relative accuracy of the sketches, which must match.
+   *
+   * @param actual       the statistics of the sample we expect to come from the same
+   *                     distribution
+   * @param significance the significance level of the test, such as 0.05
+   *
+   * @return self
+   */
+  public StatisticsExpectation expectSameDistributionAs(
+      SampleStatistics actual,
+      double significance
+  ) {
+    if (!(significance > 0 && significance < 1)) {
+      throw new IllegalArgumentException("The significance must be between 0 and 1");
+    }
+
+    this.expect(
+        DetailedExpectator.of(
+            (e, a) -> pValue(e, (SampleStatistics) a) >= significance,
+            (e, a) -> {
+              var b = (SampleStatistics) a;
+
+              return String.format(
+                  "D = %.4g with p = %.4g over %d and %d values",
+                  KolmogorovSmirnov.statistic(e.getSketch(), b.getSketch()),
+                  pValue(e, b),
+                  e.getCount(),
+                  b.getCount()
+              );
+            }
+        ),
+        actual,
+        "expected samples of the same distribution at significance " + significance
+            + " but {details}"
+    );
+
+    return this;
+  }
+
+  /**
+   * Compute the approximate p-value of the two-sample test of the given samples.
+   *
+   * @param a the statistics of the first sample
+   * @param b the statistics of the second sample
+   *
+   * @return the p-value
+   */
+  private static double pValue(SampleStatistics a, SampleStatistics b) {
+    return KolmogorovSmirnov.pValue(
+        KolmogorovSmirnov.statistic(a.getSketch(), b.getSketch()),
+        a.getCount(),
+        b.getCount()
+    );
+  }
+
+  /**
+   * Expect a statistic of the sample to be within the given inclusive range.
+   *
+   * @param name      the name of the statistic for the failure message
+   * @param statistic computes the statistic
+   * @param lo        the lowest value allowed
+   * @param hi        the highest value allowed
+   * @param range     the description of the range for the failure message
+   *
+   * @return self
+   */
+  private StatisticsExpectation expectStatistic(
+      String name,
+      ToDoubleFunction<SampleStatistics> statistic,
+      double lo,
+      double hi,
+      String range
+  ) {
+    this.expect(
+        DetailedExpectator.of(
+            (e, a) -> {
+              double value = statistic.applyAsDouble(e);
+
+              return value >= lo && value <= hi;
+            },
+            (e, a) -> statistic.applyAsDouble(e) + " (" + e + ")"
+        ),
+        null,
+        "expected the " + name + " " + range + " but it was {details}"
+    );
+
+    return this;
+  }
+}
@@ -24,6 +24,10 @@
 
 package org.cobhimself.expectator.expectations;
 
+import java.util.Objects;
+import org.cobhimself.expectator.DetailedExpectator;
+import org.cobhimself.expectator.diff.TextDiff;
+
 public class StringExpectation extends Expectation<String> {
 
   /**
@@ -45,6 +49,29 @@ public class StringExpectation extends Expectation<String> {
     super(name);
   }
 
+  /**
+   * Expect our expected value will equal the given actual value.
+   * <p>
+   * Rather than both strings, the failure message shows a bounded unified diff excerpt of the
+   * lines which differ, produced by {@link TextDiff}.
+   *
+   * @param actual the actual value
+   *
+   * @return self
+   */
+  @Override public StringExpectation expectEquals(String actual) {
+    this.expect(
+        DetailedExpectator.of(
+            Objects::equals,
+            (e, a) -> TextDiff.unified(e, (String) a)
+        ),
+        actual,
+        "expected strings to be equal\n{details}"
+    );
+
+    return this;
+  }
+
   /**
    * Expect our expected value will be the same length as the given actual value.
    *
@@ -71,7 +98,7 @@ public class StringExpectation extends Expectation<String> {
    */
   public StringExpectation expectStartsWith(String actual) {
     this.expect(
-        (e, a) -> e.startsWith(actual),
+        (e, a) -> e.startsWith((String) a),
         actual,
         "expected '{expected}' to start with '{actual}' but it does not"
     );
@@ -88,7 +115,7 @@ public class StringExpectation extends Expectation<String> {
    */
   public StringExpectation expectEndsWith(String actual) {
     this.expect(
-        (e, a) -> e.endsWith(actual),
+        (e, a) -> e.endsWith((String) a),
         actual,
         "expected '{expected}' to end with '{actual}' but it does not"
     );
@@ -105,7 +132,7 @@ public class StringExpectation extends Expectation<String> {
    */
   public StringExpectation expectContains(String actual) {
     this.expect(
-        (e, a) -> e.contains(actual),
+        (e, a) -> e.contains((String) a),
         actual,
         "expected '{expected}' to contain '{actual}' but it does not"
     );
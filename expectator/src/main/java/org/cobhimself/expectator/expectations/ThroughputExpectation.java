@@ -0,0 +1,394 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.expectations;
+
+import java.time.Duration;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import org.cobhimself.expectator.DetailedExpectator;
+import org.cobhimself.expectator.performance.ThroughputResult;
+
+/**
+ * An {@link Expectation} which performs expectations against the throughput of an action run
+ * from several threads at once, without forking a separate benchmark process.
+ * <p>
+ * The threads are released together by a barrier, run the action for the warmup duration and
+ * then for the measurement duration, counting the operations completed. Each thread counts in a
+ * local variable and publishes its total once it stops, so counting never contends. The resulting
+ * {@link ThroughputResult} becomes the expected value.
+ * <p>
+ * An operation counts when it completes within the measurement window, including one already
+ * running when the window opens; operations completing after the window closes are dropped.
+ * Telling the two apart costs each thread a {@link System#nanoTime()} per run of the action while
+ * measuring, so very cheap actions should batch several operations through a
+ * <code>LongSupplier</code>.
+ * <p>
+ * Measurement happens on the first confirmation, or earlier through {@link #measure()}; failure
+ * messages include the aggregate and per thread rates.
+ */
+public class ThroughputExpectation extends Expectation<ThroughputResult> {
+  public static final Duration DEFAULT_WARMUP = Duration.ofMillis(500);
+  public static final Duration DEFAULT_DURATION = Duration.ofSeconds(1);
+
+  private static final int WARMUP = 0;
+  private static final int MEASURE = 1;
+  private static final int STOP = 2;
+  private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+  private final LongSupplier action;
+  private int threads = Runtime.getRuntime().availableProcessors();
+  private Duration warmup = DEFAULT_WARMUP;
+  private Duration duration = DEFAULT_DURATION;
+
+  /**
+   * Construct a <code>ThroughputExpectation</code> with a throughput already measured.
+   *
+   * @param expectedValue the measured throughput
+   * @param name          the name of the <code>ThroughputExpectation</code>
+   */
+  public ThroughputExpectation(ThroughputResult expectedValue, String name) {
+    super(expectedValue, name);
+    this.action = null;
+  }
+
+  /**
+   * Construct a <code>ThroughputExpectation</code> measuring the given action; each run of the
+   * action counts as one operation.
+   *
+   * @param action the action to measure
+   * @param name   the name of the <code>ThroughputExpectation</code>
+   */
+  public ThroughputExpectation(Runnable action, String name) {
+    this(runOnce(action), name);
+  }
+
+  /**
+   * Construct a <code>ThroughputExpectation</code> measuring the given action; each run of the
+   * action returns the number of operations it completed, allowing operations to be batched.
+   *
+   * @param action the action to measure
+   * @param name   the name of the <code>ThroughputExpectation</code>
+   */
+  public ThroughputExpectation(LongSupplier action, String name) {
+    super(name);
+
+    if (action == null) {
+      throw new IllegalArgumentException("The action cannot be null");
+    }
+
+    this.action = action;
+  }
+
+  /**
+   * Count each run of a <code>Runnable</code> as one operation.
+   *
+   * @param action the action
+   *
+   * @return the action counting its runs
+   */
+  private static LongSupplier runOnce(Runnable action) {
+    if (action == null) {
+      throw new IllegalArgumentException("The action cannot be null");
+    }
+
+    return () -> {
+      action.run();
+
+      return 1;
+    };
+  }
+
+  /**
+   * Set the number of threads running the action.
+   *
+   * @param threads the number of threads
+   *
+   * @return self
+   */
+  public ThroughputExpectation setThreads(int threads) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("The number of threads must be at least 1");
+    }
+
+    this.threads = threads;
+
+    return this;
+  }
+
+  /**
+   * Set how long the action runs before measuring.
+   *
+   * @param warmup the warmup duration
+   *
+   * @return self
+   */
+  public ThroughputExpectation setWarmup(Duration warmup) {
+    if (warmup.isNegative()) {
+      throw new IllegalArgumentException("The warmup cannot be negative");
+    }
+
+    this.warmup = warmup;
+
+    return this;
+  }
+
+  /**
+   * Set how long the action is measured for.
+   *
+   * @param duration the measurement duration
+   *
+   * @return self
+   */
+  public ThroughputExpectation setDuration(Duration duration) {
+    if (duration.isNegative() || duration.isZero()) {
+      throw new IllegalArgumentException("The duration must be positive");
+    }
+
+    this.duration = duration;
+
+    return this;
+  }
+
+  /**
+   * Warm up and measure the action, replacing any throughput measured before.
+   *
+   * @return self
+   *
+   * @throws CompletionException when the action throws
+   */
+  public ThroughputExpectation measure() {
+    if (this.action == null) {
+      throw new IllegalStateException("There is no action to measure");
+    }
+
+    var run = new Run(this.threads);
+    run.start();
+
+    boolean measured = false;
+
+    try {
+      run.barrier.await();
+      sleep(this.warmup, run);
+
+      run.start = System.nanoTime();
+      run.end = run.start + this.duration.toNanos();
+
+      //A worker which threw has already stopped the run; it must not be switched back on
+      if (run.phase.compareAndSet(WARMUP, MEASURE)) {
+        sleep(this.duration, run);
+        measured = run.phase.get() == MEASURE;
+      }
+    } catch (InterruptedException | BrokenBarrierException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      run.phase.set(STOP);
+      run.join();
+    }
+
+    if (run.error.get() != null) {
+      throw new CompletionException(run.error.get());
+    }
+
+    if (!measured) {
+      throw new IllegalStateException("Interrupted while measuring throughput");
+    }
+
+    this.setExpectedValue(new ThroughputResult(run.threadOperations, run.end - run.start));
+
+    return this;
+  }
+
+  /**
+   * Expect the threads together to complete at least the given number of operations per second.
+   *
+   * @param actual the lowest rate we expect
+   *
+   * @return self
+   */
+  public ThroughputExpectation expectAtLeast(double actual) {
+    this.expect(
+        DetailedExpectator.of(
+            (e, a) -> e.getOperationsPerSecond() >= (Double) a,
+            (e, a) -> e.toString()
+        ),
+        actual,
+        "expected at least {actual} ops/s but measured {details}"
+    );
+
+    return this;
+  }
+
+  /**
+   * Expect the threads' rates to vary by at most the given fraction of their mean.
+   *
+   * @param actual the largest coefficient of variation we expect
+   *
+   * @return self
+   */
+  public ThroughputExpectation expectCoefficientOfVariationAtMost(double actual) {
+    this.expect(
+        DetailedExpectator.of(
+            (e, a) -> e.getCoefficientOfVariation() <= (Double) a,
+            (e, a) -> e.toString()
+        ),
+        actual,
+        "expected the threads' rates to vary by at most {actual} but measured {details}"
+    );
+
+    return this;
+  }
+
+  /**
+   * Measure the action, when it has not been measured yet, and confirm the expectations against
+   * its throughput.
+   */
+  @Override public void confirm() {
+    if (this.getExpectedValue() == null && this.action != null && this.hasExpectators()) {
+      this.measure();
+    }
+
+    super.confirm();
+  }
+
+  /**
+   * Sleep for the given duration, waking early should the run stop because the action threw.
+   *
+   * @param duration the duration
+   * @param run      the run being measured
+   *
+   * @throws InterruptedException when interrupted
+   */
+  private static void sleep(Duration duration, Run run) throws InterruptedException {
+    long deadline = System.nanoTime() + duration.toNanos();
+    long remaining;
+
+    while (run.phase.get() != STOP && (remaining = deadline - System.nanoTime()) > 0) {
+      TimeUnit.NANOSECONDS.sleep(Math.min(remaining, POLL_NANOS));
+    }
+  }
+
+  /**
+   * The threads of a single measurement.
+   */
+  private final class Run {
+    private final Thread[] workers;
+    private final long[] threadOperations;
+    private final CyclicBarrier barrier;
+    private final AtomicReference<Throwable> error = new AtomicReference<>();
+    private final AtomicInteger phase = new AtomicInteger(WARMUP);
+    //Written before the phase switches to MEASURE, which publishes them to the workers
+    private long start;
+    private long end;
+
+    Run(int threads) {
+      this.workers = new Thread[threads];
+      this.threadOperations = new long[threads];
+      //The measuring thread waits at the barrier too so the clock starts with the workers
+      this.barrier = new CyclicBarrier(threads + 1);
+
+      for (int i = 0; i < threads; i++) {
+        int index = i;
+        this.workers[i] = new Thread(() -> this.work(index), "throughput-" + i);
+        this.workers[i].setDaemon(true);
+      }
+    }
+
+    /**
+     * Start every worker; they wait at the barrier for the measuring thread.
+     */
+    void start() {
+      for (Thread worker : this.workers) {
+        worker.start();
+      }
+    }
+
+    /**
+     * Run the action until the measurement stops, counting the operations which complete within
+     * the measurement window.
+     *
+     * @param index the index of the thread
+     */
+    private void work(int index) {
+      LongSupplier action = ThroughputExpectation.this.action;
+      long count = 0;
+
+      try {
+        this.barrier.await();
+
+        int phase;
+
+        while ((phase = this.phase.get()) != STOP) {
+          long operations = action.getAsLong();
+          long completed = System.nanoTime();
+
+          //The phase is read again so an operation started during warmup is counted when it
+          //completes after the window opened
+          if (phase == MEASURE || this.phase.get() == MEASURE) {
+            if (completed > this.end) {
+              break;
+            }
+
+            if (completed >= this.start) {
+              count += operations;
+            }
+          }
+        }
+      } catch (InterruptedException | BrokenBarrierException e) {
+        Thread.currentThread().interrupt();
+      } catch (RuntimeException | Error e) {
+        this.error.compareAndSet(null, e);
+        this.phase.set(STOP);
+      } finally {
+        this.threadOperations[index] = count;
+      }
+    }
+
+    /**
+     * Wait for every worker to stop.
+     */
+    void join() {
+      boolean interrupted = false;
+
+      for (Thread worker : this.workers) {
+        while (worker.isAlive()) {
+          try {
+            worker.join();
+          } catch (InterruptedException e) {
+            interrupted = true;
+          }
+        }
+      }
+
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
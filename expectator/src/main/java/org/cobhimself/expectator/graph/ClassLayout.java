@@ -0,0 +1,137 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.graph;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The instance fields of a class, its superclasses' included, resolved once per class.
+ * <p>
+ * Layouts are cached in a <code>ClassValue</code> so walking millions of objects of the same few
+ * classes only reflects on each class once. The fields of a layout are made accessible up front
+ * and split into primitive and reference fields so a walk can compare primitive fields in place
+ * and only follow reference fields.
+ * <p>
+ * Classes of the JDK, whose fields cannot be read through reflection, and classes of modules not
+ * open to this library are not {@link #isAccessible() accessible}.
+ */
+public final class ClassLayout {
+  private static final ClassValue<ClassLayout> LAYOUTS = new ClassValue<>() {
+    @Override protected ClassLayout computeValue(Class<?> type) {
+      return new ClassLayout(type);
+    }
+  };
+
+  private final Class<?> type;
+  private final boolean jdkType;
+  private final boolean accessible;
+  final Field[] primitiveFields;
+  final Field[] referenceFields;
+
+  private ClassLayout(Class<?> type) {
+    this.type = type;
+    this.jdkType = type.getClassLoader() == null
+        || type.getClassLoader() == ClassLoader.getPlatformClassLoader();
+
+    var primitives = new ArrayList<Field>();
+    var references = new ArrayList<Field>();
+    boolean accessible = !this.jdkType && !type.isArray();
+
+    for (Class<?> c = type; accessible && c != null && c != Object.class; c = c.getSuperclass()) {
+      for (Field field : c.getDeclaredFields()) {
+        if (Modifier.isStatic(field.getModifiers())) {
+          continue;
+        }
+
+        if (!field.trySetAccessible()) {
+          accessible = false;
+          primitives.clear();
+          references.clear();
+
+          break;
+        }
+
+        (field.getType().isPrimitive() ? primitives : references).add(field);
+      }
+    }
+
+    this.accessible = accessible;
+    this.primitiveFields = primitives.toArray(new Field[0]);
+    this.referenceFields = references.toArray(new Field[0]);
+  }
+
+  /**
+   * Get the layout of the given class.
+   *
+   * @param type the class
+   *
+   * @return the cached layout of the class
+   */
+  public static ClassLayout of(Class<?> type) {
+    return LAYOUTS.get(type);
+  }
+
+  /**
+   * Get the class this layout describes.
+   *
+   * @return the class
+   */
+  public Class<?> getType() {
+    return this.type;
+  }
+
+  /**
+   * Whether the class is part of the JDK.
+   *
+   * @return true when the class was loaded by the bootstrap or platform class loader
+   */
+  public boolean isJdkType() {
+    return this.jdkType;
+  }
+
+  /**
+   * Whether every instance field of the class can be read.
+   *
+   * @return true when the fields of the class can be walked
+   */
+  public boolean isAccessible() {
+    return this.accessible;
+  }
+
+  /**
+   * Get the instance fields of the class; empty when the class is not accessible.
+   *
+   * @return the primitive fields followed by the reference fields
+   */
+  public List<Field> getFields() {
+    var fields = new ArrayList<Field>(List.of(this.primitiveFields));
+    fields.addAll(List.of(this.referenceFields));
+
+    return fields;
+  }
+}
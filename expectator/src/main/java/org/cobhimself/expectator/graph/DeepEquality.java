@@ -0,0 +1,514 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.graph;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * Compares two object graphs field by field, without relying on <code>equals</code>.
+ * <p>
+ * Objects of classes outside the JDK are compared by their instance fields, as described by their
+ * cached {@link ClassLayout}, whether or not they implement <code>equals</code>. Arrays and
+ * <code>List</code>s are compared element by element, <code>Map</code>s value by value for each
+ * key, and every other JDK type (strings, boxed primitives, dates, sets...) with
+ * <code>equals</code>.
+ * <p>
+ * The graphs are walked iteratively from an explicit stack, so arbitrarily deep graphs cannot
+ * overflow the thread's stack. Pairs of objects already compared are remembered by identity so
+ * cycles and shared references are only walked once. The walk stops at the first difference and
+ * reports the path leading to it.
+ */
+public final class DeepEquality {
+
+  private DeepEquality() {
+  }
+
+  /**
+   * Whether the two object graphs are deeply equal.
+   *
+   * @param expected the root of the expected graph
+   * @param actual   the root of the actual graph
+   *
+   * @return true when no difference is found
+   */
+  public static boolean equals(Object expected, Object actual) {
+    return findDifference(expected, actual) == null;
+  }
+
+  /**
+   * Find the first difference between two object graphs.
+   *
+   * @param expected the root of the expected graph
+   * @param actual   the root of the actual graph
+   *
+   * @return the first difference or null when the graphs are deeply equal
+   */
+  public static GraphDifference findDifference(Object expected, Object actual) {
+    return new Walk().run(expected, actual);
+  }
+
+  /**
+   * The objects of the expected graph which were compared to more than one object of the actual
+   * graph.
+   */
+  private static final class Partners extends ArrayList<Object> {
+    private static final long serialVersionUID = 1L;
+
+    Partners(Object first, Object second) {
+      super(2);
+      this.add(first);
+      this.add(second);
+    }
+
+    boolean containsIdentical(Object partner) {
+      for (int i = 0; i < this.size(); i++) {
+        if (this.get(i) == partner) {
+          return true;
+        }
+      }
+
+      return false;
+    }
+  }
+
+  /**
+   * A single walk over two graphs.
+   * <p>
+   * Pairs still to compare are kept in parallel arrays rather than as objects, along with the
+   * label which leads to them from their parent. When a pair is expanded, its label is pushed on
+   * the path and an exit marker is pushed below its children; popping the marker removes the
+   * label from the path again.
+   */
+  private static final class Walk {
+    private static final byte ROOT = 0;
+    private static final byte FIELD = 1;
+    private static final byte INDEX = 2;
+    private static final byte KEY = 3;
+    private static final byte EXIT = 4;
+
+    private Object[] lefts = new Object[64];
+    private Object[] rights = new Object[64];
+    private Object[] labels = new Object[64];
+    private int[] indexes = new int[64];
+    private byte[] kinds = new byte[64];
+    private int size = 0;
+
+    private Object[] pathLabels = new Object[16];
+    private int[] pathIndexes = new int[16];
+    private byte[] pathKinds = new byte[16];
+    private int depth = 0;
+
+    private final IdentityHashMap<Object, Object> visited = new IdentityHashMap<>();
+
+    GraphDifference run(Object expected, Object actual) {
+      this.push(expected, actual, ROOT, null, 0);
+
+      while (this.size > 0) {
+        int i = --this.size;
+        byte kind = this.kinds[i];
+
+        if (kind == EXIT) {
+          this.pathLabels[--this.depth] = null;
+
+          continue;
+        }
+
+        Object left = this.lefts[i];
+        Object right = this.rights[i];
+        Object label = this.labels[i];
+        this.lefts[i] = null;
+        this.rights[i] = null;
+        this.labels[i] = null;
+
+        var difference = this.compare(left, right, kind, label, this.indexes[i]);
+
+        if (difference != null) {
+          return difference;
+        }
+      }
+
+      return null;
+    }
+
+    private GraphDifference compare(Object left, Object right, byte kind, Object label, int index) {
+      if (left == right) {
+        return null;
+      }
+
+      if (left == null || right == null) {
+        return this.difference(kind, label, index, "null", left, right);
+      }
+
+      Class<?> type = left.getClass();
+
+      if (type != right.getClass()) {
+        if (left instanceof List && right instanceof List) {
+          return this.compareLists((List<?>) left, (List<?>) right, kind, label, index);
+        }
+
+        if (left instanceof Map && right instanceof Map) {
+          return this.compareMaps((Map<?, ?>) left, (Map<?, ?>) right, kind, label, index);
+        }
+
+        if (left instanceof Set && right instanceof Set && left.equals(right)) {
+          return null;
+        }
+
+        return this.difference(kind, label, index, "type", type.getName(),
+            right.getClass().getName());
+      }
+
+      if (type.isArray()) {
+        return this.compareArrays(left, right, kind, label, index);
+      }
+
+      var layout = ClassLayout.of(type);
+
+      if (layout.isAccessible()) {
+        return this.compareFields(left, right, layout, kind, label, index);
+      }
+
+      if (left instanceof List) {
+        return this.compareLists((List<?>) left, (List<?>) right, kind, label, index);
+      }
+
+      if (left instanceof Map) {
+        return this.compareMaps((Map<?, ?>) left, (Map<?, ?>) right, kind, label, index);
+      }
+
+      return left.equals(right) ? null : this.difference(kind, label, index, "value", left, right);
+    }
+
+    private GraphDifference compareFields(
+        Object left,
+        Object right,
+        ClassLayout layout,
+        byte kind,
+        Object label,
+        int index
+    ) {
+      if (!this.visit(left, right)) {
+        return null;
+      }
+
+      this.enter(kind, label, index);
+
+      try {
+        for (Field field : layout.primitiveFields) {
+          if (!primitiveEquals(field, left, right)) {
+            return this.difference(FIELD, field.getName(), 0, "value", field.get(left),
+                field.get(right));
+          }
+        }
+
+        Field[] references = layout.referenceFields;
+
+        for (int i = references.length - 1; i >= 0; i--) {
+          Field field = references[i];
+          this.push(field.get(left), field.get(right), FIELD, field.getName(), 0);
+        }
+      } catch (IllegalAccessException e) {
+        throw new IllegalStateException("Cannot read the fields of " + layout.getType(), e);
+      }
+
+      return null;
+    }
+
+    private GraphDifference compareArrays(
+        Object left,
+        Object right,
+        byte kind,
+        Object label,
+        int index
+    ) {
+      int leftLength = Array.getLength(left);
+      int rightLength = Array.getLength(right);
+
+      if (leftLength != rightLength) {
+        return this.difference(kind, label, index, "length", leftLength, rightLength);
+      }
+
+      if (left.getClass().getComponentType().isPrimitive()) {
+        int mismatch = primitiveMismatch(left, right);
+
+        if (mismatch < 0) {
+          return null;
+        }
+
+        this.enter(kind, label, index);
+
+        return this.difference(INDEX, null, mismatch, "value", Array.get(left, mismatch),
+            Array.get(right, mismatch));
+      }
+
+      if (!this.visit(left, right)) {
+        return null;
+      }
+
+      this.enter(kind, label, index);
+
+      Object[] leftElements = (Object[]) left;
+      Object[] rightElements = (Object[]) right;
+
+      for (int i = leftLength - 1; i >= 0; i--) {
+        this.push(leftElements[i], rightElements[i], INDEX, null, i);
+      }
+
+      return null;
+    }
+
+    private GraphDifference compareLists(
+        List<?> left,
+        List<?> right,
+        byte kind,
+        Object label,
+        int index
+    ) {
+      if (left.size() != right.size()) {
+        return this.difference(kind, label, index, "size", left.size(), right.size());
+      }
+
+      if (!this.visit(left, right)) {
+        return null;
+      }
+
+      this.enter(kind, label, index);
+
+      if (left instanceof RandomAccess && right instanceof RandomAccess) {
+        for (int i = left.size() - 1; i >= 0; i--) {
+          this.push(left.get(i), right.get(i), INDEX, null, i);
+        }
+      } else {
+        Object[] leftElements = left.toArray();
+        Object[] rightElements = right.toArray();
+
+        for (int i = leftElements.length - 1; i >= 0; i--) {
+          this.push(leftElements[i], rightElements[i], INDEX, null, i);
+        }
+      }
+
+      return null;
+    }
+
+    private GraphDifference compareMaps(
+        Map<?, ?> left,
+        Map<?, ?> right,
+        byte kind,
+        Object label,
+        int index
+    ) {
+      if (left.size() != right.size()) {
+        return this.difference(kind, label, index, "size", left.size(), right.size());
+      }
+
+      if (!this.visit(left, right)) {
+        return null;
+      }
+
+      this.enter(kind, label, index);
+
+      for (Map.Entry<?, ?> entry : left.entrySet()) {
+        Object key = entry.getKey();
+
+        if (!right.containsKey(key)) {
+          return this.difference(KEY, key, 0, "missing key", entry.getValue(), null);
+        }
+
+        this.push(entry.getValue(), right.get(key), KEY, key, 0);
+      }
+
+      return null;
+    }
+
+    /**
+     * Remember that the given pair is being compared.
+     *
+     * @param left  the object of the expected graph
+     * @param right the object of the actual graph
+     *
+     * @return false when the pair was already compared
+     */
+    private boolean visit(Object left, Object right) {
+      Object seen = this.visited.putIfAbsent(left, right);
+
+      if (seen == null) {
+        return true;
+      }
+
+      if (seen == right) {
+        return false;
+      }
+
+      if (seen instanceof Partners) {
+        var partners = (Partners) seen;
+
+        if (partners.containsIdentical(right)) {
+          return false;
+        }
+
+        partners.add(right);
+
+        return true;
+      }
+
+      this.visited.put(left, new Partners(seen, right));
+
+      return true;
+    }
+
+    private void push(Object left, Object right, byte kind, Object label, int index) {
+      if (this.size == this.kinds.length) {
+        int capacity = this.size * 2;
+        this.lefts = Arrays.copyOf(this.lefts, capacity);
+        this.rights = Arrays.copyOf(this.rights, capacity);
+        this.labels = Arrays.copyOf(this.labels, capacity);
+        this.indexes = Arrays.copyOf(this.indexes, capacity);
+        this.kinds = Arrays.copyOf(this.kinds, capacity);
+      }
+
+      this.lefts[this.size] = left;
+      this.rights[this.size] = right;
+      this.labels[this.size] = label;
+      this.indexes[this.size] = index;
+      this.kinds[this.size++] = kind;
+    }
+
+    /**
+     * Add the given label to the path until the children pushed after it have been compared.
+     *
+     * @param kind  the kind of label
+     * @param label the field name or map key, if any
+     * @param index the list or array index, if any
+     */
+    private void enter(byte kind, Object label, int index) {
+      this.push(null, null, EXIT, null, 0);
+
+      if (this.depth == this.pathKinds.length) {
+        int capacity = this.depth * 2;
+        this.pathLabels = Arrays.copyOf(this.pathLabels, capacity);
+        this.pathIndexes = Arrays.copyOf(this.pathIndexes, capacity);
+        this.pathKinds = Arrays.copyOf(this.pathKinds, capacity);
+      }
+
+      this.pathLabels[this.depth] = label;
+      this.pathIndexes[this.depth] = index;
+      this.pathKinds[this.depth++] = kind;
+    }
+
+    private GraphDifference difference(
+        byte kind,
+        Object label,
+        int index,
+        String reason,
+        Object expected,
+        Object actual
+    ) {
+      var path = new StringBuilder();
+
+      for (int i = 0; i < this.depth; i++) {
+        appendLabel(path, this.pathKinds[i], this.pathLabels[i], this.pathIndexes[i]);
+      }
+
+      appendLabel(path, kind, label, index);
+
+      return new GraphDifference(path.toString(), reason, expected, actual);
+    }
+
+    private static void appendLabel(StringBuilder path, byte kind, Object label, int index) {
+      if (kind == FIELD) {
+        if (path.length() > 0) {
+          path.append('.');
+        }
+
+        path.append(label);
+      } else if (kind == INDEX) {
+        path.append('[').append(index).append(']');
+      } else if (kind == KEY) {
+        path.append('[').append(label).append(']');
+      }
+    }
+  }
+
+  private static boolean primitiveEquals(Field field, Object left, Object right)
+      throws IllegalAccessException {
+    Class<?> type = field.getType();
+
+    if (type == int.class) {
+      return field.getInt(left) == field.getInt(right);
+    } else if (type == long.class) {
+      return field.getLong(left) == field.getLong(right);
+    } else if (type == boolean.class) {
+      return field.getBoolean(left) == field.getBoolean(right);
+    } else if (type == double.class) {
+      return Double.doubleToLongBits(field.getDouble(left))
+          == Double.doubleToLongBits(field.getDouble(right));
+    } else if (type == float.class) {
+      return Float.floatToIntBits(field.getFloat(left))
+          == Float.floatToIntBits(field.getFloat(right));
+    } else if (type == byte.class) {
+      return field.getByte(left) == field.getByte(right);
+    } else if (type == short.class) {
+      return field.getShort(left) == field.getShort(right);
+    }
+
+    return field.getChar(left) == field.getChar(right);
+  }
+
+  /**
+   * Find the first index at which two primitive arrays of the same type and length differ.
+   *
+   * @param left  the array of the expected graph
+   * @param right the array of the actual graph
+   *
+   * @return the index of the first mismatch or -1 when the arrays are equal
+   */
+  private static int primitiveMismatch(Object left, Object right) {
+    if (left instanceof int[]) {
+      return Arrays.mismatch((int[]) left, (int[]) right);
+    } else if (left instanceof long[]) {
+      return Arrays.mismatch((long[]) left, (long[]) right);
+    } else if (left instanceof byte[]) {
+      return Arrays.mismatch((byte[]) left, (byte[]) right);
+    } else if (left instanceof double[]) {
+      return Arrays.mismatch((double[]) left, (double[]) right);
+    } else if (left instanceof float[]) {
+      return Arrays.mismatch((float[]) left, (float[]) right);
+    } else if (left instanceof char[]) {
+      return Arrays.mismatch((char[]) left, (char[]) right);
+    } else if (left instanceof short[]) {
+      return Arrays.mismatch((short[]) left, (short[]) right);
+    }
+
+    return Arrays.mismatch((boolean[]) left, (boolean[]) right);
+  }
+}
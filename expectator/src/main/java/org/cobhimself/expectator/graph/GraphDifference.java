@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.graph;
+
+/**
+ * The first difference found between two object graphs.
+ */
+public class GraphDifference {
+  private final String path;
+  private final String reason;
+  private final Object expected;
+  private final Object actual;
+
+  /**
+   * Construct a <code>GraphDifference</code>.
+   *
+   * @param path     the path from the roots to the values which differ, empty for the roots
+   * @param reason   why the values differ
+   * @param expected the value of the expected graph
+   * @param actual   the value of the actual graph
+   */
+  public GraphDifference(String path, String reason, Object expected, Object actual) {
+    this.path = path;
+    this.reason = reason;
+    this.expected = expected;
+    this.actual = actual;
+  }
+
+  /**
+   * Get the path from the roots to the values which differ, such as
+   * <code>orders[3].address.zip</code>.
+   *
+   * @return the path, empty when the roots themselves differ
+   */
+  public String getPath() {
+    return this.path;
+  }
+
+  /**
+   * Get why the values differ.
+   *
+   * @return the reason of the difference
+   */
+  public String getReason() {
+    return this.reason;
+  }
+
+  /**
+   * Get the value of the expected graph.
+   *
+   * @return the expected value
+   */
+  public Object getExpected() {
+    return this.expected;
+  }
+
+  /**
+   * Get the value of the actual graph.
+   *
+   * @return the actual value
+   */
+  public Object getActual() {
+    return this.actual;
+  }
+
+  @Override public String toString() {
+    return String.format(
+        "%s differs (%s): expected %s but was %s",
+        this.path.isEmpty() ? "root" : this.path,
+        this.reason,
+        this.expected,
+        this.actual
+    );
+  }
+}
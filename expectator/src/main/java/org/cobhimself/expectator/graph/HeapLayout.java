@@ -0,0 +1,244 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.graph;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * The object header, reference and alignment sizes of the running JVM, used to estimate the
+ * number of bytes objects occupy on its heap.
+ * <p>
+ * Whether references and class pointers are compressed and how objects are aligned are read
+ * from the VM options through <code>HotSpotDiagnosticMXBean</code>. On JVMs without it the
+ * HotSpot defaults of a 64 bit VM with a heap under 32 GB are assumed: compressed references
+ * and class pointers and 8 byte alignment.
+ * <p>
+ * An instance is laid out as its header followed by its fields, with no padding between fields,
+ * and rounded up to the alignment; sizes are estimates which may be a few bytes short of what
+ * HotSpot actually uses. Instance sizes are cached per class in a <code>ClassValue</code>.
+ */
+public final class HeapLayout {
+  private static final HeapLayout CURRENT = detect();
+
+  private final boolean compressedOops;
+  private final int referenceSize;
+  private final int objectHeaderSize;
+  private final int arrayHeaderSize;
+  private final int objectAlignment;
+
+  private final ClassValue<Long> instanceSizes = new ClassValue<>() {
+    @Override protected Long computeValue(Class<?> type) {
+      return HeapLayout.this.computeInstanceSize(type);
+    }
+  };
+
+  /**
+   * Construct a <code>HeapLayout</code>.
+   *
+   * @param compressedOops          whether references are compressed
+   * @param compressedClassPointers whether class pointers in object headers are compressed
+   * @param objectAlignment         the alignment of objects in bytes, a power of two
+   */
+  public HeapLayout(boolean compressedOops, boolean compressedClassPointers, int objectAlignment) {
+    if (objectAlignment < 8 || Integer.bitCount(objectAlignment) != 1) {
+      throw new IllegalArgumentException(
+          "The object alignment must be a power of two of at least 8"
+      );
+    }
+
+    this.compressedOops = compressedOops;
+    this.referenceSize = compressedOops ? 4 : 8;
+    this.objectHeaderSize = compressedClassPointers ? 12 : 16;
+    this.arrayHeaderSize = (int) align(this.objectHeaderSize + Integer.BYTES, 8);
+    this.objectAlignment = objectAlignment;
+  }
+
+  /**
+   * Get the layout of the running JVM.
+   *
+   * @return the layout of the running JVM
+   */
+  public static HeapLayout current() {
+    return CURRENT;
+  }
+
+  /**
+   * Read the layout of the running JVM from its VM options.
+   *
+   * @return the detected layout, or the defaults when the options cannot be read
+   */
+  private static HeapLayout detect() {
+    try {
+      var bean = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+
+      if (bean != null) {
+        return new HeapLayout(
+            Boolean.parseBoolean(bean.getVMOption("UseCompressedOops").getValue()),
+            Boolean.parseBoolean(bean.getVMOption("UseCompressedClassPointers").getValue()),
+            Integer.parseInt(bean.getVMOption("ObjectAlignmentInBytes").getValue())
+        );
+      }
+    } catch (LinkageError | RuntimeException e) {
+      //Fall through to the defaults
+    }
+
+    return new HeapLayout(true, true, 8);
+  }
+
+  /**
+   * Whether references are compressed.
+   *
+   * @return true when references take 4 bytes
+   */
+  public boolean isCompressedOops() {
+    return this.compressedOops;
+  }
+
+  /**
+   * Get the size of a reference.
+   *
+   * @return the size of a reference in bytes
+   */
+  public int getReferenceSize() {
+    return this.referenceSize;
+  }
+
+  /**
+   * Get the size of the header of an object which is not an array.
+   *
+   * @return the size of the header in bytes
+   */
+  public int getObjectHeaderSize() {
+    return this.objectHeaderSize;
+  }
+
+  /**
+   * Get the size of the header of an array, its length included.
+   *
+   * @return the size of the header in bytes
+   */
+  public int getArrayHeaderSize() {
+    return this.arrayHeaderSize;
+  }
+
+  /**
+   * Get the alignment of objects.
+   *
+   * @return the alignment in bytes
+   */
+  public int getObjectAlignment() {
+    return this.objectAlignment;
+  }
+
+  /**
+   * Get the size of an instance of the given class, not counting the objects it references.
+   *
+   * @param type the class, which must not be an array class
+   *
+   * @return the size of an instance in bytes
+   */
+  public long getInstanceSize(Class<?> type) {
+    return this.instanceSizes.get(type);
+  }
+
+  /**
+   * Get the size of an array, not counting the objects its elements reference.
+   *
+   * @param componentType the component type of the array
+   * @param length        the length of the array
+   *
+   * @return the size of the array in bytes
+   */
+  public long getArraySize(Class<?> componentType, int length) {
+    return align(this.arrayHeaderSize + (long) this.sizeOf(componentType) * length,
+        this.objectAlignment);
+  }
+
+  /**
+   * Get the size of the given object, not counting the objects it references.
+   *
+   * @param object the object
+   *
+   * @return the size of the object in bytes
+   */
+  public long getShallowSize(Object object) {
+    Class<?> type = object.getClass();
+
+    if (type.isArray()) {
+      return this.getArraySize(type.getComponentType(), Array.getLength(object));
+    }
+
+    return this.getInstanceSize(type);
+  }
+
+  private long computeInstanceSize(Class<?> type) {
+    long size = this.objectHeaderSize;
+
+    for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+      for (Field field : c.getDeclaredFields()) {
+        if (!Modifier.isStatic(field.getModifiers())) {
+          size += this.sizeOf(field.getType());
+        }
+      }
+    }
+
+    return align(size, this.objectAlignment);
+  }
+
+  /**
+   * Get the size of a field or array element of the given type.
+   *
+   * @param type the type of the field or element
+   *
+   * @return its size in bytes
+   */
+  private int sizeOf(Class<?> type) {
+    if (!type.isPrimitive()) {
+      return this.referenceSize;
+    }
+
+    if (type == long.class || type == double.class) {
+      return 8;
+    }
+
+    if (type == int.class || type == float.class) {
+      return 4;
+    }
+
+    if (type == short.class || type == char.class) {
+      return 2;
+    }
+
+    return 1;
+  }
+
+  private static long align(long size, int alignment) {
+    return (size + alignment - 1) & -alignment;
+  }
+}
@@ -0,0 +1,363 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.graph;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Hashtable;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An estimate of the number of bytes an object graph occupies on the heap.
+ * <p>
+ * The graph is walked iteratively from an explicit stack, so arbitrarily deep graphs cannot
+ * overflow the thread's stack, and every object is counted once, however many references lead
+ * to it; objects already counted are remembered in an identity set. The size of each object is
+ * estimated from the {@link HeapLayout} of the running JVM and, for classes outside the JDK, the
+ * references to follow come from their cached {@link ClassLayout}.
+ * <p>
+ * The fields of JDK classes cannot be read through reflection. Strings, collections and maps of
+ * the JDK are instead sized from their contents: the backing arrays, nodes and entries of the
+ * common implementations are estimated from their size and their elements, keys and values are
+ * followed. Other JDK objects are counted without following their references. Classes and enum
+ * constants, which are shared rather than retained by the graph, are not counted.
+ */
+public final class RetainedSize {
+  private static final Class<?> HASH_MAP_NODE = jdkClass("java.util.HashMap$Node");
+  private static final Class<?> LINKED_HASH_MAP_ENTRY = jdkClass("java.util.LinkedHashMap$Entry");
+  private static final Class<?> TREE_MAP_ENTRY = jdkClass("java.util.TreeMap$Entry");
+  private static final Class<?> LINKED_LIST_NODE = jdkClass("java.util.LinkedList$Node");
+
+  private final long bytes;
+  private final long objects;
+
+  private RetainedSize(long bytes, long objects) {
+    this.bytes = bytes;
+    this.objects = objects;
+  }
+
+  /**
+   * Estimate the retained size of the given object graph on the running JVM.
+   *
+   * @param root the root of the graph
+   *
+   * @return the estimated retained size
+   */
+  public static RetainedSize of(Object root) {
+    return of(root, HeapLayout.current());
+  }
+
+  /**
+   * Estimate the retained size of the given object graph with the given heap layout.
+   *
+   * @param root   the root of the graph
+   * @param layout the heap layout the sizes of objects are estimated with
+   *
+   * @return the estimated retained size
+   */
+  public static RetainedSize of(Object root, HeapLayout layout) {
+    return new Walk(layout).run(root);
+  }
+
+  /**
+   * Get the estimated number of bytes the graph occupies.
+   *
+   * @return the estimated size in bytes
+   */
+  public long getBytes() {
+    return this.bytes;
+  }
+
+  /**
+   * Get the number of objects counted, estimated backing structures of JDK types included.
+   *
+   * @return the number of objects
+   */
+  public long getObjectCount() {
+    return this.objects;
+  }
+
+  @Override public String toString() {
+    return this.bytes + " bytes in " + this.objects + " objects";
+  }
+
+  /**
+   * Find the class of a JDK implementation detail, falling back to a class of two references.
+   *
+   * @param name the binary name of the class
+   *
+   * @return the class
+   */
+  private static Class<?> jdkClass(String name) {
+    try {
+      return Class.forName(name);
+    } catch (ClassNotFoundException | LinkageError e) {
+      return AbstractMap.SimpleEntry.class;
+    }
+  }
+
+  /**
+   * A set of objects compared by identity, with open addressing over a single array.
+   * <p>
+   * Unlike an <code>IdentityHashMap</code> it does not store a value per object, which halves
+   * the memory it takes to remember the tens of millions of objects of a large graph.
+   */
+  private static final class IdentitySet {
+    private Object[] table = new Object[256];
+    private int size = 0;
+
+    /**
+     * Add an object to the set.
+     *
+     * @param object the object
+     *
+     * @return false when the object was already in the set
+     */
+    boolean add(Object object) {
+      int mask = this.table.length - 1;
+      int i = System.identityHashCode(object) & mask;
+
+      for (Object seen; (seen = this.table[i]) != null; i = (i + 1) & mask) {
+        if (seen == object) {
+          return false;
+        }
+      }
+
+      this.table[i] = object;
+
+      if (++this.size * 3 >= this.table.length * 2) {
+        this.grow();
+      }
+
+      return true;
+    }
+
+    private void grow() {
+      Object[] old = this.table;
+      this.table = new Object[old.length * 2];
+      int mask = this.table.length - 1;
+
+      for (Object object : old) {
+        if (object != null) {
+          int i = System.identityHashCode(object) & mask;
+
+          while (this.table[i] != null) {
+            i = (i + 1) & mask;
+          }
+
+          this.table[i] = object;
+        }
+      }
+    }
+  }
+
+  /**
+   * A single walk over a graph.
+   */
+  private static final class Walk {
+    private final HeapLayout layout;
+    private final IdentitySet visited = new IdentitySet();
+    private Object[] stack = new Object[64];
+    private int size = 0;
+    private long bytes = 0;
+    private long objects = 0;
+
+    Walk(HeapLayout layout) {
+      this.layout = layout;
+    }
+
+    RetainedSize run(Object root) {
+      this.push(root);
+
+      while (this.size > 0) {
+        Object object = this.stack[--this.size];
+        this.stack[this.size] = null;
+        this.count(object);
+      }
+
+      return new RetainedSize(this.bytes, this.objects);
+    }
+
+    private void count(Object object) {
+      Class<?> type = object.getClass();
+
+      if (type.isArray()) {
+        this.countArray(object, type.getComponentType());
+
+        return;
+      }
+
+      this.add(this.layout.getInstanceSize(type), 1);
+
+      var classLayout = ClassLayout.of(type);
+
+      if (classLayout.isAccessible()) {
+        try {
+          for (Field field : classLayout.referenceFields) {
+            this.push(field.get(object));
+          }
+        } catch (IllegalAccessException e) {
+          throw new IllegalStateException("Cannot read the fields of " + type, e);
+        }
+      } else if (object instanceof String) {
+        this.countString((String) object);
+      } else if (object instanceof Map) {
+        this.countMap((Map<?, ?>) object);
+      } else if (object instanceof Collection) {
+        this.countCollection((Collection<?>) object);
+      }
+    }
+
+    private void countArray(Object array, Class<?> componentType) {
+      int length = Array.getLength(array);
+      this.add(this.layout.getArraySize(componentType, length), 1);
+
+      if (!componentType.isPrimitive()) {
+        for (Object element : (Object[]) array) {
+          this.push(element);
+        }
+      }
+    }
+
+    /**
+     * Count the value array of a string, compacted to a byte per character when every character
+     * is Latin-1.
+     *
+     * @param string the string
+     */
+    private void countString(String string) {
+      int length = string.length();
+      int bytesPerChar = 1;
+
+      for (int i = 0; i < length; i++) {
+        if (string.charAt(i) > 0xFF) {
+          bytesPerChar = 2;
+
+          break;
+        }
+      }
+
+      this.add(this.layout.getArraySize(byte.class, length * bytesPerChar), 1);
+    }
+
+    private void countMap(Map<?, ?> map) {
+      int size = map.size();
+      boolean hashed = map instanceof HashMap
+          || map instanceof ConcurrentHashMap
+          || map instanceof Hashtable;
+      boolean linked = hashed || map instanceof TreeMap;
+
+      if (hashed) {
+        this.add(this.layout.getArraySize(Object.class, tableSize(size)), 1);
+      } else if (!linked) {
+        this.add(this.layout.getArraySize(Object.class, 2 * size), 1);
+      }
+
+      for (Map.Entry<?, ?> entry : map.entrySet()) {
+        if (linked) {
+          this.add(this.layout.getInstanceSize(entry.getClass()), 1);
+        }
+
+        this.push(entry.getKey());
+        this.push(entry.getValue());
+      }
+    }
+
+    private void countCollection(Collection<?> collection) {
+      int size = collection.size();
+
+      if (collection instanceof LinkedHashSet) {
+        this.add(this.layout.getInstanceSize(LinkedHashMap.class), 1);
+        this.add(this.layout.getArraySize(Object.class, tableSize(size)), 1);
+        this.add(this.layout.getInstanceSize(LINKED_HASH_MAP_ENTRY) * size, size);
+      } else if (collection instanceof HashSet) {
+        this.add(this.layout.getInstanceSize(HashMap.class), 1);
+        this.add(this.layout.getArraySize(Object.class, tableSize(size)), 1);
+        this.add(this.layout.getInstanceSize(HASH_MAP_NODE) * size, size);
+      } else if (collection instanceof TreeSet) {
+        this.add(this.layout.getInstanceSize(TreeMap.class), 1);
+        this.add(this.layout.getInstanceSize(TREE_MAP_ENTRY) * size, size);
+      } else if (collection instanceof LinkedList) {
+        this.add(this.layout.getInstanceSize(LINKED_LIST_NODE) * size, size);
+      } else {
+        this.add(this.layout.getArraySize(Object.class, size), 1);
+      }
+
+      for (Object element : collection) {
+        this.push(element);
+      }
+    }
+
+    /**
+     * The capacity of a hash table holding the given number of entries at the default load
+     * factor.
+     *
+     * @param size the number of entries
+     *
+     * @return the capacity of the table
+     */
+    private static int tableSize(int size) {
+      if (size == 0) {
+        return 0;
+      }
+
+      int capacity = (int) Math.min((long) Math.ceil(size / 0.75), 1 << 30);
+
+      return Math.max(16, Integer.highestOneBit(capacity - 1) << 1);
+    }
+
+    private void add(long bytes, long objects) {
+      this.bytes += bytes;
+      this.objects += objects;
+    }
+
+    private void push(Object object) {
+      if (object == null
+          || object instanceof Class
+          || object instanceof Enum
+          || !this.visited.add(object)
+      ) {
+        return;
+      }
+
+      if (this.size == this.stack.length) {
+        this.stack = Arrays.copyOf(this.stack, this.size * 2);
+      }
+
+      this.stack[this.size++] = object;
+    }
+  }
+}
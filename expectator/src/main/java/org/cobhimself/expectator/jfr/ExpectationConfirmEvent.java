@@ -0,0 +1,101 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.jfr;
+
+import java.util.function.BooleanSupplier;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JFR event covering the confirmation of all the expectators of an expectation.
+ */
+@Name("org.cobhimself.expectator.ExpectationConfirm")
+@Label("Expectation Confirm")
+@Category("Expectator")
+@Description("Confirmation of all the expectators of an expectation")
+@StackTrace(false)
+public class ExpectationConfirmEvent extends Event {
+
+  @Label("Expectation Name")
+  String expectationName;
+
+  @Label("Expectator Count")
+  int expectatorCount;
+
+  @Label("Passed")
+  boolean passed;
+
+  /**
+   * Run a confirmation within an event, committing the event however the confirmation ends.
+   * <p>
+   * Only to be called while {@link FlightRecording#isActive()}, so no event is allocated when
+   * nothing is being recorded.
+   *
+   * @param expectationName the name of the expectation confirmed
+   * @param expectatorCount the number of expectators confirmed
+   * @param confirmation    the confirmation, returning whether all the expectators passed
+   *
+   * @return the result of the confirmation
+   */
+  public static boolean record(
+      String expectationName,
+      int expectatorCount,
+      BooleanSupplier confirmation
+  ) {
+    var event = new ExpectationConfirmEvent();
+    boolean passed = false;
+    event.begin();
+
+    try {
+      passed = confirmation.getAsBoolean();
+    } finally {
+      event.complete(expectationName, expectatorCount, passed);
+    }
+
+    return passed;
+  }
+
+  /**
+   * End the event and commit it when the recording's settings allow.
+   *
+   * @param expectationName the name of the expectation confirmed
+   * @param expectatorCount the number of expectators confirmed
+   * @param passed          whether all the expectators passed
+   */
+  public void complete(String expectationName, int expectatorCount, boolean passed) {
+    this.end();
+
+    if (this.shouldCommit()) {
+      this.expectationName = expectationName;
+      this.expectatorCount = expectatorCount;
+      this.passed = passed;
+      this.commit();
+    }
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JFR event covering the confirmation of a single expectator.
+ */
+@Name("org.cobhimself.expectator.ExpectatorConfirm")
+@Label("Expectator Confirm")
+@Category("Expectator")
+@Description("Confirmation of a single expectator against its expectation's expected value")
+@StackTrace(false)
+public class ExpectatorConfirmEvent extends Event {
+
+  @Label("Expectation Name")
+  String expectationName;
+
+  @Label("Message Template")
+  String messageTemplate;
+
+  @Label("Passed")
+  boolean passed;
+
+  /**
+   * End the event and commit it when the recording's settings allow.
+   *
+   * @param expectationName the name of the expectation the expectator belongs to
+   * @param messageTemplate the failure message template of the expectator
+   * @param passed          whether the expectator passed
+   */
+  public void complete(String expectationName, String messageTemplate, boolean passed) {
+    this.end();
+
+    if (this.shouldCommit()) {
+      this.expectationName = expectationName;
+      this.messageTemplate = messageTemplate;
+      this.passed = passed;
+      this.commit();
+    }
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.jfr;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Tracks whether a Java Flight Recorder recording is running.
+ * <p>
+ * Expectations only create their JFR events while a recording is running, so when nothing is
+ * being recorded confirmation neither allocates events nor initializes the Flight Recorder.
+ * Once a recording runs, whether each event is actually committed is decided by the standard
+ * JFR settings of that recording (<code>enabled</code>, <code>threshold</code>, and so on).
+ * <p>
+ * Runtimes without the <code>jdk.jfr</code> module are never considered to be recording.
+ */
+public final class FlightRecording {
+  private static volatile boolean active = false;
+
+  static {
+    if (ModuleLayer.boot().findModule("jdk.jfr").isPresent()) {
+      Listener.register();
+    }
+  }
+
+  private FlightRecording() {
+  }
+
+  /**
+   * Whether any Flight Recorder recording is currently running.
+   *
+   * @return true while a recording is running
+   */
+  public static boolean isActive() {
+    return active;
+  }
+
+  /**
+   * Keeps {@link #active} in step with the state of the Flight Recorder's recordings.
+   */
+  private static final class Listener implements FlightRecorderListener {
+
+    static void register() {
+      FlightRecorder.addListener(new Listener());
+    }
+
+    @Override public void recorderInitialized(FlightRecorder recorder) {
+      update(recorder);
+    }
+
+    @Override public void recordingStateChanged(Recording recording) {
+      update(FlightRecorder.getFlightRecorder());
+    }
+
+    private static void update(FlightRecorder recorder) {
+      active = recorder.getRecordings().stream()
+          .anyMatch(recording -> recording.getState() == RecordingState.RUNNING);
+    }
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.metrics;
+
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.cobhimself.expectator.ExpectatorEntry;
+
+/**
+ * Opt-in collection of invocation counts, failure counts and latencies for every
+ * {@link ExpectatorEntry} confirmed, grouped by expectation name and failure message template.
+ * <p>
+ * Collection is enabled by starting the JVM with <code>-Dexpectator.metrics=true</code>. The
+ * flag is read once into {@link #ENABLED}; being a static final constant, the JIT removes the
+ * instrumentation entirely from <code>ExpectatorEntry</code> when it is disabled.
+ * <p>
+ * Recording is lock-free once an expectation name and template pair has been seen.
+ */
+public final class ExpectatorMetrics {
+  public static final String ENABLED_PROPERTY = "expectator.metrics";
+  public static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+
+  private static final ConcurrentHashMap<String, ConcurrentHashMap<String, Recorder>> RECORDERS =
+      new ConcurrentHashMap<>();
+
+  private ExpectatorMetrics() {
+  }
+
+  /**
+   * The live metrics of one expectation name and failure message template pair.
+   */
+  private static final class Recorder {
+    private final String expectationName;
+    private final String messageTemplate;
+    private final LongAdder failures = new LongAdder();
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    Recorder(String expectationName, String messageTemplate) {
+      this.expectationName = expectationName;
+      this.messageTemplate = messageTemplate;
+    }
+
+    ExpectatorStats snapshot() {
+      return new ExpectatorStats(
+          this.expectationName,
+          this.messageTemplate,
+          this.failures.sum(),
+          this.latencies.snapshot()
+      );
+    }
+  }
+
+  /**
+   * Record a single confirmation.
+   *
+   * @param expectationName the name of the expectation the expectator belongs to
+   * @param messageTemplate the failure message template of the expectator
+   * @param nanos           how long the confirmation took, in nanoseconds
+   * @param passed          whether the confirmation passed
+   */
+  public static void record(
+      String expectationName,
+      String messageTemplate,
+      long nanos,
+      boolean passed
+  ) {
+    var recorder = recorder(
+        Objects.toString(expectationName, ""),
+        Objects.toString(messageTemplate, "")
+    );
+
+    recorder.latencies.record(nanos);
+
+    if (!passed) {
+      recorder.failures.increment();
+    }
+  }
+
+  /**
+   * Get the recorder for the given pair, creating it the first time it is seen.
+   *
+   * @param expectationName the name of the expectation
+   * @param messageTemplate the failure message template
+   *
+   * @return the recorder for the pair
+   */
+  private static Recorder recorder(String expectationName, String messageTemplate) {
+    var templates = RECORDERS.get(expectationName);
+
+    if (templates == null) {
+      templates = RECORDERS.computeIfAbsent(expectationName, k -> new ConcurrentHashMap<>());
+    }
+
+    var recorder = templates.get(messageTemplate);
+
+    if (recorder == null) {
+      recorder = templates.computeIfAbsent(
+          messageTemplate,
+          k -> new Recorder(expectationName, messageTemplate)
+      );
+    }
+
+    return recorder;
+  }
+
+  /**
+   * Take a copy of all the metrics recorded so far.
+   *
+   * @return a snapshot of the metrics
+   */
+  public static MetricsSnapshot snapshot() {
+    var stats = new ArrayList<ExpectatorStats>();
+
+    RECORDERS.values().forEach(
+        templates -> templates.values().forEach(recorder -> stats.add(recorder.snapshot()))
+    );
+
+    return new MetricsSnapshot(stats);
+  }
+
+  /**
+   * Discard all the metrics recorded so far.
+   */
+  public static void reset() {
+    RECORDERS.clear();
+  }
+}
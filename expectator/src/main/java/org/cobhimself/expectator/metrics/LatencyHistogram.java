@@ -0,0 +1,251 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free, log-linear histogram of nanosecond latencies.
+ * <p>
+ * Like HdrHistogram, values are grouped into buckets whose width doubles with every power of two,
+ * each power of two being divided into 32 linear sub-buckets. Values below 64 are recorded
+ * exactly and every other value is recorded within roughly 3% of its true value, whatever its
+ * magnitude. The bucket array is fixed at construction so recording never allocates; it only
+ * increments a bucket and a few striped counters, which allows any number of threads to record
+ * concurrently without locking.
+ */
+public class LatencyHistogram {
+  private static final int SUB_BUCKET_BITS = 6;
+  private static final int SUB_BUCKET_HALF_BITS = SUB_BUCKET_BITS - 1;
+  private static final int BUCKET_COUNT = bucketIndex(Long.MAX_VALUE) + 1;
+
+  private final AtomicLongArray counts;
+  private final LongAdder count = new LongAdder();
+  private final LongAdder total = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+  private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+
+  /**
+   * Construct an empty <code>LatencyHistogram</code>.
+   */
+  public LatencyHistogram() {
+    this.counts = new AtomicLongArray(BUCKET_COUNT);
+  }
+
+  /**
+   * Get the bucket a value is recorded in.
+   *
+   * @param value the value being recorded
+   *
+   * @return the index of the bucket holding the value
+   */
+  static int bucketIndex(long value) {
+    int exponent = Math.max(
+        0,
+        63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_HALF_BITS
+    );
+
+    return (exponent << SUB_BUCKET_HALF_BITS) + (int) (value >>> exponent);
+  }
+
+  /**
+   * Get the lowest value recorded in the given bucket.
+   *
+   * @param bucket the index of the bucket
+   *
+   * @return the lowest value held by the bucket
+   */
+  static long lowestValue(int bucket) {
+    int exponent = Math.max(0, (bucket >> SUB_BUCKET_HALF_BITS) - 1);
+
+    return (long) (bucket - (exponent << SUB_BUCKET_HALF_BITS)) << exponent;
+  }
+
+  /**
+   * Get the highest value recorded in the given bucket.
+   *
+   * @param bucket the index of the bucket
+   *
+   * @return the highest value held by the bucket
+   */
+  static long highestValue(int bucket) {
+    int exponent = Math.max(0, (bucket >> SUB_BUCKET_HALF_BITS) - 1);
+
+    return lowestValue(bucket) + (1L << exponent) - 1;
+  }
+
+  /**
+   * Record a single value; negative values are recorded as zero.
+   *
+   * @param nanos the latency to record, in nanoseconds
+   */
+  public void record(long nanos) {
+    long value = Math.max(0, nanos);
+
+    this.counts.incrementAndGet(bucketIndex(value));
+    this.count.increment();
+    this.total.add(value);
+    this.max.accumulate(value);
+    this.min.accumulate(value);
+  }
+
+  /**
+   * Take a copy of this histogram which is unaffected by later recordings.
+   *
+   * @return a copy of this histogram
+   */
+  public LatencyHistogram snapshot() {
+    var copy = new LatencyHistogram();
+    copy.add(this);
+
+    return copy;
+  }
+
+  /**
+   * Add all the values recorded by another histogram to this one.
+   *
+   * @param other the histogram whose values are added
+   */
+  public void add(LatencyHistogram other) {
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      long bucketCount = other.counts.get(i);
+
+      if (bucketCount != 0) {
+        this.counts.addAndGet(i, bucketCount);
+      }
+    }
+
+    this.count.add(other.count.sum());
+    this.total.add(other.total.sum());
+    this.max.accumulate(other.max.get());
+    this.min.accumulate(other.min.get());
+  }
+
+  /**
+   * Get the number of values recorded.
+   *
+   * @return the number of values recorded
+   */
+  public long getCount() {
+    return this.count.sum();
+  }
+
+  /**
+   * Get the sum of all values recorded.
+   *
+   * @return the total of all values, in nanoseconds
+   */
+  public long getTotal() {
+    return this.total.sum();
+  }
+
+  /**
+   * Get the mean of all values recorded.
+   *
+   * @return the mean value in nanoseconds, or zero when nothing has been recorded
+   */
+  public double getMean() {
+    long recorded = this.getCount();
+
+    return recorded == 0 ? 0 : (double) this.getTotal() / recorded;
+  }
+
+  /**
+   * Get the largest value recorded.
+   *
+   * @return the largest value in nanoseconds, or zero when nothing has been recorded
+   */
+  public long getMax() {
+    return this.max.get();
+  }
+
+  /**
+   * Get the smallest value recorded.
+   *
+   * @return the smallest value in nanoseconds, or zero when nothing has been recorded
+   */
+  public long getMin() {
+    return this.getCount() == 0 ? 0 : this.min.get();
+  }
+
+  /**
+   * Get the value at or below which the given percentage of recorded values fall.
+   * <p>
+   * The value reported is the highest value of the bucket the percentile falls in, capped at
+   * the largest value recorded.
+   *
+   * @param percentile the percentile, between 0 and 100
+   *
+   * @return the value at the percentile in nanoseconds, or zero when nothing has been recorded
+   */
+  public long getValueAtPercentile(double percentile) {
+    long[] snapshot = new long[BUCKET_COUNT];
+    long recorded = 0;
+
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      snapshot[i] = this.counts.get(i);
+      recorded += snapshot[i];
+    }
+
+    if (recorded == 0) {
+      return 0;
+    }
+
+    double clamped = Math.min(100, Math.max(0, percentile));
+    long target = Math.max(1, (long) Math.ceil(clamped / 100 * recorded));
+    long cumulative = 0;
+
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      cumulative += snapshot[i];
+
+      if (cumulative >= target) {
+        return Math.min(highestValue(i), this.getMax());
+      }
+    }
+
+    return this.getMax();
+  }
+
+  /**
+   * Summarise the distribution of recorded values.
+   *
+   * @return the count, mean and selected percentiles of the recorded values
+   */
+  @Override public String toString() {
+    return String.format(
+        "count=%d min=%dns mean=%.1fns p50=%dns p90=%dns p99=%dns p99.9=%dns max=%dns",
+        this.getCount(),
+        this.getMin(),
+        this.getMean(),
+        this.getValueAtPercentile(50),
+        this.getValueAtPercentile(90),
+        this.getValueAtPercentile(99),
+        this.getValueAtPercentile(99.9),
+        this.getMax()
+    );
+  }
+}
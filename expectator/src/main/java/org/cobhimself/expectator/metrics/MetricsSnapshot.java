@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.metrics;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A point in time copy of all the metrics recorded by {@link ExpectatorMetrics}.
+ */
+public class MetricsSnapshot {
+  private static final Comparator<ExpectatorStats> SLOWEST_FIRST =
+      Comparator.comparingDouble((ExpectatorStats stats) -> stats.getLatencies().getMean())
+          .reversed();
+
+  private final List<ExpectatorStats> stats;
+
+  /**
+   * Construct a <code>MetricsSnapshot</code>.
+   *
+   * @param stats the metrics of every expectator recorded
+   */
+  public MetricsSnapshot(List<ExpectatorStats> stats) {
+    this.stats = List.copyOf(stats);
+  }
+
+  /**
+   * Get the metrics of every expectator recorded.
+   *
+   * @return the metrics of every expectator
+   */
+  public List<ExpectatorStats> getStats() {
+    return this.stats;
+  }
+
+  /**
+   * Get the expectators with the highest mean confirmation latency.
+   *
+   * @param limit the maximum number of expectators to return
+   *
+   * @return the slowest expectators, slowest first
+   */
+  public List<ExpectatorStats> getSlowest(int limit) {
+    return this.stats.stream()
+        .sorted(SLOWEST_FIRST)
+        .limit(limit)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Build a report of the expectators with the highest mean confirmation latency.
+   *
+   * @param limit the maximum number of expectators to report
+   *
+   * @return one line per expectator, slowest first
+   */
+  public String reportSlowest(int limit) {
+    return this.getSlowest(limit).stream()
+        .map(ExpectatorStats::toString)
+        .collect(Collectors.joining(System.lineSeparator()));
+  }
+}
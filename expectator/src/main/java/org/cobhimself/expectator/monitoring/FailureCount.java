@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.monitoring;
+
+import java.util.List;
+
+/**
+ * A point in time copy of the failures recorded for one expectation name and failure message
+ * template pair.
+ */
+public class FailureCount {
+  private final String expectationName;
+  private final String messageTemplate;
+  private final long failures;
+  private final List<String> samples;
+
+  /**
+   * Construct a <code>FailureCount</code>.
+   *
+   * @param expectationName the name of the expectation the expectators belong to
+   * @param messageTemplate the failure message template of the expectators
+   * @param failures        the number of confirmations which failed
+   * @param samples         the sampled failure details
+   */
+  public FailureCount(
+      String expectationName,
+      String messageTemplate,
+      long failures,
+      List<String> samples
+  ) {
+    this.expectationName = expectationName;
+    this.messageTemplate = messageTemplate;
+    this.failures = failures;
+    this.samples = List.copyOf(samples);
+  }
+
+  /**
+   * Get the name of the expectation the expectators belong to.
+   *
+   * @return the expectation name
+   */
+  public String getExpectationName() {
+    return this.expectationName;
+  }
+
+  /**
+   * Get the failure message template of the expectators.
+   *
+   * @return the failure message template
+   */
+  public String getMessageTemplate() {
+    return this.messageTemplate;
+  }
+
+  /**
+   * Get the number of confirmations which failed.
+   *
+   * @return the number of failures
+   */
+  public long getFailures() {
+    return this.failures;
+  }
+
+  /**
+   * Get a uniform random sample of the failure details, bounded by the monitor's reservoir size.
+   *
+   * @return the sampled failure details
+   */
+  public List<String> getSamples() {
+    return this.samples;
+  }
+
+  @Override public String toString() {
+    return String.format(
+        "%s [%s]: failures=%d samples=%s",
+        this.expectationName,
+        this.messageTemplate,
+        this.failures,
+        this.samples
+    );
+  }
+}
@@ -0,0 +1,256 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.monitoring;
+
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.cobhimself.expectator.ExpectatorEntry;
+
+/**
+ * Records expectation failures instead of throwing them.
+ * <p>
+ * An expectation given a <code>FailureMonitor</code> confirms every expectator as usual but, rather
+ * than throwing an <code>ExpectatorException</code>, counts each failure against its expectation
+ * name and failure message template. The calling thread carries on undisturbed, which makes a
+ * monitor suitable for canary deployments where failures should be observed rather than acted on.
+ * An expectator which throws is recorded as a failure too, its exception standing in for the
+ * failure details.
+ * <p>
+ * Failures are counted with striped counters so threads failing at once do not contend. When a
+ * reservoir size is given, a uniform random sample of the failure details of each pair is kept as
+ * well; the details are only formatted for the failures which make it into the sample, and never
+ * while holding a lock.
+ * <p>
+ * The counts are exported through {@link #snapshot()}.
+ */
+public class FailureMonitor {
+  private final int reservoirSize;
+  private final ConcurrentHashMap<String, ConcurrentHashMap<String, Counter>> counters =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Construct a <code>FailureMonitor</code> which only counts failures.
+   */
+  public FailureMonitor() {
+    this(0);
+  }
+
+  /**
+   * Construct a <code>FailureMonitor</code> which counts failures and samples their details.
+   *
+   * @param reservoirSize the maximum number of failure details kept per expectation name and
+   *                      failure message template
+   */
+  public FailureMonitor(int reservoirSize) {
+    if (reservoirSize < 0) {
+      throw new IllegalArgumentException("The reservoir size cannot be negative");
+    }
+
+    this.reservoirSize = reservoirSize;
+  }
+
+  /**
+   * The live failure count of one expectation name and failure message template pair.
+   */
+  private static final class Counter {
+    private final String expectationName;
+    private final String messageTemplate;
+    private final LongAdder failures = new LongAdder();
+    private final String[] reservoir;
+    private final long[] claims;
+    private long sampled = 0;
+
+    Counter(String expectationName, String messageTemplate, int reservoirSize) {
+      this.expectationName = expectationName;
+      this.messageTemplate = messageTemplate;
+      this.reservoir = new String[reservoirSize];
+      this.claims = new long[reservoirSize];
+    }
+
+    /**
+     * Offer a failure to the reservoir, keeping every failure with equal probability.
+     * <p>
+     * Only picking the slot is done under the lock. The details, which may re-run an expensive
+     * comparison, are built outside it and then stored unless a later failure has claimed the
+     * slot meanwhile. Should building them throw, a description of the exception is kept instead
+     * so the monitored caller is never disturbed.
+     *
+     * @param failureDetails builds the details of the failure
+     */
+    void sample(Supplier<String> failureDetails) {
+      long seen;
+      int slot;
+
+      synchronized (this) {
+        seen = ++this.sampled;
+        long candidate = seen <= this.reservoir.length
+            ? seen - 1
+            : ThreadLocalRandom.current().nextLong(seen);
+
+        if (candidate >= this.reservoir.length) {
+          return;
+        }
+
+        slot = (int) candidate;
+        this.claims[slot] = seen;
+      }
+
+      String details;
+
+      try {
+        details = failureDetails.get();
+      } catch (RuntimeException e) {
+        details = "failure details could not be built: " + e;
+      }
+
+      synchronized (this) {
+        if (this.claims[slot] == seen) {
+          this.reservoir[slot] = details;
+        }
+      }
+    }
+
+    synchronized FailureCount snapshot() {
+      var details = new ArrayList<String>(this.reservoir.length);
+
+      for (String detail : this.reservoir) {
+        //A slot claimed for the first time is empty until its details are built
+        if (detail != null) {
+          details.add(detail);
+        }
+      }
+
+      return new FailureCount(
+          this.expectationName,
+          this.messageTemplate,
+          this.failures.sum(),
+          details
+      );
+    }
+  }
+
+  /**
+   * Get the maximum number of failure details kept per expectation name and failure message
+   * template.
+   *
+   * @return the reservoir size
+   */
+  public int getReservoirSize() {
+    return this.reservoirSize;
+  }
+
+  /**
+   * Record the failure of the given entry against the given expected value.
+   *
+   * @param entry         the entry which failed
+   * @param expectedValue the expected value it failed against
+   * @param <T>           the type of the expected value
+   */
+  public <T> void recordFailure(ExpectatorEntry<T> entry, T expectedValue) {
+    this.record(entry, () -> entry.outcomeDetails(expectedValue));
+  }
+
+  /**
+   * Record the failure of the given entry whose expectator threw rather than passing or failing.
+   *
+   * @param entry     the entry which failed
+   * @param exception the exception its expectator threw
+   */
+  public void recordException(ExpectatorEntry<?> entry, RuntimeException exception) {
+    this.record(entry, () -> "expectator threw " + exception);
+  }
+
+  /**
+   * Count a failure of the given entry and offer its details to the reservoir, if any.
+   *
+   * @param entry          the entry which failed
+   * @param failureDetails builds the details of the failure
+   */
+  private void record(ExpectatorEntry<?> entry, Supplier<String> failureDetails) {
+    var counter = this.counter(
+        Objects.toString(entry.getParentExpectation().getName(), ""),
+        Objects.toString(entry.getMessage(), "")
+    );
+
+    counter.failures.increment();
+
+    if (this.reservoirSize > 0) {
+      counter.sample(failureDetails);
+    }
+  }
+
+  /**
+   * Get the counter for the given pair, creating it the first time it is seen.
+   *
+   * @param expectationName the name of the expectation
+   * @param messageTemplate the failure message template
+   *
+   * @return the counter for the pair
+   */
+  private Counter counter(String expectationName, String messageTemplate) {
+    var templates = this.counters.get(expectationName);
+
+    if (templates == null) {
+      templates = this.counters.computeIfAbsent(expectationName, k -> new ConcurrentHashMap<>());
+    }
+
+    var counter = templates.get(messageTemplate);
+
+    if (counter == null) {
+      counter = templates.computeIfAbsent(
+          messageTemplate,
+          k -> new Counter(expectationName, messageTemplate, this.reservoirSize)
+      );
+    }
+
+    return counter;
+  }
+
+  /**
+   * Take a copy of all the failures recorded so far.
+   *
+   * @return a snapshot of the failures
+   */
+  public FailureSnapshot snapshot() {
+    var counts = new ArrayList<FailureCount>();
+
+    this.counters.values().forEach(
+        templates -> templates.values().forEach(counter -> counts.add(counter.snapshot()))
+    );
+
+    return new FailureSnapshot(counts);
+  }
+
+  /**
+   * Discard all the failures recorded so far.
+   */
+  public void reset() {
+    this.counters.clear();
+  }
+}
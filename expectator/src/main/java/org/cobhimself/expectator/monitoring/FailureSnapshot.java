@@ -0,0 +1,73 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.monitoring;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A point in time copy of all the failures recorded by a {@link FailureMonitor}.
+ */
+public class FailureSnapshot {
+  private final List<FailureCount> counts;
+
+  /**
+   * Construct a <code>FailureSnapshot</code>.
+   *
+   * @param counts the failures of every expectator recorded
+   */
+  public FailureSnapshot(List<FailureCount> counts) {
+    this.counts = List.copyOf(counts);
+  }
+
+  /**
+   * Get the failures of every expectator recorded.
+   *
+   * @return the failures of every expectator
+   */
+  public List<FailureCount> getCounts() {
+    return this.counts;
+  }
+
+  /**
+   * Get the total number of failures across all expectators.
+   *
+   * @return the total number of failures
+   */
+  public long getTotalFailures() {
+    return this.counts.stream().mapToLong(FailureCount::getFailures).sum();
+  }
+
+  /**
+   * Build a report of the failures, one line per expectation name and failure message template.
+   *
+   * @return the report
+   */
+  public String report() {
+    return this.counts.stream()
+        .map(FailureCount::toString)
+        .collect(Collectors.joining(System.lineSeparator()));
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.performance;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Reads the number of bytes the current thread has allocated on the heap, through
+ * <code>com.sun.management.ThreadMXBean</code>.
+ * <p>
+ * Not every JVM provides the counter. When it is missing, or cannot be enabled,
+ * {@link #isSupported()} is false and {@link #getAllocatedBytes()} returns -1 rather than
+ * failing; callers are expected to check before relying on it.
+ * <p>
+ * On HotSpot the counter includes the used part of the thread's current TLAB, so it is exact to
+ * the byte. Reading it may itself allocate a little on some JDKs; {@link #getReadOverhead()}
+ * measures how much so it can be subtracted from a measurement.
+ */
+public final class AllocationMeter {
+  private static final int CALIBRATION_READS = 16;
+  private static final com.sun.management.ThreadMXBean BEAN = lookup();
+
+  private AllocationMeter() {
+  }
+
+  /**
+   * Find and enable the thread allocation counter.
+   *
+   * @return the bean providing it, or null when it is unavailable
+   */
+  private static com.sun.management.ThreadMXBean lookup() {
+    try {
+      var bean = ManagementFactory.getThreadMXBean();
+
+      if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+        return null;
+      }
+
+      var allocationBean = (com.sun.management.ThreadMXBean) bean;
+
+      if (!allocationBean.isThreadAllocatedMemorySupported()) {
+        return null;
+      }
+
+      if (!allocationBean.isThreadAllocatedMemoryEnabled()) {
+        allocationBean.setThreadAllocatedMemoryEnabled(true);
+      }
+
+      return allocationBean;
+    } catch (LinkageError | UnsupportedOperationException | SecurityException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Whether the allocated bytes of a thread can be measured on this JVM.
+   *
+   * @return true when allocations can be measured
+   */
+  public static boolean isSupported() {
+    return BEAN != null;
+  }
+
+  /**
+   * Get the number of bytes allocated by the current thread since it started.
+   *
+   * @return the allocated bytes, or -1 when allocations cannot be measured
+   */
+  public static long getAllocatedBytes() {
+    return BEAN == null ? -1 : BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  /**
+   * Measure the bytes allocated by reading the counter, taking the smallest of several
+   * consecutive reads.
+   *
+   * @return the bytes allocated by a single read, or zero when allocations cannot be measured
+   */
+  public static long getReadOverhead() {
+    if (BEAN == null) {
+      return 0;
+    }
+
+    long overhead = Long.MAX_VALUE;
+
+    for (int i = 0; i < CALIBRATION_READS; i++) {
+      long before = getAllocatedBytes();
+      long after = getAllocatedBytes();
+      overhead = Math.min(overhead, after - before);
+    }
+
+    return Math.max(0, overhead);
+  }
+}
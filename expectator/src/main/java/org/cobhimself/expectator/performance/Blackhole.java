@@ -0,0 +1,106 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.performance;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Consumes the results of measured actions so the JIT cannot remove the work that produced them
+ * as dead code.
+ * <p>
+ * As in JMH, each value is compared against two volatile fields holding different values; the
+ * comparison can never succeed but the JIT cannot prove it, so the value must be computed, while
+ * the cost of consuming it stays at a couple of loads. A <code>Blackhole</code> is meant to be
+ * used by a single measuring thread.
+ */
+public final class Blackhole {
+  private final int seed = ThreadLocalRandom.current().nextInt(Integer.MAX_VALUE - 1);
+  private volatile int i1 = this.seed;
+  private volatile int i2 = this.seed + 1;
+  private volatile long l1 = this.seed;
+  private volatile long l2 = this.seed + 1L;
+  private volatile double d1 = this.seed;
+  private volatile double d2 = this.seed + 1.0;
+  private volatile Object sink;
+  private int mask = 1;
+  private int counter = 0;
+
+  /**
+   * Consume an object.
+   *
+   * @param value the object to consume
+   */
+  public void consume(Object value) {
+    //Publishing only once every 2^n calls, n growing, keeps the store off the fast path
+    int counter = ++this.counter;
+
+    if ((counter & this.mask) == 0) {
+      this.sink = value;
+      this.mask = (this.mask << 1) | 1;
+    }
+  }
+
+  /**
+   * Consume an int.
+   *
+   * @param value the int to consume
+   */
+  public void consume(int value) {
+    if (value == this.i1 & value == this.i2) {
+      this.sink = value;
+    }
+  }
+
+  /**
+   * Consume a long.
+   *
+   * @param value the long to consume
+   */
+  public void consume(long value) {
+    if (value == this.l1 & value == this.l2) {
+      this.sink = value;
+    }
+  }
+
+  /**
+   * Consume a double.
+   *
+   * @param value the double to consume
+   */
+  public void consume(double value) {
+    if (value == this.d1 & value == this.d2) {
+      this.sink = value;
+    }
+  }
+
+  /**
+   * Consume a boolean.
+   *
+   * @param value the boolean to consume
+   */
+  public void consume(boolean value) {
+    this.consume(value ? 1 : 0);
+  }
+}
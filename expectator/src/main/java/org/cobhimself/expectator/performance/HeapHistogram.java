@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.performance;
+
+import java.lang.management.ManagementFactory;
+import java.util.regex.Pattern;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Summarizes the class histogram of the live heap, as produced by <code>jcmd GC.class_histogram
+ * </code>, through the HotSpot <code>DiagnosticCommand</code> MBean.
+ * <p>
+ * Taking a histogram runs a full collection and walks the heap, so it is meant for explaining
+ * failures rather than for hot paths. On JVMs without the MBean the summary is null.
+ */
+public final class HeapHistogram {
+  private static final String DIAGNOSTIC_COMMAND = "com.sun.management:type=DiagnosticCommand";
+  private static final int HEADER_LINES = 2;
+
+  private HeapHistogram() {
+  }
+
+  /**
+   * Take a histogram of the live heap.
+   *
+   * @return the histogram, one class per line by descending size, or null when unavailable
+   */
+  public static String take() {
+    try {
+      return (String) ManagementFactory.getPlatformMBeanServer().invoke(
+          new ObjectName(DIAGNOSTIC_COMMAND),
+          "gcClassHistogram",
+          new Object[] {new String[0]},
+          new String[] {String[].class.getName()}
+      );
+    } catch (JMException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Take a histogram of the live heap and summarize it: its header, the largest classes and the
+   * line of the given class, wherever it ranks.
+   *
+   * @param type the class of interest
+   * @param top  the number of largest classes to include
+   *
+   * @return the summary, or null when histograms are unavailable
+   */
+  public static String summarize(Class<?> type, int top) {
+    String histogram = take();
+
+    if (histogram == null) {
+      return null;
+    }
+
+    var matcher = Pattern.compile("\\s" + Pattern.quote(type.getName()) + "(\\s|$)");
+    var summary = new StringBuilder();
+    String[] lines = histogram.split("\n");
+    int shown = Math.min(lines.length, HEADER_LINES + top);
+    boolean found = false;
+
+    for (int i = 0; i < shown; i++) {
+      summary.append(lines[i]).append('\n');
+      found |= matcher.matcher(lines[i]).find();
+    }
+
+    for (int i = shown; i < lines.length && !found; i++) {
+      if (matcher.matcher(lines[i]).find()) {
+        summary.append("...\n").append(lines[i]).append('\n');
+        found = true;
+      }
+    }
+
+    if (!found) {
+      summary.append("no live instances of ").append(type.getName()).append('\n');
+    }
+
+    return summary.toString();
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.performance;
+
+import java.util.Arrays;
+
+/**
+ * The operations completed by each thread of a throughput measurement over its duration.
+ * <p>
+ * Along with the aggregate rate, the spread of the threads' rates is reported: a high
+ * coefficient of variation points at contention or unfair scheduling which the aggregate hides.
+ */
+public class ThroughputResult {
+  private final long[] threadOperations;
+  private final long nanos;
+
+  /**
+   * Construct a <code>ThroughputResult</code>.
+   *
+   * @param threadOperations the number of operations completed by each thread
+   * @param nanos            the duration of the measurement in nanoseconds
+   */
+  public ThroughputResult(long[] threadOperations, long nanos) {
+    if (threadOperations.length == 0) {
+      throw new IllegalArgumentException("There must be at least one thread");
+    }
+
+    if (nanos <= 0) {
+      throw new IllegalArgumentException("The duration must be positive");
+    }
+
+    this.threadOperations = threadOperations.clone();
+    this.nanos = nanos;
+  }
+
+  /**
+   * Get the number of threads measured.
+   *
+   * @return the number of threads
+   */
+  public int getThreads() {
+    return this.threadOperations.length;
+  }
+
+  /**
+   * Get the number of operations completed by a thread.
+   *
+   * @param thread the index of the thread
+   *
+   * @return the number of operations
+   */
+  public long getThreadOperations(int thread) {
+    return this.threadOperations[thread];
+  }
+
+  /**
+   * Get the number of operations completed by all threads.
+   *
+   * @return the total number of operations
+   */
+  public long getTotalOperations() {
+    return Arrays.stream(this.threadOperations).sum();
+  }
+
+  /**
+   * Get the duration of the measurement.
+   *
+   * @return the duration in nanoseconds
+   */
+  public long getNanos() {
+    return this.nanos;
+  }
+
+  /**
+   * Get the rate of operations of all threads together.
+   *
+   * @return the operations per second
+   */
+  public double getOperationsPerSecond() {
+    return this.getTotalOperations() * 1e9 / this.nanos;
+  }
+
+  /**
+   * Get the mean rate of operations of a single thread.
+   *
+   * @return the mean operations per second per thread
+   */
+  public double getThreadMean() {
+    return this.getOperationsPerSecond() / this.threadOperations.length;
+  }
+
+  /**
+   * Get the sample variance of the threads' rates of operations.
+   *
+   * @return the variance of the operations per second per thread, zero for a single thread
+   */
+  public double getThreadVariance() {
+    int threads = this.threadOperations.length;
+
+    if (threads < 2) {
+      return 0;
+    }
+
+    double mean = this.getThreadMean();
+    double squares = 0;
+
+    for (long operations : this.threadOperations) {
+      double deviation = operations * 1e9 / this.nanos - mean;
+      squares += deviation * deviation;
+    }
+
+    return squares / (threads - 1);
+  }
+
+  /**
+   * Get the sample standard deviation of the threads' rates of operations.
+   *
+   * @return the standard deviation of the operations per second per thread
+   */
+  public double getThreadStandardDeviation() {
+    return Math.sqrt(this.getThreadVariance());
+  }
+
+  /**
+   * Get the standard deviation of the threads' rates relative to their mean.
+   *
+   * @return the coefficient of variation, zero when no operations completed
+   */
+  public double getCoefficientOfVariation() {
+    double mean = this.getThreadMean();
+
+    return mean == 0 ? 0 : this.getThreadStandardDeviation() / mean;
+  }
+
+  @Override public String toString() {
+    return String.format(
+        "%.1f ops/s over %d threads in %dms; per thread mean=%.1f ops/s stddev=%.1f ops/s cv=%.3f",
+        this.getOperationsPerSecond(),
+        this.getThreads(),
+        this.nanos / 1_000_000,
+        this.getThreadMean(),
+        this.getThreadStandardDeviation(),
+        this.getCoefficientOfVariation()
+    );
+  }
+}
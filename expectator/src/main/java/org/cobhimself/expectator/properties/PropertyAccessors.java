@@ -0,0 +1,214 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.properties;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves the properties of a class into <code>MethodHandle</code>s, once per class.
+ * <p>
+ * The first time a class is seen, every property it exposes is resolved and the resulting handles
+ * are cached in a <code>ClassValue</code>; later lookups are a <code>ClassValue</code> read and a
+ * map lookup. The cache does not keep classes from being unloaded.
+ * <p>
+ * A property <code>foo</code> is read, in order of preference, through a public
+ * <code>getFoo()</code> method, a public <code>isFoo()</code> method returning a boolean, a public
+ * <code>foo()</code> method backed by an instance field named <code>foo</code> (as generated for
+ * record components) or a public <code>foo</code> field. Other bare-named methods, such as
+ * <code>size()</code>, <code>iterator()</code> or <code>toString()</code>, are not properties, so
+ * a misspelt property name fails rather than calling a method with side effects. Every handle is
+ * adapted to take and return an <code>Object</code> so it can be invoked exactly, without the
+ * boxing and argument checks of <code>Method.invoke</code>.
+ */
+public final class PropertyAccessors {
+  private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+  private static final ClassValue<Map<String, MethodHandle>> ACCESSORS =
+      new ClassValue<>() {
+        @Override protected Map<String, MethodHandle> computeValue(Class<?> type) {
+          return resolve(type);
+        }
+      };
+
+  private PropertyAccessors() {
+  }
+
+  /**
+   * Get the accessor of the named property of the given class.
+   *
+   * @param type the class declaring the property
+   * @param name the name of the property
+   *
+   * @return a handle of type <code>(Object)Object</code> reading the property
+   *
+   * @throws IllegalArgumentException when the class has no such property
+   */
+  public static MethodHandle accessor(Class<?> type, String name) {
+    var accessor = ACCESSORS.get(type).get(name);
+
+    if (accessor == null) {
+      throw new IllegalArgumentException(
+          "No property " + name + " found on " + type.getName()
+      );
+    }
+
+    return accessor;
+  }
+
+  /**
+   * Get the names of every property of the given class.
+   *
+   * @param type the class declaring the properties
+   *
+   * @return the property names
+   */
+  public static Set<String> names(Class<?> type) {
+    return ACCESSORS.get(type).keySet();
+  }
+
+  /**
+   * Resolve every property of the given class.
+   *
+   * @param type the class to resolve
+   *
+   * @return the accessors of the class, by property name
+   */
+  private static Map<String, MethodHandle> resolve(Class<?> type) {
+    var accessors = new HashMap<String, MethodHandle>();
+    Method[] methods = type.getMethods();
+
+    for (Method method : methods) {
+      String name = method.getName();
+
+      if (isAccessor(method) && name.length() > 3 && name.startsWith("get")
+          && !name.equals("getClass")
+      ) {
+        put(accessors, decapitalize(name.substring(3)), method);
+      }
+    }
+
+    for (Method method : methods) {
+      String name = method.getName();
+
+      if (isAccessor(method) && name.length() > 2 && name.startsWith("is")
+          && (method.getReturnType() == boolean.class || method.getReturnType() == Boolean.class)
+      ) {
+        put(accessors, decapitalize(name.substring(2)), method);
+      }
+    }
+
+    for (Method method : methods) {
+      if (isAccessor(method) && hasInstanceField(type, method.getName())) {
+        put(accessors, method.getName(), method);
+      }
+    }
+
+    for (Field field : type.getFields()) {
+      if (!Modifier.isStatic(field.getModifiers())) {
+        put(accessors, field.getName(), field);
+      }
+    }
+
+    return Collections.unmodifiableMap(accessors);
+  }
+
+  /**
+   * Whether the given class, or one of its superclasses, declares an instance field of the given
+   * name; a bare-named method is only taken for an accessor when such a field backs it.
+   *
+   * @param type the class
+   * @param name the name of the field
+   *
+   * @return true when an instance field of that name is declared
+   */
+  private static boolean hasInstanceField(Class<?> type, String name) {
+    for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+      for (Field field : c.getDeclaredFields()) {
+        if (field.getName().equals(name) && !Modifier.isStatic(field.getModifiers())) {
+          return true;
+        }
+      }
+    }
+
+    return false;
+  }
+
+  private static boolean isAccessor(Method method) {
+    return !Modifier.isStatic(method.getModifiers())
+        && method.getParameterCount() == 0
+        && method.getReturnType() != void.class;
+  }
+
+  /**
+   * Add the accessor of a property unless a preferred accessor was already found.
+   * <p>
+   * Members which cannot be made accessible, such as those of classes in modules which are not
+   * open to this library, are skipped.
+   *
+   * @param accessors the accessors found so far
+   * @param name      the name of the property
+   * @param member    the method or field reading the property
+   */
+  private static void put(
+      Map<String, MethodHandle> accessors,
+      String name,
+      AccessibleObject member
+  ) {
+    if (accessors.containsKey(name) || !member.trySetAccessible()) {
+      return;
+    }
+
+    try {
+      MethodHandle handle = member instanceof Method
+          ? LOOKUP.unreflect((Method) member)
+          : LOOKUP.unreflectGetter((Field) member);
+
+      accessors.put(name, handle.asType(ACCESSOR_TYPE));
+    } catch (IllegalAccessException e) {
+      //Inaccessible members are not properties we can read
+    }
+  }
+
+  private static String decapitalize(String name) {
+    if (name.length() > 1 && Character.isUpperCase(name.charAt(1))
+        && Character.isUpperCase(name.charAt(0))
+    ) {
+      return name;
+    }
+
+    return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+  }
+}
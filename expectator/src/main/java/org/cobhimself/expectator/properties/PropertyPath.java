@@ -0,0 +1,144 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.properties;
+
+import java.lang.invoke.MethodHandle;
+import java.util.regex.Pattern;
+
+/**
+ * A dot separated path of properties, such as <code>address.zip</code>, read from an object graph
+ * through the cached accessors of {@link PropertyAccessors}.
+ * <p>
+ * The path is parsed once. Each segment remembers the last class it was read from and the
+ * accessor it resolved, so reading the same path from many objects of the same classes skips even
+ * the cache lookup.
+ */
+public final class PropertyPath {
+  private static final Pattern SEPARATOR = Pattern.compile("\\.");
+
+  private final String path;
+  private final Segment[] segments;
+
+  private PropertyPath(String path, Segment[] segments) {
+    this.path = path;
+    this.segments = segments;
+  }
+
+  /**
+   * A single property of the path along with the accessor it last resolved.
+   */
+  private static final class Segment {
+    private final String name;
+    private volatile Resolution resolution;
+
+    Segment(String name) {
+      this.name = name;
+    }
+
+    MethodHandle accessor(Class<?> type) {
+      var resolved = this.resolution;
+
+      if (resolved == null || resolved.type != type) {
+        resolved = new Resolution(type, PropertyAccessors.accessor(type, this.name));
+        this.resolution = resolved;
+      }
+
+      return resolved.accessor;
+    }
+  }
+
+  /**
+   * The accessor a segment resolved for a class; replaced as a whole so readers never see a class
+   * paired with another class's accessor.
+   */
+  private static final class Resolution {
+    private final Class<?> type;
+    private final MethodHandle accessor;
+
+    Resolution(Class<?> type, MethodHandle accessor) {
+      this.type = type;
+      this.accessor = accessor;
+    }
+  }
+
+  /**
+   * Parse a property path.
+   *
+   * @param path the dot separated property names
+   *
+   * @return the parsed path
+   *
+   * @throws IllegalArgumentException when the path contains an empty property name
+   */
+  public static PropertyPath of(String path) {
+    String[] names = SEPARATOR.split(path, -1);
+    var segments = new Segment[names.length];
+
+    for (int i = 0; i < names.length; i++) {
+      if (names[i].isEmpty()) {
+        throw new IllegalArgumentException("Invalid property path: " + path);
+      }
+
+      segments[i] = new Segment(names[i]);
+    }
+
+    return new PropertyPath(path, segments);
+  }
+
+  /**
+   * Read the value at the end of this path.
+   *
+   * @param root the object the path starts from
+   *
+   * @return the value read, or null when the root or any intermediate value is null
+   *
+   * @throws IllegalArgumentException when a property of the path does not exist
+   */
+  public Object read(Object root) {
+    Object value = root;
+
+    for (Segment segment : this.segments) {
+      if (value == null) {
+        return null;
+      }
+
+      var accessor = segment.accessor(value.getClass());
+
+      try {
+        value = (Object) accessor.invokeExact(value);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable t) {
+        throw new IllegalStateException("Cannot read " + segment.name + " of " + this.path, t);
+      }
+    }
+
+    return value;
+  }
+
+  @Override public String toString() {
+    return this.path;
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.sampling;
+
+import java.util.concurrent.atomic.LongAdder;
+import org.cobhimself.expectator.exceptions.ExpectatorException;
+import org.cobhimself.expectator.expectations.Expectation;
+import org.cobhimself.expectator.expectations.ExpectationSpec;
+
+/**
+ * A guard which only confirms the values picked by a {@link Sampler} against an
+ * {@link ExpectationSpec}.
+ * <p>
+ * Intended for expectations embedded as invariant checks in production code paths: evaluating
+ * every call would be too expensive, but evaluating none would leave failures unseen. Calls which
+ * are not sampled return straight away; calls which are sampled confirm their value against the
+ * spec and fail as usual.
+ * <p>
+ * Each call passes its own value to {@link #confirm(Object)} and the spec is immutable, so a
+ * single guard can be shared by any number of threads without one thread confirming another's
+ * value.
+ * <p>
+ * The number of evaluated and skipped calls is counted with striped counters so reporting them
+ * adds no contention between threads.
+ *
+ * @param <T> the type of value expectators will work with.
+ */
+public class SampledExpectation<T> {
+  private final ExpectationSpec<T> spec;
+  private final Sampler sampler;
+  private final LongAdder evaluated = new LongAdder();
+  private final LongAdder skipped = new LongAdder();
+
+  /**
+   * Construct a <code>SampledExpectation</code>.
+   *
+   * @param spec    the spec values are confirmed against when a call is sampled
+   * @param sampler the sampler picking which calls are confirmed
+   */
+  public SampledExpectation(ExpectationSpec<T> spec, Sampler sampler) {
+    if (spec == null || sampler == null) {
+      throw new IllegalArgumentException("The spec and the sampler cannot be null");
+    }
+
+    this.spec = spec;
+    this.sampler = sampler;
+  }
+
+  /**
+   * Construct a <code>SampledExpectation</code> from the expectators currently established for
+   * the given expectation; see {@link Expectation#toSpec()}.
+   *
+   * @param expectation the expectation whose expectators values are confirmed against
+   * @param sampler     the sampler picking which calls are confirmed
+   */
+  public SampledExpectation(Expectation<T> expectation, Sampler sampler) {
+    this(expectation.toSpec(), sampler);
+  }
+
+  /**
+   * Get the spec values are confirmed against when a call is sampled.
+   *
+   * @return the spec
+   */
+  public ExpectationSpec<T> getSpec() {
+    return this.spec;
+  }
+
+  /**
+   * Get the name of the spec.
+   *
+   * @return the name of the spec
+   */
+  public String getName() {
+    return this.spec.getName();
+  }
+
+  /**
+   * Confirm the given value against the spec if the sampler picks this call.
+   *
+   * @param value the value to confirm
+   *
+   * @throws ExpectatorException when the call is sampled and the value fails the spec
+   */
+  public void confirm(T value) {
+    if (!this.sampler.sample()) {
+      this.skipped.increment();
+
+      return;
+    }
+
+    this.evaluated.increment();
+    this.spec.confirm(value);
+  }
+
+  /**
+   * Get the number of calls to {@link #confirm(Object)} which were evaluated.
+   *
+   * @return the number of evaluated calls
+   */
+  public long getEvaluatedCount() {
+    return this.evaluated.sum();
+  }
+
+  /**
+   * Get the number of calls to {@link #confirm(Object)} which were skipped.
+   *
+   * @return the number of skipped calls
+   */
+  public long getSkippedCount() {
+    return this.skipped.sum();
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.sampling;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides whether a single call should be evaluated.
+ * <p>
+ * Samplers are used by {@link SampledExpectation} to confirm only a fraction of the calls made
+ * to an expectation, but can equally guard an <code>ExpectationSpec</code> directly. All the
+ * samplers provided here are safe to share between threads.
+ */
+@FunctionalInterface
+public interface Sampler {
+
+  /**
+   * Whether the current call should be evaluated.
+   *
+   * @return true to evaluate the call, false to skip it
+   */
+  boolean sample();
+
+  /**
+   * Get a sampler which evaluates every call.
+   *
+   * @return a sampler which always samples
+   */
+  static Sampler always() {
+    return () -> true;
+  }
+
+  /**
+   * Get a sampler which evaluates, on average, one call in every <code>n</code>.
+   * <p>
+   * Calls are picked at random from the calling thread's <code>ThreadLocalRandom</code>, so
+   * deciding costs a few nanoseconds and threads never contend.
+   *
+   * @param n the average number of calls per evaluated call
+   *
+   * @return a sampler evaluating one call in <code>n</code>
+   */
+  static Sampler oneIn(int n) {
+    if (n < 1) {
+      throw new IllegalArgumentException("Cannot sample one call in " + n);
+    }
+
+    if (n == 1) {
+      return always();
+    }
+
+    if (Integer.bitCount(n) == 1) {
+      int mask = n - 1;
+
+      return () -> (ThreadLocalRandom.current().nextInt() & mask) == 0;
+    }
+
+    return () -> ThreadLocalRandom.current().nextInt(n) == 0;
+  }
+
+  /**
+   * Get a sampler which evaluates at most <code>budget</code> calls per second across all threads.
+   * <p>
+   * Once the budget of the current second is spent, deciding costs a clock read and a volatile
+   * read.
+   *
+   * @param budget the maximum number of calls evaluated per second
+   *
+   * @return a sampler evaluating at most <code>budget</code> calls per second
+   */
+  static Sampler perSecond(long budget) {
+    if (budget < 0) {
+      throw new IllegalArgumentException("Cannot sample a negative budget of " + budget);
+    }
+
+    long window = TimeUnit.SECONDS.toNanos(1);
+    var windowStart = new AtomicLong(System.nanoTime());
+    var used = new AtomicLong();
+
+    return () -> {
+      long now = System.nanoTime();
+      long start = windowStart.get();
+
+      if (now - start >= window && windowStart.compareAndSet(start, now)) {
+        used.set(0);
+      }
+
+      return used.get() < budget && used.incrementAndGet() <= budget;
+    };
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.scenario;
+
+import java.util.Comparator;
+import java.util.List;
+import org.cobhimself.expectator.example.ExampleInterface;
+import org.cobhimself.expectator.exceptions.ExpectatorException;
+
+/**
+ * The failures collected while running a single {@link ExampleInterface}.
+ */
+public class ExampleResult {
+  static final Comparator<ExampleResult> BY_INDEX =
+      Comparator.comparing(result -> result.getExample().getIndex());
+
+  private final ExampleInterface example;
+  private final List<ExpectatorException> failures;
+
+  /**
+   * Construct an <code>ExampleResult</code> for the given example.
+   *
+   * @param example  the example which was run
+   * @param failures the failures thrown by the example's expectations
+   */
+  public ExampleResult(ExampleInterface example, List<ExpectatorException> failures) {
+    this.example = example;
+    this.failures = List.copyOf(failures);
+  }
+
+  /**
+   * Get the example which was run.
+   *
+   * @return the example which was run
+   */
+  public ExampleInterface getExample() {
+    return this.example;
+  }
+
+  /**
+   * Get the index of the example which was run.
+   *
+   * @return the index of the example
+   */
+  public Integer getIndex() {
+    return this.example.getIndex();
+  }
+
+  /**
+   * Get the failures thrown by the example's expectations, in the order they were confirmed.
+   *
+   * @return the failures thrown by the example's expectations
+   */
+  public List<ExpectatorException> getFailures() {
+    return this.failures;
+  }
+}
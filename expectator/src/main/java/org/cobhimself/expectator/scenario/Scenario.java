@@ -24,9 +24,26 @@
 
 package org.cobhimself.expectator.scenario;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.cobhimself.expectator.example.ExampleInterface;
+
 public class Scenario implements ScenarioInterface {
   protected String name = "";
   protected String description = "";
+  protected final List<ExampleInterface> examples = new ArrayList<>();
+  protected Supplier<? extends Stream<? extends ExampleInterface>> exampleSource =
+      this.examples::stream;
+
+  public Scenario() {
+  }
+
+  public Scenario(String name, String description) {
+    this.name = name;
+    this.description = description;
+  }
 
   @Override public String getName() {
     return this.name;
@@ -35,4 +52,39 @@ public class Scenario implements ScenarioInterface {
   @Override public String getDescription() {
     return this.description;
   }
+
+  @Override public Stream<? extends ExampleInterface> getExamples() {
+    return this.exampleSource.get();
+  }
+
+  /**
+   * Replace the examples added through {@link #addExample(ExampleInterface)} with a source which
+   * opens a new stream of examples each time the scenario is run, such as
+   * <code>ExampleTable::stream</code>.
+   *
+   * @param exampleSource the supplier of the scenario's examples
+   *
+   * @return self
+   */
+  public Scenario setExampleSource(
+      Supplier<? extends Stream<? extends ExampleInterface>> exampleSource
+  ) {
+    this.exampleSource = exampleSource;
+
+    return this;
+  }
+
+  /**
+   * Add an example to this scenario, indexing it by the order in which it was added.
+   *
+   * @param example the example to add
+   *
+   * @return self
+   */
+  public Scenario addExample(ExampleInterface example) {
+    example.setIndex(this.examples.size());
+    this.examples.add(example);
+
+    return this;
+  }
 }
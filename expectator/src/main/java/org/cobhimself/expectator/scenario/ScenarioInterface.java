@@ -24,7 +24,11 @@
 
 package org.cobhimself.expectator.scenario;
 
+import java.util.stream.Stream;
+import org.cobhimself.expectator.example.ExampleInterface;
+
 public interface ScenarioInterface {
   String getName();
   String getDescription();
+  Stream<? extends ExampleInterface> getExamples();
 }
@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.scenario;
+
+import java.util.List;
+
+/**
+ * The outcome of running a {@link ScenarioInterface} through a {@link ScenarioRunner}.
+ * <p>
+ * Only failing examples are retained; they are ordered by their example index regardless of the
+ * order in which they completed.
+ */
+public class ScenarioResult {
+  private final ScenarioInterface scenario;
+  private final List<ExampleResult> failures;
+  private final long passedCount;
+  private final boolean cancelled;
+
+  /**
+   * Construct a <code>ScenarioResult</code>.
+   *
+   * @param scenario    the scenario which was run
+   * @param failures    the failing examples ordered by example index
+   * @param passedCount the number of examples which passed
+   * @param cancelled   whether the run stopped before all examples were run
+   */
+  public ScenarioResult(
+      ScenarioInterface scenario,
+      List<ExampleResult> failures,
+      long passedCount,
+      boolean cancelled
+  ) {
+    this.scenario = scenario;
+    this.failures = List.copyOf(failures);
+    this.passedCount = passedCount;
+    this.cancelled = cancelled;
+  }
+
+  /**
+   * Get the scenario which was run.
+   *
+   * @return the scenario which was run
+   */
+  public ScenarioInterface getScenario() {
+    return this.scenario;
+  }
+
+  /**
+   * Get the failing examples ordered by example index.
+   *
+   * @return the failing examples
+   */
+  public List<ExampleResult> getFailures() {
+    return this.failures;
+  }
+
+  /**
+   * Get the number of examples which passed.
+   *
+   * @return the number of passing examples
+   */
+  public long getPassedCount() {
+    return this.passedCount;
+  }
+
+  /**
+   * Get the number of examples which failed.
+   *
+   * @return the number of failing examples
+   */
+  public long getFailedCount() {
+    return this.failures.size();
+  }
+
+  /**
+   * Get the number of examples which were run.
+   *
+   * @return the number of examples run
+   */
+  public long getRunCount() {
+    return this.passedCount + this.failures.size();
+  }
+
+  /**
+   * Whether the run stopped early, either through fail-fast or interruption.
+   *
+   * @return true when some examples may not have been run
+   */
+  public boolean isCancelled() {
+    return this.cancelled;
+  }
+
+  /**
+   * Whether every example which was run passed.
+   *
+   * @return true when no example failed
+   */
+  public boolean isSuccessful() {
+    return this.failures.isEmpty() && !this.cancelled;
+  }
+}
@@ -0,0 +1,301 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.scenario;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import org.cobhimself.expectator.example.ExampleInterface;
+import org.cobhimself.expectator.exceptions.ExpectatorException;
+import org.cobhimself.expectator.expectations.ExpectationInterface;
+
+/**
+ * Runs the examples of a {@link ScenarioInterface} concurrently on an <code>Executor</code>.
+ * <p>
+ * The scenario's examples are split into batches through their <code>Spliterator</code>; each
+ * batch is handed to the executor while the calling thread keeps splitting, so a lazy example
+ * source is read by the caller while the executor's threads confirm the examples already read.
+ * Once {@link #setMaxPendingBatches(int)} batches are waiting on the executor, the splitting
+ * thread confirms the next batch itself rather than queueing more work.
+ * <p>
+ * Every expectation of an example is confirmed; the {@link ExpectatorException}s thrown are
+ * collected into an {@link ExampleResult} so a single example reports all of its failures.
+ * Passing examples are only counted which keeps memory flat for very large example tables.
+ * <p>
+ * Any executor may be used: a work-stealing pool (the default is the common
+ * <code>ForkJoinPool</code>) or, on runtimes which provide them, a virtual thread per task
+ * executor.
+ */
+public class ScenarioRunner {
+  public static final int DEFAULT_BATCH_SIZE = 256;
+
+  private final Executor executor;
+  private int batchSize = DEFAULT_BATCH_SIZE;
+  private int maxPendingBatches = Runtime.getRuntime().availableProcessors() * 4;
+  private boolean failFast = false;
+
+  /**
+   * Construct a <code>ScenarioRunner</code> which runs examples on the common
+   * <code>ForkJoinPool</code>.
+   */
+  public ScenarioRunner() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Construct a <code>ScenarioRunner</code> which runs examples on the given executor.
+   *
+   * @param executor the executor examples are run on
+   */
+  public ScenarioRunner(Executor executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * Set the number of examples below which a batch is no longer split.
+   *
+   * @param batchSize the number of examples confirmed by a single task
+   *
+   * @return self
+   */
+  public ScenarioRunner setBatchSize(int batchSize) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("The batch size must be at least 1");
+    }
+
+    this.batchSize = batchSize;
+
+    return this;
+  }
+
+  /**
+   * Set the number of batches which may wait on the executor at any one time.
+   *
+   * @param maxPendingBatches the maximum number of submitted but unfinished batches
+   *
+   * @return self
+   */
+  public ScenarioRunner setMaxPendingBatches(int maxPendingBatches) {
+    if (maxPendingBatches < 1) {
+      throw new IllegalArgumentException(
+          "The maximum number of pending batches must be at least 1"
+      );
+    }
+
+    this.maxPendingBatches = maxPendingBatches;
+
+    return this;
+  }
+
+  /**
+   * Stop running examples as soon as one example fails.
+   * <p>
+   * Examples already being confirmed are allowed to finish; no new examples are started.
+   *
+   * @param failFast whether the first failing example cancels the remaining examples
+   *
+   * @return self
+   */
+  public ScenarioRunner setFailFast(boolean failFast) {
+    this.failFast = failFast;
+
+    return this;
+  }
+
+  /**
+   * Run all the examples of the given scenario and wait for them to complete.
+   *
+   * @param scenario the scenario whose examples will be run
+   *
+   * @return the result of the run with failures ordered by example index
+   *
+   * @throws CompletionException when an example throws something other than an
+   *                             {@link ExpectatorException}
+   */
+  public ScenarioResult run(ScenarioInterface scenario) {
+    var run = new Run();
+
+    try (var examples = scenario.getExamples()) {
+      try {
+        run.split(examples.spliterator());
+      } catch (RuntimeException | Error e) {
+        run.abort(e);
+      }
+
+      run.await();
+    }
+
+    if (run.error.get() != null) {
+      throw new CompletionException(run.error.get());
+    }
+
+    var failures = new ArrayList<>(run.failures);
+    failures.sort(ExampleResult.BY_INDEX);
+
+    return new ScenarioResult(
+        scenario,
+        failures,
+        run.passed.sum(),
+        run.cancelled
+    );
+  }
+
+  /**
+   * The state of a single call to {@link #run(ScenarioInterface)}.
+   */
+  private final class Run {
+    private final Queue<ExampleResult> failures = new ConcurrentLinkedQueue<>();
+    private final LongAdder passed = new LongAdder();
+    private final AtomicReference<Throwable> error = new AtomicReference<>();
+    private final Semaphore pending = new Semaphore(ScenarioRunner.this.maxPendingBatches);
+    private final Phaser phaser = new Phaser(1);
+    private volatile boolean cancelled = false;
+
+    /**
+     * Split off batches for the executor until the examples are small enough to be confirmed by
+     * the current thread.
+     *
+     * @param examples the examples to split and confirm
+     */
+    void split(Spliterator<? extends ExampleInterface> examples) {
+      Spliterator<? extends ExampleInterface> batch;
+
+      while (!this.cancelled
+          && examples.estimateSize() > ScenarioRunner.this.batchSize
+          && (batch = examples.trySplit()) != null
+      ) {
+        if (this.pending.tryAcquire()) {
+          this.fork(batch);
+        } else {
+          this.split(batch);
+        }
+      }
+
+      Consumer<ExampleInterface> confirm = this::confirm;
+
+      //noinspection StatementWithEmptyBody
+      while (!this.cancelled && examples.tryAdvance(confirm)) {
+      }
+    }
+
+    /**
+     * Hand a batch to the executor; a rejected batch is confirmed by the current thread.
+     *
+     * @param batch the batch of examples to fork
+     */
+    private void fork(Spliterator<? extends ExampleInterface> batch) {
+      this.phaser.register();
+
+      try {
+        ScenarioRunner.this.executor.execute(() -> {
+          try {
+            this.split(batch);
+          } catch (RuntimeException | Error e) {
+            this.abort(e);
+          } finally {
+            this.pending.release();
+            this.phaser.arriveAndDeregister();
+          }
+        });
+      } catch (RejectedExecutionException e) {
+        this.pending.release();
+        this.phaser.arriveAndDeregister();
+        this.split(batch);
+      }
+    }
+
+    /**
+     * Confirm every expectation of the given example, collecting its failures.
+     *
+     * @param example the example to confirm
+     */
+    private void confirm(ExampleInterface example) {
+      List<ExpectatorException> exceptions = null;
+
+      for (ExpectationInterface<?> expectation : example.getExpectations()) {
+        try {
+          expectation.confirm();
+        } catch (ExpectatorException e) {
+          if (exceptions == null) {
+            exceptions = new ArrayList<>();
+          }
+
+          exceptions.add(e);
+        }
+      }
+
+      if (exceptions == null) {
+        this.passed.increment();
+
+        return;
+      }
+
+      this.failures.add(new ExampleResult(example, exceptions));
+
+      if (ScenarioRunner.this.failFast) {
+        this.cancelled = true;
+      }
+    }
+
+    /**
+     * Cancel the run because an example failed unexpectedly.
+     *
+     * @param throwable the unexpected failure
+     */
+    void abort(Throwable throwable) {
+      this.error.compareAndSet(null, throwable);
+      this.cancelled = true;
+    }
+
+    /**
+     * Wait for all forked batches to complete.
+     * <p>
+     * Interrupting the waiting thread cancels the run; the interrupt status is restored once the
+     * batches already running have finished.
+     */
+    void await() {
+      int phase = this.phaser.arrive();
+
+      try {
+        this.phaser.awaitAdvanceInterruptibly(phase);
+      } catch (InterruptedException e) {
+        this.cancelled = true;
+        this.phaser.awaitAdvance(phase);
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.snapshot;
+
+import org.cobhimself.expectator.DetailedExpectator;
+
+/**
+ * A {@link DetailedExpectator} comparing the expected value with the snapshot whose id is the
+ * actual value.
+ * <p>
+ * Comparing may create or rewrite the snapshot, so it must happen exactly once per confirmation.
+ * The result of a failed comparison is kept for the confirming thread and used to explain the
+ * failure, rather than comparing the value a second time. Each thread keeps its own result, so
+ * the expectator may be confirmed from several threads at once.
+ *
+ * @param <T> the type of the expected value the expectator will hold
+ */
+public class SnapshotExpectator<T> implements DetailedExpectator<T> {
+  private final SnapshotStore store;
+  private final ThreadLocal<SnapshotResult> failure = new ThreadLocal<>();
+
+  /**
+   * Construct a <code>SnapshotExpectator</code>.
+   *
+   * @param store the store holding the snapshots
+   */
+  public SnapshotExpectator(SnapshotStore store) {
+    this.store = store;
+  }
+
+  @Override public boolean test(T expected, Object actual) {
+    var result = this.store.compare((String) actual, expected);
+
+    if (result.isSuccessful()) {
+      this.failure.remove();
+
+      return true;
+    }
+
+    this.failure.set(result);
+
+    return false;
+  }
+
+  @Override public String details(T expected, Object actual) {
+    var result = this.failure.get();
+    this.failure.remove();
+
+    return result == null
+        ? "snapshot " + actual + " did not match"
+        : result.toString();
+  }
+}
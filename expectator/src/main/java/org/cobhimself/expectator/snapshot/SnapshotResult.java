@@ -0,0 +1,116 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.snapshot;
+
+/**
+ * The outcome of comparing a value with its stored snapshot.
+ */
+public class SnapshotResult {
+
+  /**
+   * What happened to the snapshot.
+   */
+  public enum Status {
+    /**
+     * The value matched the stored snapshot.
+     */
+    MATCHED,
+    /**
+     * No snapshot was stored; the value was stored as the new snapshot.
+     */
+    CREATED,
+    /**
+     * The value did not match the stored snapshot and, in update mode, replaced it.
+     */
+    UPDATED,
+    /**
+     * The value did not match the stored snapshot.
+     */
+    MISMATCHED
+  }
+
+  private final String id;
+  private final Status status;
+  private final long mismatchOffset;
+
+  /**
+   * Construct a <code>SnapshotResult</code>.
+   *
+   * @param id             the id of the snapshot
+   * @param status         what happened to the snapshot
+   * @param mismatchOffset the offset of the first byte which differed, or -1 if none did
+   */
+  public SnapshotResult(String id, Status status, long mismatchOffset) {
+    this.id = id;
+    this.status = status;
+    this.mismatchOffset = mismatchOffset;
+  }
+
+  /**
+   * Get the id of the snapshot.
+   *
+   * @return the snapshot id
+   */
+  public String getId() {
+    return this.id;
+  }
+
+  /**
+   * Get what happened to the snapshot.
+   *
+   * @return the status
+   */
+  public Status getStatus() {
+    return this.status;
+  }
+
+  /**
+   * Get the offset, within the serialized value, of the first byte which differed from the stored
+   * snapshot.
+   *
+   * @return the offset of the first mismatch or -1 when the value matched
+   */
+  public long getMismatchOffset() {
+    return this.mismatchOffset;
+  }
+
+  /**
+   * Whether the value is now the stored snapshot.
+   *
+   * @return false only when the value did not match and was not stored
+   */
+  public boolean isSuccessful() {
+    return this.status != Status.MISMATCHED;
+  }
+
+  @Override public String toString() {
+    if (this.mismatchOffset < 0) {
+      return "snapshot " + this.id + " " + this.status.name().toLowerCase();
+    }
+
+    return "snapshot " + this.id + " " + this.status.name().toLowerCase()
+        + ", first difference at byte " + this.mismatchOffset;
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.snapshot;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes the serialized form of a value to a stream, as stored in a snapshot.
+ * <p>
+ * Serializers should write their output progressively rather than building it up in memory
+ * first: when comparing against a stored snapshot, the bytes are compared as they are written.
+ * A serializer must always produce the same bytes for equal values.
+ */
+@FunctionalInterface
+public interface SnapshotSerializer {
+
+  /**
+   * The number of characters of a string encoded at a time by {@link #TO_STRING}.
+   */
+  int STRING_SLICE = 8192;
+
+  /**
+   * Serializes byte arrays as they are and any other value as the UTF-8 encoding of its
+   * <code>toString</code>.
+   * <p>
+   * The string itself is in memory already, but its encoding is streamed through an
+   * <code>OutputStreamWriter</code> a slice at a time, so a large value is never held twice.
+   */
+  SnapshotSerializer TO_STRING = (value, out) -> {
+    if (value instanceof byte[]) {
+      out.write((byte[]) value);
+
+      return;
+    }
+
+    String string = String.valueOf(value);
+    var writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+
+    for (int offset = 0; offset < string.length(); offset += STRING_SLICE) {
+      writer.write(string, offset, Math.min(STRING_SLICE, string.length() - offset));
+    }
+
+    //Flush rather than close; the stream belongs to the caller
+    writer.flush();
+  };
+
+  /**
+   * Write the serialized form of the given value.
+   *
+   * @param value the value to serialize
+   * @param out   the stream to write to
+   *
+   * @throws IOException when the stream cannot be written to
+   */
+  void write(Object value, OutputStream out) throws IOException;
+}
@@ -0,0 +1,366 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Pattern;
+
+/**
+ * A directory of snapshots, one file per snapshot id.
+ * <p>
+ * Each snapshot file holds a small header (a magic number, a format version and the length of
+ * the payload) followed by the serialized value. Comparing a value with its snapshot never loads
+ * either fully: the value is serialized into a stream which compares each byte written with the
+ * stored payload, read from a memory mapping of the file once it is large enough for mapping to
+ * pay off, and the lengths in the header allow a truncated or extended value to be told apart
+ * without reading the file twice.
+ * <p>
+ * Missing snapshots are created from the value being compared. In update mode, snapshots which
+ * no longer match are rewritten; snapshots which match are left untouched. Files are always
+ * written to a temporary file first and moved into place, so an interrupted run never leaves a
+ * partially written snapshot behind.
+ * <p>
+ * The default store reads its directory from the <code>expectator.snapshots.dir</code> system
+ * property (<code>src/test/snapshots</code> when unset) and enables update mode when the
+ * <code>expectator.snapshots.update</code> system property is <code>true</code>.
+ */
+public class SnapshotStore {
+  public static final String DIRECTORY_PROPERTY = "expectator.snapshots.dir";
+  public static final String UPDATE_PROPERTY = "expectator.snapshots.update";
+  public static final String DEFAULT_DIRECTORY = "src/test/snapshots";
+  public static final String EXTENSION = ".snap";
+
+  static final int MAGIC = 0x45585350;
+  static final byte VERSION = 1;
+  static final int HEADER_SIZE = 9;
+
+  private static final int LENGTH_OFFSET = 5;
+  private static final int MAP_THRESHOLD = 1 << 16;
+  private static final int WRITE_BUFFER_SIZE = 1 << 16;
+  private static final Pattern INVALID_ID_CHARACTERS = Pattern.compile("[^A-Za-z0-9._/-]");
+
+  private final Path directory;
+  private final boolean update;
+  private SnapshotSerializer serializer = SnapshotSerializer.TO_STRING;
+
+  /**
+   * Construct a <code>SnapshotStore</code>.
+   *
+   * @param directory the directory snapshots are stored in
+   * @param update    whether snapshots which no longer match are rewritten
+   */
+  public SnapshotStore(Path directory, boolean update) {
+    this.directory = directory;
+    this.update = update;
+  }
+
+  /**
+   * Holds the default store so it is only created when first used.
+   */
+  private static final class DefaultStore {
+    private static final SnapshotStore INSTANCE = new SnapshotStore(
+        Path.of(System.getProperty(DIRECTORY_PROPERTY, DEFAULT_DIRECTORY)),
+        Boolean.getBoolean(UPDATE_PROPERTY)
+    );
+  }
+
+  /**
+   * Get the store configured through system properties.
+   *
+   * @return the default store
+   */
+  public static SnapshotStore getDefault() {
+    return DefaultStore.INSTANCE;
+  }
+
+  /**
+   * Set the serializer values are written with; defaults to {@link SnapshotSerializer#TO_STRING}.
+   *
+   * @param serializer the serializer
+   *
+   * @return self
+   */
+  public SnapshotStore setSerializer(SnapshotSerializer serializer) {
+    this.serializer = serializer;
+
+    return this;
+  }
+
+  /**
+   * Get the directory snapshots are stored in.
+   *
+   * @return the snapshot directory
+   */
+  public Path getDirectory() {
+    return this.directory;
+  }
+
+  /**
+   * Whether snapshots which no longer match are rewritten.
+   *
+   * @return true in update mode
+   */
+  public boolean isUpdate() {
+    return this.update;
+  }
+
+  /**
+   * Get the file the snapshot with the given id is stored in.
+   * <p>
+   * Ids may contain slashes to group snapshots in subdirectories; characters which are not safe
+   * in file names are replaced by underscores.
+   *
+   * @param id the snapshot id
+   *
+   * @return the snapshot file
+   */
+  public Path getFile(String id) {
+    String name = INVALID_ID_CHARACTERS.matcher(id).replaceAll("_");
+
+    if (name.isEmpty() || name.startsWith("/") || name.endsWith("/")
+        || ("/" + name + "/").contains("/../")
+    ) {
+      throw new IllegalArgumentException("Invalid snapshot id: " + id);
+    }
+
+    return this.directory.resolve(name + EXTENSION);
+  }
+
+  /**
+   * Compare the given value with the snapshot stored under the given id, creating the snapshot
+   * when there is none and, in update mode, rewriting it when it does not match.
+   *
+   * @param id    the snapshot id
+   * @param value the value to compare
+   *
+   * @return the outcome of the comparison
+   *
+   * @throws UncheckedIOException when the snapshot cannot be read or written
+   */
+  public SnapshotResult compare(String id, Object value) {
+    Path file = this.getFile(id);
+
+    try {
+      long mismatch;
+
+      try {
+        mismatch = this.mismatch(file, value);
+      } catch (NoSuchFileException e) {
+        this.write(file, value);
+
+        return new SnapshotResult(id, SnapshotResult.Status.CREATED, -1);
+      }
+
+      if (mismatch < 0) {
+        return new SnapshotResult(id, SnapshotResult.Status.MATCHED, -1);
+      }
+
+      if (!this.update) {
+        return new SnapshotResult(id, SnapshotResult.Status.MISMATCHED, mismatch);
+      }
+
+      this.write(file, value);
+
+      return new SnapshotResult(id, SnapshotResult.Status.UPDATED, mismatch);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Find where the serialized value first differs from the stored snapshot.
+   *
+   * @param file  the snapshot file
+   * @param value the value to compare
+   *
+   * @return the offset of the first differing byte or -1 when the value matches
+   *
+   * @throws IOException when the snapshot cannot be read
+   */
+  private long mismatch(Path file, Object value) throws IOException {
+    try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+
+      if (size < HEADER_SIZE || size - HEADER_SIZE > Integer.MAX_VALUE) {
+        return 0;
+      }
+
+      ByteBuffer stored;
+
+      if (size >= MAP_THRESHOLD) {
+        stored = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      } else {
+        stored = ByteBuffer.allocate((int) size);
+
+        while (stored.hasRemaining() && channel.read(stored) >= 0) {
+          //Read until the buffer is full
+        }
+
+        stored.flip();
+      }
+
+      if (stored.getInt(0) != MAGIC || stored.get(4) != VERSION
+          || stored.getInt(LENGTH_OFFSET) != size - HEADER_SIZE
+      ) {
+        return 0;
+      }
+
+      var comparing = new ComparingOutputStream(stored.position(HEADER_SIZE).slice());
+      this.serializer.write(value, comparing);
+
+      return comparing.mismatch();
+    }
+  }
+
+  /**
+   * Write the serialized value as the snapshot, replacing any existing file atomically.
+   *
+   * @param file  the snapshot file
+   * @param value the value to store
+   *
+   * @throws IOException when the snapshot cannot be written
+   */
+  private void write(Path file, Object value) throws IOException {
+    Path parent = Files.createDirectories(file.toAbsolutePath().getParent());
+    Path temporary = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+
+    try {
+      try (var channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+        var out = new BufferedOutputStream(Channels.newOutputStream(channel), WRITE_BUFFER_SIZE);
+        out.write(ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).put(VERSION).array());
+
+        var counting = new CountingOutputStream(out);
+        this.serializer.write(value, counting);
+        counting.flush();
+
+        if (counting.count > Integer.MAX_VALUE) {
+          throw new IOException("Snapshot " + file + " exceeds 2GB");
+        }
+
+        channel.write(ByteBuffer.allocate(4).putInt(0, (int) counting.count), LENGTH_OFFSET);
+      }
+
+      try {
+        Files.move(
+            temporary,
+            file,
+            StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING
+        );
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+
+  /**
+   * Compares the bytes written to it with a stored payload, remembering the first mismatch.
+   */
+  private static final class ComparingOutputStream extends OutputStream {
+    private final ByteBuffer stored;
+    private long written = 0;
+    private long mismatch = -1;
+
+    ComparingOutputStream(ByteBuffer stored) {
+      this.stored = stored;
+    }
+
+    @Override public void write(int b) {
+      if (this.mismatch < 0 && (!this.stored.hasRemaining() || this.stored.get() != (byte) b)) {
+        this.mismatch = this.written;
+      }
+
+      this.written++;
+    }
+
+    @Override public void write(byte[] bytes, int offset, int length) {
+      if (this.mismatch < 0) {
+        int remaining = this.stored.remaining();
+        int compared = Math.min(length, remaining);
+        int difference = ByteBuffer.wrap(bytes, offset, compared)
+            .mismatch(this.stored.slice().limit(compared));
+
+        if (difference >= 0) {
+          this.mismatch = this.written + difference;
+        } else if (compared < length) {
+          this.mismatch = this.written + compared;
+        } else {
+          this.stored.position(this.stored.position() + compared);
+        }
+      }
+
+      this.written += length;
+    }
+
+    /**
+     * Get the offset of the first mismatch once the value has been written.
+     *
+     * @return the offset of the first mismatch or -1 when the whole payload matched
+     */
+    long mismatch() {
+      if (this.mismatch < 0 && this.stored.hasRemaining()) {
+        return this.written;
+      }
+
+      return this.mismatch;
+    }
+  }
+
+  /**
+   * Counts the bytes written through it.
+   */
+  private static final class CountingOutputStream extends FilterOutputStream {
+    private long count = 0;
+
+    CountingOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    @Override public void write(int b) throws IOException {
+      this.out.write(b);
+      this.count++;
+    }
+
+    @Override public void write(byte[] bytes, int offset, int length) throws IOException {
+      this.out.write(bytes, offset, length);
+      this.count += length;
+    }
+  }
+}
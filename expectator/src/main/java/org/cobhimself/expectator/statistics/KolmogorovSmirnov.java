@@ -0,0 +1,184 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.statistics;
+
+import java.util.Arrays;
+
+/**
+ * The two-sample Kolmogorov-Smirnov test of whether two samples come from the same distribution.
+ * <p>
+ * The statistic <code>D</code> is the largest distance between the empirical distribution
+ * functions of the samples; its p-value is approximated with the asymptotic Kolmogorov
+ * distribution, which is accurate for samples of more than a few dozen values.
+ * <p>
+ * Arrays are copied and sorted with <code>Arrays.parallelSort</code>. Samples too large to hold
+ * are compared through their {@link QuantileSketch}es instead: the statistic is then computed
+ * over the sketches' bins, so it is approximate to within the sketches' relative accuracy.
+ */
+public final class KolmogorovSmirnov {
+  private static final int MAX_TERMS = 100;
+
+  private KolmogorovSmirnov() {
+  }
+
+  /**
+   * Compute the statistic of two samples; the arrays are not modified.
+   *
+   * @param a the first sample
+   * @param b the second sample
+   *
+   * @return the largest distance between the samples' distribution functions, or
+   *     <code>NaN</code> when either sample is empty
+   */
+  public static double statistic(double[] a, double[] b) {
+    var sortedA = a.clone();
+    var sortedB = b.clone();
+    Arrays.parallelSort(sortedA);
+    Arrays.parallelSort(sortedB);
+
+    return statisticOfSorted(sortedA, sortedB);
+  }
+
+  /**
+   * Compute the statistic of two sorted samples.
+   *
+   * @param a the first sample, in ascending order
+   * @param b the second sample, in ascending order
+   *
+   * @return the largest distance between the samples' distribution functions, or
+   *     <code>NaN</code> when either sample is empty
+   */
+  public static double statisticOfSorted(double[] a, double[] b) {
+    if (a.length == 0 || b.length == 0) {
+      return Double.NaN;
+    }
+
+    double distance = 0;
+    int i = 0;
+    int j = 0;
+
+    //Step over each distinct value of either sample; ties move both functions at once
+    while (i < a.length && j < b.length) {
+      double x = Double.compare(a[i], b[j]) <= 0 ? a[i] : b[j];
+
+      while (i < a.length && Double.compare(a[i], x) == 0) {
+        i++;
+      }
+
+      while (j < b.length && Double.compare(b[j], x) == 0) {
+        j++;
+      }
+
+      distance = Math.max(distance, Math.abs((double) i / a.length - (double) j / b.length));
+    }
+
+    return distance;
+  }
+
+  /**
+   * Approximate the statistic of two samples from their sketches.
+   *
+   * @param a the sketch of the first sample
+   * @param b the sketch of the second sample, with the same relative accuracy
+   *
+   * @return the approximate largest distance between the samples' distribution functions, or
+   *     <code>NaN</code> when either sample is empty
+   */
+  public static double statistic(QuantileSketch a, QuantileSketch b) {
+    if (a.getRelativeAccuracy() != b.getRelativeAccuracy()) {
+      throw new IllegalArgumentException("Only sketches with the same accuracy can be compared");
+    }
+
+    long countA = a.getCount();
+    long countB = b.getCount();
+
+    if (countA == 0 || countB == 0) {
+      return Double.NaN;
+    }
+
+    var histogramA = a.toHistogram();
+    var histogramB = b.toHistogram();
+    double distance = 0;
+    long seenA = 0;
+    long seenB = 0;
+    int i = 0;
+    int j = 0;
+
+    while (i < histogramA.size && j < histogramB.size) {
+      double x = Math.min(histogramA.values[i], histogramB.values[j]);
+
+      if (histogramA.values[i] == x) {
+        seenA += histogramA.counts[i++];
+      }
+
+      if (histogramB.values[j] == x) {
+        seenB += histogramB.counts[j++];
+      }
+
+      distance = Math.max(distance, Math.abs((double) seenA / countA - (double) seenB / countB));
+    }
+
+    return distance;
+  }
+
+  /**
+   * Compute the probability of a statistic at least as large as the given one were both samples
+   * drawn from the same distribution.
+   *
+   * @param statistic the statistic
+   * @param sizeA     the size of the first sample
+   * @param sizeB     the size of the second sample
+   *
+   * @return the p-value, or <code>NaN</code> when the statistic is <code>NaN</code>
+   */
+  public static double pValue(double statistic, long sizeA, long sizeB) {
+    if (Double.isNaN(statistic)) {
+      return Double.NaN;
+    }
+
+    double effective = Math.sqrt((double) sizeA * sizeB / (sizeA + sizeB));
+    double lambda = (effective + 0.12 + 0.11 / effective) * statistic;
+
+    //The series 2 * sum((-1)^(k-1) * exp(-2 k^2 lambda^2)) of the Kolmogorov distribution
+    double sign = 2;
+    double sum = 0;
+    double previous = 0;
+
+    for (int k = 1; k <= MAX_TERMS; k++) {
+      double term = sign * Math.exp(-2 * k * k * lambda * lambda);
+      sum += term;
+
+      if (Math.abs(term) <= 0.001 * previous || Math.abs(term) <= 1e-8 * sum) {
+        return Math.min(1, Math.max(0, sum));
+      }
+
+      sign = -sign;
+      previous = Math.abs(term);
+    }
+
+    //The series only fails to converge as lambda approaches zero, where the p-value is one
+    return 1;
+  }
+}
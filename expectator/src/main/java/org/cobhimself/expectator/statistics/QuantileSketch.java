@@ -0,0 +1,422 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.statistics;
+
+import java.util.function.DoubleConsumer;
+
+/**
+ * A mergeable sketch estimating quantiles of a stream of values with a bounded relative error, in
+ * the manner of DDSketch.
+ * <p>
+ * Values are counted in logarithmically sized bins: a value <code>x</code> falls in bin
+ * <code>ceil(log(|x|) / log(gamma))</code> where <code>gamma = (1 + a) / (1 - a)</code> for the
+ * relative accuracy <code>a</code>. Any quantile is then estimated within <code>a</code> of the
+ * true value, relatively, however skewed the distribution. Positive and negative values have
+ * their own bins; values too close to zero to be binned are counted as zero.
+ * <p>
+ * Memory is bounded by the maximum number of bins per sign. Should the values span more bins than
+ * that, the bins closest to zero are collapsed together and only the quantiles above them keep
+ * their accuracy; with the defaults, 2048 bins at 1% accuracy span values over 17 orders of
+ * magnitude before that happens.
+ * <p>
+ * Sketches with the same relative accuracy are merged exactly, so a stream may be sketched in
+ * parallel. A <code>QuantileSketch</code> is not thread safe.
+ */
+public class QuantileSketch implements DoubleConsumer {
+  public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+  public static final int DEFAULT_MAX_BINS = 2048;
+
+  //Below this, the index of the largest double no longer fits an int
+  private static final double MIN_RELATIVE_ACCURACY = 1e-6;
+
+  private final double relativeAccuracy;
+  private final double gamma;
+  private final double logGamma;
+  private final double minIndexable;
+  private final Bins positive;
+  private final Bins negative;
+  private long zeroCount = 0;
+  private double min = Double.POSITIVE_INFINITY;
+  private double max = Double.NEGATIVE_INFINITY;
+
+  /**
+   * Construct a <code>QuantileSketch</code> with the default relative accuracy and bins.
+   */
+  public QuantileSketch() {
+    this(DEFAULT_RELATIVE_ACCURACY, DEFAULT_MAX_BINS);
+  }
+
+  /**
+   * Construct a <code>QuantileSketch</code> with the given relative accuracy.
+   *
+   * @param relativeAccuracy the relative error allowed of estimated quantiles, between 1e-6 and 1
+   */
+  public QuantileSketch(double relativeAccuracy) {
+    this(relativeAccuracy, DEFAULT_MAX_BINS);
+  }
+
+  /**
+   * Construct a <code>QuantileSketch</code> with the given relative accuracy and bins.
+   *
+   * @param relativeAccuracy the relative error allowed of estimated quantiles, between 1e-6 and 1
+   * @param maxBins          the maximum number of bins kept for each sign
+   */
+  public QuantileSketch(double relativeAccuracy, int maxBins) {
+    if (!(relativeAccuracy >= MIN_RELATIVE_ACCURACY && relativeAccuracy < 1)) {
+      throw new IllegalArgumentException("The relative accuracy must be between 1e-6 and 1");
+    }
+
+    if (maxBins < 1) {
+      throw new IllegalArgumentException("The maximum number of bins must be at least 1");
+    }
+
+    this.relativeAccuracy = relativeAccuracy;
+    this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+    this.logGamma = Math.log(this.gamma);
+    this.minIndexable = Double.MIN_NORMAL * this.gamma;
+    this.positive = new Bins(maxBins);
+    this.negative = new Bins(maxBins);
+  }
+
+  /**
+   * Add a value to the sketch.
+   *
+   * @param value the value to add
+   */
+  @Override public void accept(double value) {
+    if (!Double.isFinite(value)) {
+      throw new IllegalArgumentException("Only finite values can be added to a sketch");
+    }
+
+    if (value > this.minIndexable) {
+      this.positive.add(this.index(value), 1);
+    } else if (value < -this.minIndexable) {
+      this.negative.add(this.index(-value), 1);
+    } else {
+      this.zeroCount++;
+    }
+
+    this.min = Math.min(this.min, value);
+    this.max = Math.max(this.max, value);
+  }
+
+  /**
+   * Combine the values counted by another sketch into this one.
+   *
+   * @param other a sketch with the same relative accuracy
+   *
+   * @return self
+   */
+  public QuantileSketch merge(QuantileSketch other) {
+    if (other.gamma != this.gamma) {
+      throw new IllegalArgumentException("Only sketches with the same accuracy can be merged");
+    }
+
+    this.positive.merge(other.positive);
+    this.negative.merge(other.negative);
+    this.zeroCount += other.zeroCount;
+    this.min = Math.min(this.min, other.min);
+    this.max = Math.max(this.max, other.max);
+
+    return this;
+  }
+
+  /**
+   * Estimate the value below which the given fraction of the values fall.
+   *
+   * @param quantile the quantile, between 0 and 1; 0.99 for the 99th percentile
+   *
+   * @return the estimated value, or <code>NaN</code> when the sketch is empty
+   */
+  public double getQuantile(double quantile) {
+    if (!(quantile >= 0 && quantile <= 1)) {
+      throw new IllegalArgumentException("The quantile must be between 0 and 1");
+    }
+
+    long count = this.getCount();
+
+    if (count == 0) {
+      return Double.NaN;
+    }
+
+    long rank = (long) (quantile * (count - 1));
+    double value;
+
+    if (rank < this.negative.total) {
+      //Negative values are ordered from the largest magnitude down
+      value = -this.value(this.negative.indexOfRank(this.negative.total - 1 - rank));
+    } else if (rank < this.negative.total + this.zeroCount) {
+      value = 0;
+    } else {
+      value = this.value(this.positive.indexOfRank(rank - this.negative.total - this.zeroCount));
+    }
+
+    return Math.max(this.min, Math.min(this.max, value));
+  }
+
+  /**
+   * Get the representative value and count of every non-empty bin, in ascending order of value.
+   * <p>
+   * Sketches with the same relative accuracy give identical values for the same bin.
+   *
+   * @return the histogram of the sketch
+   */
+  Histogram toHistogram() {
+    int size = this.negative.occupied() + (this.zeroCount > 0 ? 1 : 0) + this.positive.occupied();
+    var histogram = new Histogram(size);
+
+    for (int i = this.negative.maxIndex; i >= this.negative.minIndex; i--) {
+      histogram.add(-this.value(i), this.negative.count(i));
+    }
+
+    histogram.add(0, this.zeroCount);
+
+    for (int i = this.positive.minIndex; i <= this.positive.maxIndex; i++) {
+      histogram.add(this.value(i), this.positive.count(i));
+    }
+
+    return histogram;
+  }
+
+  /**
+   * Get the number of values added to the sketch.
+   *
+   * @return the number of values
+   */
+  public long getCount() {
+    return this.positive.total + this.negative.total + this.zeroCount;
+  }
+
+  /**
+   * Get the relative error allowed of estimated quantiles.
+   *
+   * @return the relative accuracy
+   */
+  public double getRelativeAccuracy() {
+    return this.relativeAccuracy;
+  }
+
+  /**
+   * Get the index of the bin a positive value falls in.
+   *
+   * @param value the value
+   *
+   * @return the index of its bin
+   */
+  private int index(double value) {
+    return (int) Math.ceil(Math.log(value) / this.logGamma);
+  }
+
+  /**
+   * Get the value representing a bin: the value within the bin closest, relatively, to both
+   * of its bounds.
+   *
+   * @param index the index of the bin
+   *
+   * @return the representative value
+   */
+  private double value(int index) {
+    return 2 * Math.pow(this.gamma, index) / (this.gamma + 1);
+  }
+
+  /**
+   * The non-empty bins of a sketch as parallel arrays of values and counts.
+   */
+  static final class Histogram {
+    final double[] values;
+    final long[] counts;
+    int size = 0;
+
+    Histogram(int capacity) {
+      this.values = new double[capacity];
+      this.counts = new long[capacity];
+    }
+
+    /**
+     * Add a bin when it is not empty.
+     *
+     * @param value the representative value of the bin
+     * @param count the number of values in the bin
+     */
+    void add(double value, long count) {
+      if (count > 0) {
+        this.values[this.size] = value;
+        this.counts[this.size++] = count;
+      }
+    }
+  }
+
+  /**
+   * The bins of one sign, stored as counts in a contiguous array which grows up to a maximum
+   * number of bins.
+   */
+  private static final class Bins {
+    private final int maxBins;
+    private long[] counts = new long[0];
+    private int offset = 0;
+    private int minIndex = 0;
+    private int maxIndex = -1;
+    private long total = 0;
+
+    Bins(int maxBins) {
+      this.maxBins = maxBins;
+    }
+
+    /**
+     * Count a number of values in a bin, collapsing the lowest bins when there would be too many.
+     *
+     * @param index the index of the bin
+     * @param count the number of values
+     */
+    void add(int index, long count) {
+      if (this.total == 0) {
+        if (this.counts.length == 0) {
+          this.counts = new long[Math.min(this.maxBins, 64)];
+        }
+
+        this.offset = index - this.counts.length / 2;
+        this.minIndex = index;
+        this.maxIndex = index;
+      } else if (index < this.minIndex || index > this.maxIndex) {
+        int lo = Math.min(index, this.minIndex);
+        int hi = Math.max(index, this.maxIndex);
+
+        if (hi - lo >= this.maxBins) {
+          lo = hi - this.maxBins + 1;
+          index = Math.max(index, lo);
+        }
+
+        this.extend(lo, hi);
+      }
+
+      this.counts[index - this.offset] += count;
+      this.total += count;
+    }
+
+    /**
+     * Extend the bins to cover the given indexes, folding any bins below the lowest into it.
+     *
+     * @param lo the lowest index to cover
+     * @param hi the highest index to cover
+     */
+    private void extend(int lo, int hi) {
+      long folded = 0;
+
+      for (int i = this.minIndex; i < lo && i <= this.maxIndex; i++) {
+        folded += this.counts[i - this.offset];
+        this.counts[i - this.offset] = 0;
+      }
+
+      if (lo < this.offset || hi >= this.offset + this.counts.length) {
+        int span = hi - lo + 1;
+        int length = Math.max(span, Math.min(this.maxBins, 2 * Math.max(span, this.counts.length)));
+        var resized = new long[length];
+        int resizedOffset = lo - (length - span) / 2;
+        int from = Math.max(this.minIndex, lo);
+
+        if (from <= this.maxIndex) {
+          System.arraycopy(
+              this.counts,
+              from - this.offset,
+              resized,
+              from - resizedOffset,
+              this.maxIndex - from + 1
+          );
+        }
+
+        this.counts = resized;
+        this.offset = resizedOffset;
+      }
+
+      this.counts[lo - this.offset] += folded;
+      this.minIndex = lo;
+      this.maxIndex = hi;
+    }
+
+    /**
+     * Count the values of another set of bins in these.
+     *
+     * @param other the bins to merge
+     */
+    void merge(Bins other) {
+      for (int i = other.minIndex; i <= other.maxIndex && other.total > 0; i++) {
+        long count = other.counts[i - other.offset];
+
+        if (count > 0) {
+          this.add(i, count);
+        }
+      }
+    }
+
+    /**
+     * Get the number of values counted in a bin.
+     *
+     * @param index the index of the bin
+     *
+     * @return the count, which is zero outside of the occupied bins
+     */
+    long count(int index) {
+      return this.total == 0 || index < this.minIndex || index > this.maxIndex
+          ? 0
+          : this.counts[index - this.offset];
+    }
+
+    /**
+     * Get the number of non-empty bins.
+     *
+     * @return the number of non-empty bins
+     */
+    int occupied() {
+      int occupied = 0;
+
+      for (int i = this.minIndex; i <= this.maxIndex && this.total > 0; i++) {
+        occupied += this.counts[i - this.offset] > 0 ? 1 : 0;
+      }
+
+      return occupied;
+    }
+
+    /**
+     * Find the bin holding the value of the given rank, counting from the lowest bin.
+     *
+     * @param rank the zero based rank
+     *
+     * @return the index of the bin
+     */
+    int indexOfRank(long rank) {
+      long seen = 0;
+
+      for (int i = this.minIndex; i < this.maxIndex; i++) {
+        seen += this.counts[i - this.offset];
+
+        if (seen > rank) {
+          return i;
+        }
+      }
+
+      return this.maxIndex;
+    }
+  }
+}
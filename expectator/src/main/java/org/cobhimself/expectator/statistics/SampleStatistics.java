@@ -0,0 +1,196 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.statistics;
+
+import java.util.PrimitiveIterator;
+import java.util.function.DoubleConsumer;
+import java.util.stream.DoubleStream;
+
+/**
+ * Summary statistics and quantiles of a sample, gathered in a single pass in bounded memory.
+ * <p>
+ * The count, mean, variance, minimum and maximum are computed by a {@link StreamingSummary} and
+ * quantiles are estimated by a {@link QuantileSketch}. Both are mergeable, so
+ * {@link #of(DoubleStream)} gathers the statistics of a parallel stream without ever holding or
+ * sorting the sample.
+ */
+public class SampleStatistics implements DoubleConsumer {
+  private final StreamingSummary summary = new StreamingSummary();
+  private final QuantileSketch sketch;
+
+  /**
+   * Construct empty <code>SampleStatistics</code> estimating quantiles with the default relative
+   * accuracy.
+   */
+  public SampleStatistics() {
+    this(QuantileSketch.DEFAULT_RELATIVE_ACCURACY);
+  }
+
+  /**
+   * Construct empty <code>SampleStatistics</code> estimating quantiles with the given relative
+   * accuracy.
+   *
+   * @param relativeAccuracy the relative error allowed of estimated quantiles
+   */
+  public SampleStatistics(double relativeAccuracy) {
+    this.sketch = new QuantileSketch(relativeAccuracy);
+  }
+
+  /**
+   * Gather the statistics of the given values.
+   *
+   * @param values the sample
+   *
+   * @return the statistics of the sample
+   */
+  public static SampleStatistics of(double... values) {
+    var statistics = new SampleStatistics();
+
+    for (double value : values) {
+      statistics.accept(value);
+    }
+
+    return statistics;
+  }
+
+  /**
+   * Gather the statistics of the values of a stream; parallel streams are gathered in parallel.
+   *
+   * @param values the sample
+   *
+   * @return the statistics of the sample
+   */
+  public static SampleStatistics of(DoubleStream values) {
+    return values.collect(
+        SampleStatistics::new,
+        SampleStatistics::accept,
+        SampleStatistics::merge
+    );
+  }
+
+  /**
+   * Gather the statistics of the values of an iterator.
+   *
+   * @param values the sample
+   *
+   * @return the statistics of the sample
+   */
+  public static SampleStatistics of(PrimitiveIterator.OfDouble values) {
+    var statistics = new SampleStatistics();
+    values.forEachRemaining((DoubleConsumer) statistics);
+
+    return statistics;
+  }
+
+  /**
+   * Add a value to the statistics.
+   *
+   * @param value the value to add
+   */
+  @Override public void accept(double value) {
+    this.summary.accept(value);
+    this.sketch.accept(value);
+  }
+
+  /**
+   * Combine the statistics of another sample into these.
+   *
+   * @param other the statistics to merge
+   *
+   * @return self
+   */
+  public SampleStatistics merge(SampleStatistics other) {
+    this.summary.merge(other.summary);
+    this.sketch.merge(other.sketch);
+
+    return this;
+  }
+
+  /**
+   * Get the summary of the sample.
+   *
+   * @return the summary
+   */
+  public StreamingSummary getSummary() {
+    return this.summary;
+  }
+
+  /**
+   * Get the quantile sketch of the sample.
+   *
+   * @return the sketch
+   */
+  public QuantileSketch getSketch() {
+    return this.sketch;
+  }
+
+  /**
+   * Get the number of values in the sample.
+   *
+   * @return the number of values
+   */
+  public long getCount() {
+    return this.summary.getCount();
+  }
+
+  /**
+   * Get the mean of the sample.
+   *
+   * @return the mean
+   */
+  public double getMean() {
+    return this.summary.getMean();
+  }
+
+  /**
+   * Get the sample standard deviation.
+   *
+   * @return the standard deviation
+   */
+  public double getStandardDeviation() {
+    return this.summary.getStandardDeviation();
+  }
+
+  /**
+   * Estimate the value below which the given fraction of the sample falls.
+   *
+   * @param quantile the quantile, between 0 and 1
+   *
+   * @return the estimated value
+   */
+  public double getQuantile(double quantile) {
+    return this.sketch.getQuantile(quantile);
+  }
+
+  @Override public String toString() {
+    return String.format(
+        "%s, p50=%s, p90=%s, p99=%s",
+        this.summary,
+        this.getQuantile(0.5),
+        this.getQuantile(0.9),
+        this.getQuantile(0.99)
+    );
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.statistics;
+
+import java.util.function.DoubleConsumer;
+
+/**
+ * A single pass summary of a stream of values: count, mean, variance, minimum and maximum.
+ * <p>
+ * The mean and variance are updated with Welford's algorithm, which avoids the cancellation of
+ * the naive sum of squares, and summaries of separate parts of a stream are combined with
+ * {@link #merge(StreamingSummary)} so a stream may be summarized in parallel. A summary uses a
+ * fixed amount of memory however many values it has seen.
+ * <p>
+ * A <code>StreamingSummary</code> is not thread safe; give each thread its own and merge them.
+ */
+public class StreamingSummary implements DoubleConsumer {
+  private long count = 0;
+  private double mean = 0;
+  private double squaredDeviations = 0;
+  private double min = Double.POSITIVE_INFINITY;
+  private double max = Double.NEGATIVE_INFINITY;
+
+  /**
+   * Add a value to the summary.
+   *
+   * @param value the value to add
+   */
+  @Override public void accept(double value) {
+    this.count++;
+
+    double delta = value - this.mean;
+    this.mean += delta / this.count;
+    this.squaredDeviations += delta * (value - this.mean);
+    this.min = Math.min(this.min, value);
+    this.max = Math.max(this.max, value);
+  }
+
+  /**
+   * Combine the values summarized by another summary into this one.
+   *
+   * @param other the summary to merge
+   *
+   * @return self
+   */
+  public StreamingSummary merge(StreamingSummary other) {
+    if (other.count == 0) {
+      return this;
+    }
+
+    long count = this.count + other.count;
+    double delta = other.mean - this.mean;
+
+    this.mean += delta * other.count / count;
+    this.squaredDeviations += other.squaredDeviations
+        + delta * delta * ((double) this.count * other.count / count);
+    this.count = count;
+    this.min = Math.min(this.min, other.min);
+    this.max = Math.max(this.max, other.max);
+
+    return this;
+  }
+
+  /**
+   * Get the number of values summarized.
+   *
+   * @return the number of values
+   */
+  public long getCount() {
+    return this.count;
+  }
+
+  /**
+   * Get the mean of the values.
+   *
+   * @return the mean, or <code>NaN</code> when there are no values
+   */
+  public double getMean() {
+    return this.count == 0 ? Double.NaN : this.mean;
+  }
+
+  /**
+   * Get the sample variance of the values.
+   *
+   * @return the sample variance, or <code>NaN</code> when there are fewer than two values
+   */
+  public double getVariance() {
+    return this.count < 2 ? Double.NaN : this.squaredDeviations / (this.count - 1);
+  }
+
+  /**
+   * Get the sample standard deviation of the values.
+   *
+   * @return the sample standard deviation, or <code>NaN</code> when there are fewer than two
+   *     values
+   */
+  public double getStandardDeviation() {
+    return Math.sqrt(this.getVariance());
+  }
+
+  /**
+   * Get the smallest value.
+   *
+   * @return the smallest value, or <code>NaN</code> when there are no values
+   */
+  public double getMin() {
+    return this.count == 0 ? Double.NaN : this.min;
+  }
+
+  /**
+   * Get the largest value.
+   *
+   * @return the largest value, or <code>NaN</code> when there are no values
+   */
+  public double getMax() {
+    return this.count == 0 ? Double.NaN : this.max;
+  }
+
+  @Override public String toString() {
+    return String.format(
+        "count=%d, mean=%s, stddev=%s, min=%s, max=%s",
+        this.count,
+        this.getMean(),
+        this.getStandardDeviation(),
+        this.getMin(),
+        this.getMax()
+    );
+  }
+}
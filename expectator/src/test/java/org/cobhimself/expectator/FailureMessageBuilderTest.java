@@ -58,5 +58,15 @@ class FailureMessageBuilderTest {
         "Expected bbb only",
         builder.build("Expected {actual} only")
     );
+
+    assertEquals(
+        "Expected aaa, got bbb: ",
+        builder.build("Expected {expected}, got {actual}: {details}")
+    );
+
+    assertEquals(
+        "Expected aaa, got bbb: ccc",
+        builder.setDetails("ccc").build("Expected {expected}, got {actual}: {details}")
+    );
   }
 }
\ No newline at end of file
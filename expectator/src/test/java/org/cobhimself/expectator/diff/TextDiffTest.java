@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.diff;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class TextDiffTest {
+
+  @Test
+  void testEqualStrings() {
+    assertEquals("", TextDiff.unified("same\ntext", "same\ntext"));
+  }
+
+  @Test
+  void testHunksWithContext() {
+    String expected = "a\nb\nc\nd\ne\nf\ng\nh\ni\nj\nk\nl";
+    String actual = "a\nb\nc\nD\ne\nf\ng\nh\ni\nj\nk\nL\nm";
+
+    assertEquals(
+        "--- expected\n+++ actual\n"
+            + "@@ -2,5 +2,5 @@\n b\n c\n-d\n+D\n e\n f\n"
+            + "@@ -10,3 +10,4 @@\n j\n k\n-l\n+L\n+m\n",
+        new TextDiff().setContextLines(2).diff(expected, actual)
+    );
+  }
+
+  @Test
+  void testLargeStringsOnlyDiffTheChangedRegion() {
+    var builder = new StringBuilder();
+
+    for (int i = 0; i < 300_000; i++) {
+      builder.append("line ").append(i).append('\n');
+    }
+
+    String expected = builder.toString();
+    String actual = expected.replace("line 150000\n", "line 150000 changed\n");
+
+    String diff = assertTimeoutPreemptively(
+        Duration.ofSeconds(5),
+        () -> TextDiff.unified(expected, actual)
+    );
+
+    assertTrue(diff.contains("@@ -149998,7 +149998,7 @@\n"));
+    assertTrue(diff.contains("\n-line 150000\n+line 150000 changed\n"));
+  }
+
+  @Test
+  void testOutputIsBounded() {
+    var random = new Random(42);
+    var expected = new StringBuilder();
+    var actual = new StringBuilder();
+
+    for (int i = 0; i < 100_000; i++) {
+      expected.append(random.nextInt(50)).append('\n');
+      actual.append(random.nextInt(50)).append('\n');
+    }
+
+    String diff = assertTimeoutPreemptively(
+        Duration.ofSeconds(10),
+        () -> new TextDiff()
+            .setMaxEditDistance(500)
+            .setMaxOutputLines(20)
+            .diff(expected.toString(), actual.toString())
+    );
+
+    assertEquals(22, diff.split("\n").length);
+    assertTrue(diff.endsWith("...\n(diff limits reached; remaining differences shown as replaced "
+        + "blocks)\n"));
+  }
+
+  @Test
+  void testLongLinesAreCutAroundTheDifference() {
+    String expected = "x".repeat(10_000) + "A" + "y".repeat(10_000);
+    String actual = "x".repeat(10_000) + "B" + "y".repeat(10_000);
+
+    String[] lines = new TextDiff().setMaxLineLength(20).diff(expected, actual).split("\n");
+
+    assertEquals("-...xxxxxAyyyyyyyyyyyyyy...", lines[3]);
+    assertEquals("+...xxxxxByyyyyyyyyyyyyy...", lines[4]);
+  }
+}
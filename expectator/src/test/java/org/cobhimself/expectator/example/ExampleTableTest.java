@@ -0,0 +1,108 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.example;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.cobhimself.expectator.expectations.IntExpectation;
+import org.cobhimself.expectator.scenario.ExampleResult;
+import org.cobhimself.expectator.scenario.Scenario;
+import org.cobhimself.expectator.scenario.ScenarioRunner;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ExampleTableTest {
+
+  @TempDir
+  Path directory;
+
+  static ExampleInterface toExample(Integer index, String[] row) {
+    return new Example().addExpectation(
+        new IntExpectation(Integer.parseInt(row[0]), "row " + index)
+            .expectLessThan(Integer.parseInt(row[1]))
+    );
+  }
+
+  @Test
+  void testCsvParsing() {
+    var table = ExampleTable.csv(Path.of("unused.csv"), ExampleTableTest::toExample);
+
+    assertArrayEquals(new String[]{"a", "b", "c"}, table.parse("a,b,c"));
+    assertArrayEquals(new String[]{"a,b", "c"}, table.parse("\"a,b\",c"));
+    assertArrayEquals(new String[]{"say \"hi\"", ""}, table.parse("\"say \"\"hi\"\"\","));
+    assertArrayEquals(new String[]{"line\nbreak"}, table.parse("\"line\nbreak\""));
+  }
+
+  @Test
+  void testTsvParsing() {
+    var table = ExampleTable.tsv(Path.of("unused.tsv"), ExampleTableTest::toExample);
+
+    assertArrayEquals(new String[]{"a", "\"b\"", "", "c"}, table.parse("a\t\"b\"\t\tc"));
+  }
+
+  @Test
+  void testStreamIndexesRows() throws IOException {
+    var path = this.directory.resolve("table.csv");
+    Files.write(path, List.of("value,limit", "1,2", "\"3\",\"4\"", "5,6"));
+
+    try (var examples = ExampleTable.csv(path, ExampleTableTest::toExample)
+        .setSkipHeader(true)
+        .stream()
+    ) {
+      assertEquals(
+          List.of(0, 1, 2),
+          examples.map(ExampleInterface::getIndex).collect(Collectors.toList())
+      );
+    }
+  }
+
+  @Test
+  void testScenarioRunsTable() throws IOException {
+    var path = this.directory.resolve("table.tsv");
+    Files.write(
+        path,
+        IntStream.range(0, 50_000)
+            .mapToObj(i -> i + "\t" + (i % 1000 == 0 ? i : i + 1))
+            .collect(Collectors.toList())
+    );
+
+    var table = ExampleTable.tsv(path, ExampleTableTest::toExample).setBatchSize(100);
+    var result = new ScenarioRunner()
+        .run(new Scenario("Table", "").setExampleSource(table::stream));
+
+    assertEquals(50_000, result.getRunCount());
+    assertEquals(
+        IntStream.range(0, 50).map(i -> i * 1000).boxed().collect(Collectors.toList()),
+        result.getFailures().stream().map(ExampleResult::getIndex).collect(Collectors.toList())
+    );
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.expectations;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.function.Consumer;
+import org.cobhimself.expectator.exceptions.ExpectatorException;
+import org.cobhimself.expectator.performance.AllocationMeter;
+import org.cobhimself.expectator.performance.Blackhole;
+import org.junit.jupiter.api.Test;
+
+class AllocationExpectationTest implements BaseExpectationTest<AllocationExpectation, Double> {
+
+  private static final String NAME = "Allocation expectation";
+
+  @Test
+  void testConstructors() {
+    this.testExpectedValueAndNameConstructor(new AllocationExpectation(0.0, NAME), 0.0, NAME);
+    this.testNameOnlyConstructor(new AllocationExpectation(blackhole -> { }, NAME), NAME);
+  }
+
+  @Test
+  void testReArmedExpectationDoesNotAllocate() {
+    assumeTrue(AllocationMeter.isSupported());
+
+    var hot = new IntExpectation("hot");
+    var expectation = new AllocationExpectation(
+        blackhole -> {
+          hot.reset();
+          hot.setExpectedValue(7);
+          hot.expectGreaterThanOrEqualTo(0).expectLessThan(100);
+          hot.confirm();
+        },
+        NAME
+    ).expectNoAllocation();
+
+    assertDoesNotThrow(expectation::confirm);
+    assertEquals(0.0, expectation.getExpectedValue());
+  }
+
+  @Test
+  void testAllocatingActionFails() {
+    assumeTrue(AllocationMeter.isSupported());
+
+    var expectation = new AllocationExpectation(
+        blackhole -> blackhole.consume(new byte[1024]),
+        NAME
+    )
+        .setWarmupIterations(1_000)
+        .setMeasurementIterations(1_000)
+        .expectAtMost(512);
+
+    var message = assertThrows(ExpectatorException.class, expectation::confirm).getMessage();
+
+    assertTrue(expectation.getExpectedValue() >= 1024, message);
+    assertTrue(
+        message.startsWith(
+            NAME + ": expected at most 512.0 bytes allocated per call but measured "
+        ),
+        message
+    );
+  }
+
+  @Test
+  void testIntermittentAllocationFails() {
+    assumeTrue(AllocationMeter.isSupported());
+
+    //Allocates once every 30,000 calls, so most 20,000 call windows allocate nothing
+    var calls = new int[1];
+    var expectation = new AllocationExpectation(
+        blackhole -> {
+          if (++calls[0] % 30_000 == 0) {
+            blackhole.consume(new byte[4096]);
+          }
+        },
+        NAME
+    ).expectNoAllocation();
+
+    assertThrows(ExpectatorException.class, expectation::confirm);
+    assertTrue(expectation.getExpectedValue() > 0);
+  }
+
+  @Test
+  void testUnsupportedJvmSkips() {
+    var expectation = unsupported(blackhole -> fail()).expectNoAllocation();
+
+    assertDoesNotThrow(expectation::confirm);
+    assertNull(expectation.getExpectedValue());
+    assertThrows(IllegalStateException.class, expectation::measure);
+  }
+
+  @Test
+  void testUnsupportedJvmFailsWhenSupportRequired() {
+    var expectation = unsupported(blackhole -> fail())
+        .setRequireSupport(true)
+        .expectNoAllocation();
+
+    var message = assertThrows(ExpectatorException.class, expectation::confirm).getMessage();
+
+    assertEquals(NAME + ": allocations cannot be measured on this JVM", message);
+    assertNull(expectation.getExpectedValue());
+  }
+
+  @Test
+  void testArguments() {
+    var expectation = new AllocationExpectation(blackhole -> { }, NAME);
+
+    assertThrows(IllegalArgumentException.class, () -> expectation.setWarmupIterations(-1));
+    assertThrows(IllegalArgumentException.class, () -> expectation.setMeasurementIterations(0));
+    assertThrows(IllegalArgumentException.class, () -> expectation.setWindows(0));
+    assertThrows(IllegalStateException.class, new AllocationExpectation(0.0, NAME)::measure);
+  }
+
+  private static AllocationExpectation unsupported(Consumer<Blackhole> action) {
+    return new AllocationExpectation(action, NAME) {
+      @Override boolean isSupported() {
+        return false;
+      }
+    };
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.expectations;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.cobhimself.expectator.exceptions.ExpectatorException;
+import org.junit.jupiter.api.Test;
+
+class ByteArrayExpectationTest implements BaseExpectationTest<ByteArrayExpectation, byte[]> {
+
+  private static final String NAME = "Byte array expectation";
+  private static final byte[] EXPECTED = {1, 2, 3, 4, 5, 6};
+
+  static ByteArrayExpectation getExpectation() {
+    return new ByteArrayExpectation(EXPECTED, NAME);
+  }
+
+  @Test
+  void testConstructors() {
+    this.testExpectedValueAndNameConstructor(
+        new ByteArrayExpectation(EXPECTED, NAME),
+        EXPECTED,
+        NAME
+    );
+
+    this.testNameOnlyConstructor(new ByteArrayExpectation(NAME), NAME);
+  }
+
+  @Test
+  void testExpectations() {
+    assertDoesNotThrow(
+        getExpectation()
+            .expectEquals(EXPECTED.clone())
+            .expectStartsWith(new byte[] {1, 2})
+            .expectRangeEquals(4, new byte[] {5, 6})
+            .expectLength(6)::confirm
+    );
+
+    assertEquals(
+        NAME + ": expected the range starting at 1 to equal the given elements but first"
+            + " mismatch at index 2: expected [2, (3)] but was [2, (4)]",
+        assertThrows(
+            ExpectatorException.class,
+            getExpectation().expectRangeEquals(1, new byte[] {2, 4})::confirm
+        ).getMessage()
+    );
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.expectations;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.security.MessageDigest;
+import java.util.zip.CRC32C;
+import org.cobhimself.expectator.exceptions.ExpectatorException;
+import org.junit.jupiter.api.Test;
+
+class ByteBufferExpectationTest
+    implements BaseExpectationTest<ByteBufferExpectation, ByteBuffer> {
+
+  private static final String NAME = "Byte buffer expectation";
+
+  static byte[] bytes(int length) {
+    var bytes = new byte[length];
+
+    for (int i = 0; i < length; i++) {
+      bytes[i] = (byte) i;
+    }
+
+    return bytes;
+  }
+
+  static ByteBuffer direct(byte[] bytes) {
+    return ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+  }
+
+  @Test
+  void testConstructors() {
+    var expected = ByteBuffer.wrap(bytes(4));
+
+    this.testExpectedValueAndNameConstructor(
+        new ByteBufferExpectation(expected, NAME),
+        expected,
+        NAME
+    );
+
+    this.testNameOnlyConstructor(new ByteBufferExpectation(NAME), NAME);
+  }
+
+  @Test
+  void testComparesInPlace() {
+    var expected = direct(bytes(64)).position(2);
+    var actual = ByteBuffer.wrap(bytes(64), 2, 62).order(ByteOrder.LITTLE_ENDIAN);
+
+    assertDoesNotThrow(
+        new ByteBufferExpectation(expected, NAME)
+            .expectEquals(actual)
+            .expectStartsWith(ByteBuffer.wrap(bytes(20), 2, 18))
+            .expectStartsWith(ByteBuffer.allocate(0))
+            .expectContains(new byte[] {40, 41, 42})
+            .expectContains(new byte[0])
+            .expectRemaining(62)::confirm
+    );
+
+    assertEquals(2, expected.position());
+    assertEquals(64, expected.limit());
+    assertEquals(2, actual.position());
+    assertEquals(64, actual.limit());
+
+    assertThrows(
+        ExpectatorException.class,
+        new ByteBufferExpectation(expected, NAME).expectContains(new byte[] {0, 1})::confirm
+    );
+    assertThrows(
+        ExpectatorException.class,
+        new ByteBufferExpectation(expected, NAME).expectContains(new byte[] {40, 42})::confirm
+    );
+    assertThrows(
+        ExpectatorException.class,
+        new ByteBufferExpectation(expected, NAME)
+            .expectStartsWith(ByteBuffer.wrap(bytes(65), 2, 63))::confirm
+    );
+  }
+
+  @Test
+  void testFailureMessages() {
+    var actual = bytes(16);
+    actual[9] = (byte) 0xff;
+
+    assertEquals(
+        NAME + ": expected buffers to be equal but first mismatch at index 9: expected"
+            + " [..., 05, 06, 07, 08, (09), 0a, 0b, 0c, 0d, ...] but was"
+            + " [..., 05, 06, 07, 08, (ff), 0a, 0b, 0c, 0d, ...]",
+        assertThrows(
+            ExpectatorException.class,
+            new ByteBufferExpectation(direct(bytes(16)), NAME)
+                .expectEquals(ByteBuffer.wrap(actual))::confirm
+        ).getMessage()
+    );
+
+    assertEquals(
+        NAME + ": expected the buffer to start with the given bytes but first mismatch at"
+            + " index 9: expected [..., 05, 06, 07, 08, (09), 0a, 0b, 0c, 0d, ...] but was"
+            + " [..., 05, 06, 07, 08, (ff), 0a]",
+        assertThrows(
+            ExpectatorException.class,
+            new ByteBufferExpectation(direct(bytes(16)), NAME)
+                .expectStartsWith(ByteBuffer.wrap(actual, 0, 11))::confirm
+        ).getMessage()
+    );
+  }
+
+  @Test
+  void testChecksums() throws Exception {
+    var bytes = bytes(100);
+    var expected = direct(bytes).position(10);
+    var crc = new CRC32C();
+    crc.update(bytes, 10, 90);
+    var digest = MessageDigest.getInstance("SHA-256");
+    digest.update(bytes, 10, 90);
+    var sha256 = digest.digest();
+
+    assertDoesNotThrow(
+        new ByteBufferExpectation(expected, NAME)
+            .expectCrc32c(crc.getValue())
+            .expectDigest("SHA-256", sha256)::confirm
+    );
+    assertEquals(10, expected.position());
+
+    assertEquals(
+        NAME + ": expected a CRC-32C checksum of 00000000 but it was "
+            + String.format("%08x", crc.getValue()),
+        assertThrows(
+            ExpectatorException.class,
+            new ByteBufferExpectation(expected, NAME).expectCrc32c(0)::confirm
+        ).getMessage()
+    );
+    assertThrows(
+        ExpectatorException.class,
+        new ByteBufferExpectation(expected, NAME).expectDigest("SHA-256", new byte[32])::confirm
+    );
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new ByteBufferExpectation(expected, NAME).expectDigest("NOPE", sha256)
+    );
+  }
+}
@@ -28,8 +28,13 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Stream;
@@ -88,6 +93,97 @@ class CollectionExpectationTest
     this.testNameOnlyConstructor(new CollectionExpectation(NAME), NAME);
   }
 
+  @Test
+  void testOrderAndUniqueness() {
+    var ascending = new ArrayList<Integer>();
+
+    for (int i = 0; i < 10_000; i++) {
+      ascending.add(i * 2);
+    }
+
+    assertDoesNotThrow(getExpectation(ascending).expectStrictlyIncreasing()::confirm);
+    assertDoesNotThrow(getExpectation(ascending).expectNoDuplicates()::confirm);
+    assertDoesNotThrow(
+        getExpectation(ascending).expectSorted(Comparator.<Integer>naturalOrder())::confirm
+    );
+    assertThrows(
+        ExpectatorException.class,
+        getExpectation(ascending).expectSorted(Comparator.<Integer>reverseOrder())::confirm
+    );
+
+    ascending.set(5_000, 2);
+
+    assertEquals(
+        NAME + ": expected elements to be strictly increasing but element 5000 (2) is not greater"
+            + " than element 4999 (9998)",
+        assertThrows(
+            ExpectatorException.class,
+            getExpectation(ascending).expectStrictlyIncreasing()::confirm
+        ).getMessage()
+    );
+    assertEquals(
+        NAME + ": expected elements to have no duplicates but element 5000 (2) duplicates an"
+            + " earlier element",
+        assertThrows(
+            ExpectatorException.class,
+            getExpectation(ascending).expectNoDuplicates()::confirm
+        ).getMessage()
+    );
+    assertThrows(
+        ExpectatorException.class,
+        getExpectation(new LinkedList<>(List.of(3L, 1L, 2L, 1L))).expectNoDuplicates()::confirm
+    );
+  }
+
+  @Test
+  void testOrderWithoutFastPaths() {
+    Collection<String> words = new ArrayDeque<>(List.of("a", "b", "b", "c"));
+    var expectation = new CollectionExpectation(words, NAME);
+
+    assertDoesNotThrow(expectation.expectSorted(Comparator.<String>naturalOrder())::confirm);
+    assertThrows(
+        ExpectatorException.class,
+        new CollectionExpectation(words, NAME).expectStrictlyIncreasing()::confirm
+    );
+    assertEquals(
+        NAME + ": expected elements to have no duplicates but element 2 (b) duplicates an earlier"
+            + " element",
+        assertThrows(
+            ExpectatorException.class,
+            new CollectionExpectation(words, NAME).expectNoDuplicates()::confirm
+        ).getMessage()
+    );
+    assertEquals(
+        NAME + ": expected elements to be sorted but element 1 (bb) is out of order after"
+            + " element 0 (ccc)",
+        assertThrows(
+            ExpectatorException.class,
+            getExpectation(List.of("ccc", "bb", "a"))
+                .expectSorted(Comparator.comparing(String::length))::confirm
+        ).getMessage()
+    );
+
+    //Mixed and null elements leave the primitive paths without losing their place
+    assertThrows(
+        ExpectatorException.class,
+        getExpectation(Arrays.asList(1, 2, 3L, 4)).expectStrictlyIncreasing()::confirm
+    );
+    assertThrows(
+        ExpectatorException.class,
+        getExpectation(Arrays.asList(1.0, 2.0, null)).expectStrictlyIncreasing()::confirm
+    );
+    assertDoesNotThrow(getExpectation(Arrays.asList(1, 1L, 1.0)).expectNoDuplicates()::confirm);
+    assertThrows(
+        ExpectatorException.class,
+        getExpectation(Arrays.asList(-0.0, 0.0, Double.NaN, Double.NaN))
+            .expectNoDuplicates()::confirm
+    );
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> expectation.expectSorted(null)
+    );
+  }
+
   @ParameterizedTest()
   @MethodSource("parameters")
   void testExpectations(
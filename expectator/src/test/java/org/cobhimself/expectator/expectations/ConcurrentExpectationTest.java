@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.expectations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.cobhimself.expectator.ExpectatorEntry;
+import org.cobhimself.expectator.exceptions.ExpectatorException;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentExpectationTest
+    implements BaseExpectationTest<ConcurrentExpectation<Integer>, Integer> {
+
+  private static final String NAME = "Concurrent expectation";
+  private static final Integer EXPECTED = 5;
+
+  @Test
+  void testConstructors() {
+    this.testExpectedValueAndNameConstructor(
+        new ConcurrentExpectation<>(EXPECTED, NAME),
+        EXPECTED,
+        NAME
+    );
+
+    this.testNameOnlyConstructor(new ConcurrentExpectation<>(NAME), NAME);
+  }
+
+  @Test
+  void testConcurrentRegistration() throws InterruptedException {
+    var expectation = new ConcurrentExpectation<Integer>(NAME);
+    var confirmed = new AtomicInteger();
+    var start = new CountDownLatch(1);
+    var threads = new ArrayList<Thread>();
+
+    for (int t = 0; t < 8; t++) {
+      var thread = new Thread(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+          expectation.expect(
+              (e, a) -> confirmed.incrementAndGet() > 0 && e > (Integer) a,
+              i % EXPECTED,
+              "expected {expected} to be greater than {actual}"
+          );
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+
+    start.countDown();
+
+    for (var thread : threads) {
+      thread.join();
+    }
+
+    expectation.setExpectedValue(EXPECTED);
+    expectation.confirm();
+
+    assertEquals(80_000, confirmed.get());
+    assertEquals(80_000, expectation.getExpectatorCount());
+
+    expectation.expect((e, a) -> false, 0, "always fails");
+    assertThrows(ExpectatorException.class, expectation::confirm);
+
+    expectation.reset();
+    assertEquals(0, expectation.getExpectatorCount());
+    assertEquals(0, expectation.getExpectators().size());
+
+    var entry = new ExpectatorEntry<Integer>(expectation, (e, a) -> true, 0, "always passes");
+    expectation.getExpectators().addAll(List.of(entry, entry, entry));
+    assertEquals(3, expectation.getExpectatorCount());
+  }
+}
@@ -0,0 +1,188 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.expectations;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.cobhimself.expectator.exceptions.ExpectatorException;
+import org.junit.jupiter.api.Test;
+
+class DoubleArrayExpectationTest implements BaseExpectationTest<DoubleArrayExpectation, double[]> {
+
+  private static final String NAME = "Double array expectation";
+  private static final double[] EXPECTED = {1.0, 2.0, 3.0, 4.0, 5.0, 6.0};
+
+  static DoubleArrayExpectation getExpectation() {
+    return new DoubleArrayExpectation(EXPECTED, NAME);
+  }
+
+  @Test
+  void testConstructors() {
+    this.testExpectedValueAndNameConstructor(
+        new DoubleArrayExpectation(EXPECTED, NAME),
+        EXPECTED,
+        NAME
+    );
+
+    this.testNameOnlyConstructor(new DoubleArrayExpectation(NAME), NAME);
+  }
+
+  @Test
+  void testExpectations() {
+    assertDoesNotThrow(
+        getExpectation()
+            .expectEquals(EXPECTED.clone())
+            .expectStartsWith(new double[] {1.0, 2.0})
+            .expectRangeEquals(4, new double[] {5.0, 6.0})
+            .expectLength(6)::confirm
+    );
+
+    assertEquals(
+        NAME + ": expected the range starting at 1 to equal the given elements but first"
+            + " mismatch at index 2: expected [2.0, (3.0)] but was [2.0, (4.0)]",
+        assertThrows(
+            ExpectatorException.class,
+            getExpectation().expectRangeEquals(1, new double[] {2.0, 4.0})::confirm
+        ).getMessage()
+    );
+
+    assertDoesNotThrow(
+        new DoubleArrayExpectation(new double[] {Double.NaN}, NAME)
+            .expectEquals(new double[] {Double.NaN})::confirm
+    );
+    assertThrows(
+        ExpectatorException.class,
+        new DoubleArrayExpectation(new double[] {0.0}, NAME)
+            .expectEquals(new double[] {-0.0})::confirm
+    );
+  }
+
+  @Test
+  void testBulkRanges() {
+    var values = IntStream.range(0, 100_000).mapToDouble(i -> i / 100_000.0).toArray();
+
+    assertDoesNotThrow(
+        new DoubleArrayExpectation(values, NAME)
+            .expectAllBetween(0, 1)
+            .expectAllGreaterThan(-Double.MIN_VALUE)
+            .expectAllLessThan(1)::confirm
+    );
+    assertThrows(
+        ExpectatorException.class,
+        new DoubleArrayExpectation(values, NAME).expectAllGreaterThan(0)::confirm
+    );
+    assertThrows(
+        ExpectatorException.class,
+        new DoubleArrayExpectation(new double[] {Double.POSITIVE_INFINITY}, NAME)
+            .expectAllGreaterThan(Double.POSITIVE_INFINITY)::confirm
+    );
+
+    values[54_321] = Double.NaN;
+
+    assertEquals(
+        NAME + ": expected every element to be between 0.0 and 1.0 but element 54321 is NaN",
+        assertThrows(
+            ExpectatorException.class,
+            new DoubleArrayExpectation(values, NAME).expectAllBetween(0, 1)::confirm
+        ).getMessage()
+    );
+  }
+
+  @Test
+  void testTolerance() {
+    var values = IntStream.range(0, 100_000).mapToDouble(i -> i).toArray();
+    var reference = values.clone();
+
+    for (int i = 0; i < reference.length; i++) {
+      reference[i] += (i % 2 == 0 ? 1 : -1) * 1e-3;
+    }
+
+    values[10] = Double.NaN;
+    reference[10] = Double.NaN;
+    values[20] = Double.POSITIVE_INFINITY;
+    reference[20] = Double.POSITIVE_INFINITY;
+
+    assertDoesNotThrow(
+        new DoubleArrayExpectation(values, NAME).expectAllWithin(reference, 1e-2)::confirm
+    );
+
+    reference[99_998] = 0;
+
+    assertEquals(
+        NAME + ": expected every element to be within 0.01 of the reference but element 99998"
+            + " is 99998.0 but the reference is 0.0",
+        assertThrows(
+            ExpectatorException.class,
+            new DoubleArrayExpectation(values, NAME).expectAllWithin(reference, 1e-2)::confirm
+        ).getMessage()
+    );
+    assertEquals(
+        NAME + ": expected every element to be within 1.0 of the reference but there are 6"
+            + " elements but 5 references",
+        assertThrows(
+            ExpectatorException.class,
+            getExpectation().expectAllWithin(new double[] {1, 2, 3, 4, 5}, 1)::confirm
+        ).getMessage()
+    );
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> getExpectation().expectAllWithin(values, Double.NaN)
+    );
+  }
+
+  @Test
+  void testSameDistribution() {
+    var random = new Random(11);
+    double[] a = random.doubles(100_000).toArray();
+    double[] b = random.doubles(50_000).toArray();
+    double[] shifted = random.doubles(50_000, 0.02, 1.02).toArray();
+
+    assertDoesNotThrow(
+        new DoubleArrayExpectation(a, NAME).expectSameDistributionAs(b, 0.01)::confirm
+    );
+
+    var message = assertThrows(
+        ExpectatorException.class,
+        new DoubleArrayExpectation(a, NAME).expectSameDistributionAs(shifted, 0.01)::confirm
+    ).getMessage();
+
+    assertTrue(
+        message.startsWith(
+            NAME + ": expected samples of the same distribution at significance 0.01 but D = "
+        ),
+        message
+    );
+    assertTrue(message.endsWith("over 100000 and 50000 values"), message);
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> getExpectation().expectSameDistributionAs(b, 1)
+    );
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.expectations;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.stream.IntStream;
+import org.cobhimself.expectator.exceptions.ExpectatorException;
+import org.junit.jupiter.api.Test;
+
+class ExpectationSpecTest {
+
+  private static final String NAME = "Spec name";
+
+  static ExpectationSpec<Integer> getSpec() {
+    return new IntExpectation(NAME)
+        .expectGreaterThanOrEqualTo(10)
+        .expectLessThan(20)
+        .toSpec();
+  }
+
+  @Test
+  void testConfirm() {
+    var spec = getSpec();
+
+    assertEquals(NAME, spec.getName());
+    assertEquals(2, spec.getExpectators().size());
+    assertDoesNotThrow(() -> spec.confirm(10));
+    assertDoesNotThrow(() -> spec.confirm(19));
+
+    Exception exception = assertThrows(ExpectatorException.class, () -> spec.confirm(20));
+    assertEquals(NAME + ": expected 20 to be less than 20", exception.getMessage());
+  }
+
+  @Test
+  void testSpecEntriesCannotBeRearmed() {
+    var entry = getSpec().getExpectators().get(0);
+
+    assertTrue(entry.isFrozen());
+    assertThrows(IllegalStateException.class, () -> entry.rearm((e, a) -> true, 0, "rearmed"));
+  }
+
+  @Test
+  void testSpecIsUnaffectedByLaterExpectators() {
+    var expectation = new IntExpectation(15, NAME).expectGreaterThan(10);
+    var spec = expectation.toSpec();
+    expectation.expectGreaterThan(100);
+
+    assertDoesNotThrow(() -> spec.confirm(15));
+    assertThrows(ExpectatorException.class, expectation::confirm);
+  }
+
+  @Test
+  void testEmptySpec() {
+    var spec = new IntExpectation(NAME).toSpec();
+
+    Exception exception = assertThrows(ExpectatorException.class, () -> spec.confirm(1));
+    assertEquals(NAME + ": " + Expectation.NO_EXPECTATOR_ENTRIES_FOUND, exception.getMessage());
+  }
+
+  @Test
+  void testConcurrentConfirmation() {
+    var spec = getSpec();
+
+    assertEquals(
+        10,
+        IntStream.range(0, 100_000)
+            .parallel()
+            .filter(i -> spec.test(i % 100))
+            .count() / 1_000
+    );
+    assertTrue(spec.test(15));
+    assertFalse(spec.test(5));
+  }
+}
@@ -25,7 +25,12 @@
 package org.cobhimself.expectator.expectations;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.ArrayList;
+import org.cobhimself.expectator.exceptions.ExpectatorException;
 import org.junit.jupiter.api.Test;
 
 class ExpectationTest implements BaseExpectationTest<Expectation<String>, String> {
@@ -58,4 +63,40 @@ class ExpectationTest implements BaseExpectationTest<Expectation<String>, String
     var expectation = new Expectation<>(null, NAME);
     assertDoesNotThrow(() -> expectation.expectNull().confirm());
   }
+
+  @Test
+  void testResetRecyclesEntries() {
+    var expectation = new IntExpectation(5, NAME)
+        .expectGreaterThan(1)
+        .expectLessThan(10);
+    var entries = new ArrayList<>(expectation.getExpectators());
+
+    expectation.reset();
+    Exception exception = assertThrows(ExpectatorException.class, expectation::confirm);
+    assertEquals(NAME + ": " + Expectation.NO_EXPECTATOR_ENTRIES_FOUND, exception.getMessage());
+
+    expectation.setExpectedValue(50);
+    expectation.expectGreaterThan(40).expectLessThan(60);
+    assertDoesNotThrow(expectation::confirm);
+
+    var rearmed = new ArrayList<>(expectation.getExpectators());
+    assertEquals(2, rearmed.size());
+    assertSame(entries.get(1), rearmed.get(0));
+    assertSame(entries.get(0), rearmed.get(1));
+
+    expectation.reset();
+    expectation.expectLessThan(40);
+    assertThrows(ExpectatorException.class, expectation::confirm);
+  }
+
+  @Test
+  void testSpecIsUnaffectedByReset() {
+    var expectation = new IntExpectation(5, NAME).expectGreaterThan(1);
+    var spec = expectation.toSpec();
+
+    expectation.reset();
+    expectation.expectGreaterThan(100);
+
+    assertDoesNotThrow(() -> spec.confirm(5));
+  }
 }
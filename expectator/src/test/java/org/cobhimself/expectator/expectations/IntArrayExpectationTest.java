@@ -0,0 +1,191 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.expectations;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.cobhimself.expectator.exceptions.ExpectatorException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class IntArrayExpectationTest implements BaseExpectationTest<IntArrayExpectation, int[]> {
+
+  private static final String NAME = "Int array expectation";
+  private static final int[] EXPECTED = IntStream.range(0, 20).toArray();
+
+  static IntArrayExpectation getExpectation() {
+    return new IntArrayExpectation(EXPECTED, NAME);
+  }
+
+  @Test
+  void testConstructors() {
+    this.testExpectedValueAndNameConstructor(
+        new IntArrayExpectation(EXPECTED, NAME),
+        EXPECTED,
+        NAME
+    );
+
+    this.testNameOnlyConstructor(new IntArrayExpectation(NAME), NAME);
+  }
+
+  @Test
+  void testFailureMessages() {
+    var actual = EXPECTED.clone();
+    actual[10] = 99;
+
+    assertEquals(
+        NAME + ": expected arrays to be equal but first mismatch at index 10: expected"
+            + " [..., 6, 7, 8, 9, (10), 11, 12, 13, 14, ...] but was"
+            + " [..., 6, 7, 8, 9, (99), 11, 12, 13, 14, ...]",
+        assertThrows(
+            ExpectatorException.class,
+            getExpectation().expectEquals(actual)::confirm
+        ).getMessage()
+    );
+
+    assertEquals(
+        NAME + ": expected arrays to be equal but first mismatch at index 3 where 3 elements"
+            + " were expected but there were 4: expected [1, 2, 3] but was [1, 2, 3, (4)]",
+        assertThrows(
+            ExpectatorException.class,
+            new IntArrayExpectation(new int[] {1, 2, 3}, NAME)
+                .expectEquals(new int[] {1, 2, 3, 4})::confirm
+        ).getMessage()
+    );
+
+    assertEquals(
+        NAME + ": expected the range starting at 5 to equal the given elements but first"
+            + " mismatch at index 7: expected [5, 6, (7)] but was [5, 6, (0)]",
+        assertThrows(
+            ExpectatorException.class,
+            getExpectation().expectRangeEquals(5, new int[] {5, 6, 0})::confirm
+        ).getMessage()
+    );
+
+    assertEquals(
+        NAME + ": expected the range starting at 15 to equal the given elements but the range"
+            + " [15, 21) is outside of the 20 expected elements",
+        assertThrows(
+            ExpectatorException.class,
+            getExpectation().expectRangeEquals(15, new int[] {15, 16, 17, 18, 19, 20})::confirm
+        ).getMessage()
+    );
+
+    assertEquals(
+        NAME + ": expected arrays to be equal but the actual array is null",
+        assertThrows(
+            ExpectatorException.class,
+            getExpectation().expectEquals(null)::confirm
+        ).getMessage()
+    );
+  }
+
+  @Test
+  void testBulkRanges() {
+    var values = IntStream.range(0, 1_000_000).map(i -> i % 1000).toArray();
+
+    assertDoesNotThrow(
+        new IntArrayExpectation(values, NAME)
+            .expectAllBetween(0, 999)
+            .expectAllGreaterThan(-1)
+            .expectAllLessThan(1000)::confirm
+    );
+    assertDoesNotThrow(new IntArrayExpectation(new int[0], NAME).expectAllLessThan(0)::confirm);
+
+    values[765_432] = 1000;
+
+    assertEquals(
+        NAME + ": expected every element to be between 0 and 999 but element 765432 is 1000",
+        assertThrows(
+            ExpectatorException.class,
+            new IntArrayExpectation(values, NAME).expectAllBetween(0, 999)::confirm
+        ).getMessage()
+    );
+    assertEquals(
+        NAME + ": expected every element to be greater than 2147483647 but element 0 is 0",
+        assertThrows(
+            ExpectatorException.class,
+            new IntArrayExpectation(values, NAME)
+                .expectAllGreaterThan(Integer.MAX_VALUE)::confirm
+        ).getMessage()
+    );
+    assertThrows(
+        ExpectatorException.class,
+        new IntArrayExpectation(values, NAME).expectAllLessThan(1000)::confirm
+    );
+  }
+
+  @ParameterizedTest()
+  @MethodSource("parameters")
+  void testExpectations(
+      int[] expected,
+      List<IntArrayExpectation> willPass,
+      List<IntArrayExpectation> willFail
+  ) {
+    willPass.forEach(expectation -> {
+      expectation.setExpectedValue(expected);
+      assertDoesNotThrow(expectation::confirm);
+    });
+    willFail.forEach(expectation -> {
+      expectation.setExpectedValue(expected);
+      assertThrows(ExpectatorException.class, expectation::confirm);
+    });
+  }
+
+  static Stream<Arguments> parameters() {
+    return Stream.of(
+        Arguments.of(
+            EXPECTED,
+            //Will Pass
+            List.of(
+                getExpectation().expectEquals(IntStream.range(0, 20).toArray()),
+                getExpectation().expectNotEquals(new int[] {0, 1}),
+                getExpectation().expectStartsWith(new int[] {0, 1, 2}),
+                getExpectation().expectStartsWith(new int[0]),
+                getExpectation().expectRangeEquals(17, new int[] {17, 18, 19}),
+                getExpectation().expectRangeEquals(20, new int[0]),
+                getExpectation().expectLength(20)
+            ),
+            //Will Fail
+            List.of(
+                getExpectation().expectEquals(new int[] {0, 1}),
+                getExpectation().expectNotEquals(IntStream.range(0, 20).toArray()),
+                getExpectation().expectStartsWith(new int[] {1}),
+                getExpectation().expectStartsWith(IntStream.range(0, 21).toArray()),
+                getExpectation().expectRangeEquals(-1, new int[] {0}),
+                getExpectation().expectRangeEquals(18, new int[] {18, 19, 20}),
+                getExpectation().expectLength(19)
+            )
+        )
+    );
+  }
+}
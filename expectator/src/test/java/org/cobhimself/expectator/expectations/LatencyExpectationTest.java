@@ -0,0 +1,119 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.expectations;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import org.cobhimself.expectator.exceptions.ExpectatorException;
+import org.cobhimself.expectator.metrics.LatencyHistogram;
+import org.cobhimself.expectator.performance.Blackhole;
+import org.junit.jupiter.api.Test;
+
+class LatencyExpectationTest
+    implements BaseExpectationTest<LatencyExpectation, LatencyHistogram> {
+
+  private static final String NAME = "Latency expectation";
+
+  @Test
+  void testConstructors() {
+    var histogram = new LatencyHistogram();
+
+    this.testExpectedValueAndNameConstructor(
+        new LatencyExpectation(histogram, NAME),
+        histogram,
+        NAME
+    );
+
+    this.testNameOnlyConstructor(new LatencyExpectation(blackhole -> { }, NAME), NAME);
+  }
+
+  @Test
+  void testWarmupAndMeasurement() {
+    var runs = new AtomicInteger();
+    var expectation = new LatencyExpectation(
+        blackhole -> blackhole.consume(Math.sqrt(runs.incrementAndGet())),
+        NAME
+    )
+        .setWarmupIterations(500)
+        .setMeasurementIterations(2_000)
+        .expectCompletesWithin(Duration.ofSeconds(1), 99)
+        .expectMeanWithin(Duration.ofSeconds(1));
+
+    assertDoesNotThrow(expectation::confirm);
+    assertEquals(2_500, runs.get());
+    assertEquals(2_000, expectation.getExpectedValue().getCount());
+
+    //Confirming again reuses the measured latencies
+    assertDoesNotThrow(expectation::confirm);
+    assertEquals(2_500, runs.get());
+  }
+
+  @Test
+  void testFailureReportsDistribution() {
+    var expectation = new LatencyExpectation(
+        blackhole -> LockSupport.parkNanos(200_000),
+        NAME
+    )
+        .setWarmupIterations(0)
+        .setMeasurementIterations(20)
+        .expectCompletesWithin(Duration.ofNanos(1_000), 50);
+
+    var message = assertThrows(ExpectatorException.class, expectation::confirm).getMessage();
+
+    assertTrue(
+        message.startsWith(NAME + ": expected p50.0 latency of at most 1000ns but it was "),
+        message
+    );
+    assertTrue(message.contains("count=20 "), message);
+    assertTrue(message.contains(" p99="), message);
+  }
+
+  @Test
+  void testArguments() {
+    var expectation = new LatencyExpectation(blackhole -> { }, NAME);
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new LatencyExpectation((Consumer<Blackhole>) null, NAME)
+    );
+    assertThrows(IllegalArgumentException.class, () -> expectation.setWarmupIterations(-1));
+    assertThrows(IllegalArgumentException.class, () -> expectation.setMeasurementIterations(0));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> expectation.expectCompletesWithin(Duration.ofMillis(1), 0)
+    );
+    assertThrows(
+        IllegalStateException.class,
+        new LatencyExpectation(new LatencyHistogram(), NAME)::measure
+    );
+  }
+}
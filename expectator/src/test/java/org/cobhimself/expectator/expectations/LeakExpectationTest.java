@@ -0,0 +1,117 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.expectations;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.ref.Reference;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.cobhimself.expectator.exceptions.ExpectatorException;
+import org.junit.jupiter.api.Test;
+
+class LeakExpectationTest implements BaseExpectationTest<LeakExpectation, Reference<?>> {
+
+  private static final String NAME = "Leak expectation";
+
+  /**
+   * A class only this test creates, so it is easy to find in a heap histogram.
+   */
+  private static final class Retained {
+    private final byte[] payload = new byte[64];
+  }
+
+  @Test
+  void testConstructors() {
+    var referent = new Object();
+    var expectation = new LeakExpectation(referent, NAME);
+
+    assertSame(referent, expectation.getExpectedValue().get());
+    this.testExpectedValueAndNameConstructor(expectation, expectation.getExpectedValue(), NAME);
+    this.testNameOnlyConstructor(new LeakExpectation(NAME), NAME);
+  }
+
+  @Test
+  void testUnreachableObjectIsCollected() {
+    var expectation = new LeakExpectation(new Retained(), NAME)
+        .expectEventuallyCollected(Duration.ofSeconds(10));
+
+    assertDoesNotThrow(expectation::confirm);
+    assertDoesNotThrow(expectation::confirm);
+  }
+
+  @Test
+  void testRetainedObjectFails() {
+    List<Object> cache = new ArrayList<>();
+    var retained = new Retained();
+    cache.add(retained);
+
+    var expectation = new LeakExpectation(retained, NAME)
+        .setHistogramOnFailure(true)
+        .expectEventuallyCollected(Duration.ofMillis(50));
+
+    var message = assertThrows(ExpectatorException.class, expectation::confirm).getMessage();
+
+    assertTrue(
+        message.startsWith(
+            NAME + ": expected the tracked object to be collected within 50ms but the "
+                + Retained.class.getName() + " is still reachable; "
+        ),
+        message
+    );
+    assertTrue(message.contains(Retained.class.getName() + "\n")
+        || message.contains("no heap histogram"), message);
+
+    Reference.reachabilityFence(cache);
+  }
+
+  @Test
+  void testObjectTrackedAfterExpectingIsNamed() {
+    var retained = new Retained();
+    var expectation = new LeakExpectation(NAME)
+        .expectEventuallyCollected(Duration.ofMillis(50))
+        .track(retained);
+
+    var message = assertThrows(ExpectatorException.class, expectation::confirm).getMessage();
+
+    assertEquals(
+        NAME + ": expected the tracked object to be collected within 50ms but the "
+            + Retained.class.getName() + " is still reachable",
+        message
+    );
+
+    Reference.reachabilityFence(retained);
+  }
+
+  @Test
+  void testArguments() {
+    assertThrows(IllegalArgumentException.class, () -> new LeakExpectation(NAME).track(null));
+  }
+}
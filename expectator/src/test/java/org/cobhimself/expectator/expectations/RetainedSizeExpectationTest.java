@@ -0,0 +1,108 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.expectations;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.cobhimself.expectator.exceptions.ExpectatorException;
+import org.cobhimself.expectator.graph.HeapLayout;
+import org.junit.jupiter.api.Test;
+
+class RetainedSizeExpectationTest implements BaseExpectationTest<RetainedSizeExpectation, Object> {
+
+  private static final String NAME = "Retained size expectation";
+  private static final HeapLayout LAYOUT = new HeapLayout(true, true, 8);
+
+  @Test
+  void testConstructors() {
+    var expected = new int[4];
+
+    this.testExpectedValueAndNameConstructor(
+        new RetainedSizeExpectation(expected, NAME),
+        expected,
+        NAME
+    );
+    this.testNameOnlyConstructor(new RetainedSizeExpectation(NAME), NAME);
+  }
+
+  @Test
+  void testExpectRetainedSizeAtMost() {
+    var index = new long[][] {new long[4], new long[4]};
+    var expectation = new RetainedSizeExpectation(index, NAME).setHeapLayout(LAYOUT);
+
+    assertEquals(24 + 2 * 48, expectation.getRetainedSize().getBytes());
+    assertDoesNotThrow(expectation.expectRetainedSizeAtMost(120)::confirm);
+
+    index[1] = new long[1024];
+    expectation.reset();
+    expectation.setExpectedValue(index);
+    expectation.expectRetainedSizeAtMost(120);
+
+    Exception exception = assertThrows(ExpectatorException.class, expectation::confirm);
+    assertEquals(
+        NAME + ": expected a retained size of at most 120 bytes but estimated 8280 bytes in 3 "
+            + "objects",
+        exception.getMessage()
+    );
+  }
+
+  @Test
+  void testSpecMeasuresTheGraphAsItIs() {
+    var index = new long[][] {new long[4], new long[4]};
+    var spec = new RetainedSizeExpectation(NAME)
+        .setHeapLayout(LAYOUT)
+        .expectRetainedSizeAtMost(120)
+        .toSpec();
+
+    assertTrue(spec.test(index));
+
+    index[1] = new long[1024];
+
+    assertFalse(spec.test(index));
+
+    Exception exception = assertThrows(ExpectatorException.class, () -> spec.confirm(index));
+    assertEquals(
+        NAME + ": expected a retained size of at most 120 bytes but estimated 8280 bytes in 3 "
+            + "objects",
+        exception.getMessage()
+    );
+
+    index[1] = new long[4];
+
+    assertDoesNotThrow(() -> spec.confirm(index));
+  }
+
+  @Test
+  void testArguments() {
+    var expectation = new RetainedSizeExpectation(NAME);
+
+    assertThrows(IllegalArgumentException.class, () -> expectation.expectRetainedSizeAtMost(-1));
+    assertThrows(IllegalArgumentException.class, () -> expectation.setHeapLayout(null));
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.expectations;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.cobhimself.expectator.exceptions.ExpectatorException;
+import org.cobhimself.expectator.statistics.SampleStatistics;
+import org.junit.jupiter.api.Test;
+
+class StatisticsExpectationTest
+    implements BaseExpectationTest<StatisticsExpectation, SampleStatistics> {
+
+  private static final String NAME = "Statistics expectation";
+
+  //The integers 1 to 10000, as latencies
+  static SampleStatistics latencies() {
+    return SampleStatistics.of(IntStream.rangeClosed(1, 10_000).asDoubleStream().parallel());
+  }
+
+  @Test
+  void testConstructors() {
+    var expected = latencies();
+
+    this.testExpectedValueAndNameConstructor(
+        new StatisticsExpectation(expected, NAME),
+        expected,
+        NAME
+    );
+
+    this.testNameOnlyConstructor(new StatisticsExpectation(NAME), NAME);
+  }
+
+  @Test
+  void testExpectations() {
+    assertDoesNotThrow(
+        new StatisticsExpectation(latencies(), NAME)
+            .expectCount(10_000)
+            .expectMeanBetween(5000, 5001)
+            .expectStandardDeviationAtMost(2900)
+            .expectMinAtLeast(1)
+            .expectMaxAtMost(10_000)
+            .expectQuantileAtMost(0.99, 9900 * 1.01)
+            .expectQuantileAtLeast(0.5, 5000 * 0.99)
+            .expectQuantileBetween(0.9, 9000 * 0.99, 9000 * 1.01)::confirm
+    );
+
+    assertThrows(
+        ExpectatorException.class,
+        new StatisticsExpectation(latencies(), NAME).expectCount(1)::confirm
+    );
+    assertThrows(
+        ExpectatorException.class,
+        new StatisticsExpectation(latencies(), NAME).expectStandardDeviationAtMost(100)::confirm
+    );
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new StatisticsExpectation(latencies(), NAME).expectQuantileAtMost(99, 1)
+    );
+
+    var message = assertThrows(
+        ExpectatorException.class,
+        new StatisticsExpectation(latencies(), NAME).expectQuantileAtMost(0.99, 5000)::confirm
+    ).getMessage();
+
+    assertTrue(
+        message.startsWith(NAME + ": expected the 0.99 quantile to be at most 5000.0 but it was"),
+        message
+    );
+    assertTrue(message.contains("count=10000, mean=5000.5"), message);
+  }
+
+  @Test
+  void testSameDistribution() {
+    var random = new Random(13);
+    var a = SampleStatistics.of(random.doubles(200_000, 10, 20).parallel());
+    var b = SampleStatistics.of(random.doubles(100_000, 10, 20).parallel());
+    var shifted = SampleStatistics.of(random.doubles(100_000, 10.5, 20.5).parallel());
+
+    assertDoesNotThrow(
+        new StatisticsExpectation(a, NAME).expectSameDistributionAs(b, 0.01)::confirm
+    );
+    assertThrows(
+        ExpectatorException.class,
+        new StatisticsExpectation(a, NAME).expectSameDistributionAs(shifted, 0.01)::confirm
+    );
+  }
+}
@@ -25,6 +25,7 @@
 package org.cobhimself.expectator.expectations;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.util.List;
@@ -54,6 +55,19 @@ class StringExpectationTest implements BaseExpectationTest<StringExpectation, St
     this.testNameOnlyConstructor(new StringExpectation(NAME), NAME);
   }
 
+  @Test
+  void testEqualsFailureShowsDiff() {
+    var expectation = new StringExpectation("one\ntwo\nthree", NAME);
+    expectation.expectEquals("one\n2\nthree");
+
+    Exception exception = assertThrows(ExpectatorException.class, expectation::confirm);
+    assertEquals(
+        NAME + ": expected strings to be equal\n"
+            + "--- expected\n+++ actual\n@@ -1,3 +1,3 @@\n one\n-two\n+2\n three\n",
+        exception.getMessage()
+    );
+  }
+
   @ParameterizedTest()
   @MethodSource("parameters")
   void testExpectations(
@@ -0,0 +1,146 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.expectations;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.cobhimself.expectator.exceptions.ExpectatorException;
+import org.cobhimself.expectator.performance.ThroughputResult;
+import org.junit.jupiter.api.Test;
+
+class ThroughputExpectationTest
+    implements BaseExpectationTest<ThroughputExpectation, ThroughputResult> {
+
+  private static final String NAME = "Throughput expectation";
+
+  @Test
+  void testConstructors() {
+    var result = new ThroughputResult(new long[] {1}, 1);
+
+    this.testExpectedValueAndNameConstructor(
+        new ThroughputExpectation(result, NAME),
+        result,
+        NAME
+    );
+
+    this.testNameOnlyConstructor(new ThroughputExpectation(() -> { }, NAME), NAME);
+  }
+
+  @Test
+  void testResult() {
+    var result = new ThroughputResult(new long[] {10, 20, 30}, 2_000_000_000L);
+
+    assertEquals(3, result.getThreads());
+    assertEquals(60, result.getTotalOperations());
+    assertEquals(30, result.getOperationsPerSecond());
+    assertEquals(10, result.getThreadMean());
+    assertEquals(25, result.getThreadVariance());
+    assertEquals(0.5, result.getCoefficientOfVariation());
+    assertEquals(0, new ThroughputResult(new long[] {5}, 1).getThreadVariance());
+    assertThrows(IllegalArgumentException.class, () -> new ThroughputResult(new long[0], 1));
+  }
+
+  @Test
+  void testMeasurement() {
+    var counter = new AtomicLong();
+    var expectation = new ThroughputExpectation(
+        () -> {
+          counter.incrementAndGet();
+
+          return 10;
+        },
+        NAME
+    )
+        .setThreads(2)
+        .setWarmup(Duration.ofMillis(20))
+        .setDuration(Duration.ofMillis(100))
+        .expectAtLeast(1_000);
+
+    assertDoesNotThrow(expectation::confirm);
+
+    var result = expectation.getExpectedValue();
+
+    assertEquals(2, result.getThreads());
+    assertTrue(result.getNanos() >= 100_000_000L);
+    assertTrue(result.getTotalOperations() <= counter.get() * 10);
+    assertEquals(0, result.getTotalOperations() % 10);
+
+    var message = assertThrows(
+        ExpectatorException.class,
+        new ThroughputExpectation(result, NAME).expectAtLeast(1e18)::confirm
+    ).getMessage();
+
+    assertTrue(message.startsWith(NAME + ": expected at least 1.0E18 ops/s but measured "));
+    assertTrue(message.contains("over 2 threads"), message);
+  }
+
+  @Test
+  void testOnlyOperationsCompletingWithinTheWindowCount() {
+    //Each operation takes at least 60ms, so at most two complete within a 100ms window while the
+    //one running when the window opens completes inside it
+    var result = new ThroughputExpectation(
+        () -> {
+          try {
+            Thread.sleep(60);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        },
+        NAME
+    )
+        .setThreads(1)
+        .setWarmup(Duration.ofMillis(20))
+        .setDuration(Duration.ofMillis(100))
+        .measure()
+        .getExpectedValue();
+
+    assertEquals(100_000_000L, result.getNanos());
+    assertTrue(result.getTotalOperations() >= 1, result::toString);
+    assertTrue(result.getTotalOperations() <= 2, result::toString);
+  }
+
+  @Test
+  void testFailingAction() {
+    var expectation = new ThroughputExpectation(
+        () -> {
+          throw new IllegalStateException("broken");
+        },
+        NAME
+    )
+        .setThreads(2)
+        .setWarmup(Duration.ofSeconds(10))
+        .expectAtLeast(1);
+
+    var exception = assertThrows(CompletionException.class, expectation::confirm);
+
+    assertEquals("broken", exception.getCause().getMessage());
+  }
+}
@@ -0,0 +1,196 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.graph;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import org.cobhimself.expectator.exceptions.ExpectatorException;
+import org.cobhimself.expectator.expectations.ConcurrentExpectation;
+import org.junit.jupiter.api.Test;
+
+class DeepEqualityTest {
+
+  static class Node {
+    int value;
+    double weight;
+    String name;
+    Node next;
+    List<Node> children = new ArrayList<>();
+    Map<String, int[]> tags = Map.of();
+
+    Node(int value, String name) {
+      this.value = value;
+      this.name = name;
+    }
+  }
+
+  @Test
+  void testEqualGraphsWithoutEquals() {
+    assertTrue(DeepEquality.equals(tree(), tree()));
+    assertNull(DeepEquality.findDifference(null, null));
+  }
+
+  @Test
+  void testFirstDifferencePath() {
+    var actual = tree();
+    actual.children.get(1).tags = Map.of("ids", new int[]{1, 2, 4});
+
+    var difference = DeepEquality.findDifference(tree(), actual);
+
+    assertEquals("children[1].tags[ids][2]", difference.getPath());
+    assertEquals("value", difference.getReason());
+    assertEquals(3, difference.getExpected());
+    assertEquals(4, difference.getActual());
+  }
+
+  @Test
+  void testPrimitiveAndNullDifferences() {
+    var actual = tree();
+    actual.children.get(0).weight = 0.5;
+
+    assertEquals("children[0].weight", DeepEquality.findDifference(tree(), actual).getPath());
+
+    actual = tree();
+    actual.name = null;
+
+    var difference = DeepEquality.findDifference(tree(), actual);
+    assertEquals("name", difference.getPath());
+    assertEquals("null", difference.getReason());
+
+    assertEquals("", DeepEquality.findDifference(tree(), "tree").getPath());
+  }
+
+  @Test
+  void testListImplementationsAreInterchangeable() {
+    var expected = tree();
+    var actual = tree();
+    actual.children = new LinkedList<>(actual.children);
+
+    assertTrue(DeepEquality.equals(expected, actual));
+
+    actual.children.remove(0);
+    assertEquals("size", DeepEquality.findDifference(expected, actual).getReason());
+  }
+
+  @Test
+  void testCycles() {
+    var expected = new Node(1, "a");
+    expected.next = new Node(2, "b");
+    expected.next.next = expected;
+
+    var actual = new Node(1, "a");
+    actual.next = new Node(2, "b");
+    actual.next.next = actual;
+
+    assertTrue(DeepEquality.equals(expected, actual));
+
+    actual.next.next = new Node(1, "c");
+    assertEquals("next.next.name", DeepEquality.findDifference(expected, actual).getPath());
+  }
+
+  @Test
+  void testDeepGraphsDoNotOverflow() {
+    assertTrue(DeepEquality.equals(chain(200_000), chain(200_000)));
+    assertFalse(DeepEquality.equals(chain(200_000), chain(200_001)));
+  }
+
+  @Test
+  void testLayoutsAreCached() {
+    assertSame(ClassLayout.of(Node.class), ClassLayout.of(Node.class));
+    assertEquals(6, ClassLayout.of(Node.class).getFields().size());
+    assertFalse(ClassLayout.of(String.class).isAccessible());
+  }
+
+  static class Counted extends AbstractList<Object> {
+    int count;
+
+    @Override public Object get(int index) {
+      return null;
+    }
+
+    @Override public int size() {
+      return this.count;
+    }
+  }
+
+  @Test
+  void testInaccessibleLayoutHasNoFields() {
+    var layout = ClassLayout.of(Counted.class);
+
+    assertFalse(layout.isAccessible());
+    assertTrue(layout.getFields().isEmpty());
+  }
+
+  @Test
+  void testExpectDeepEquals() {
+    var actual = tree();
+    var expectation = new ConcurrentExpectation<>(tree(), "Tree");
+    expectation.expectDeepEquals(actual);
+
+    assertDoesNotThrow(expectation::confirm);
+
+    actual.children.get(0).name = "changed";
+
+    Exception exception = assertThrows(ExpectatorException.class, expectation::confirm);
+    assertTrue(exception.getMessage().endsWith(
+        "; children[0].name differs (value): expected child 0 but was changed"
+    ));
+  }
+
+  private static Node tree() {
+    var root = new Node(0, "root");
+
+    for (int i = 0; i < 3; i++) {
+      var child = new Node(i, "child " + i);
+      child.tags = Map.of("ids", new int[]{1, 2, 3});
+      root.children.add(child);
+    }
+
+    return root;
+  }
+
+  private static Node chain(int length) {
+    var head = new Node(0, "head");
+    var node = head;
+
+    for (int i = 1; i < length; i++) {
+      node.next = new Node(i, "node");
+      node = node.next;
+    }
+
+    return head;
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class RetainedSizeTest {
+
+  private static final HeapLayout COMPRESSED = new HeapLayout(true, true, 8);
+  private static final HeapLayout UNCOMPRESSED = new HeapLayout(false, false, 8);
+
+  static class Node {
+    int value;
+    Node next;
+
+    Node(int value, Node next) {
+      this.value = value;
+      this.next = next;
+    }
+  }
+
+  @Test
+  void testHeapLayout() {
+    assertEquals(4, COMPRESSED.getReferenceSize());
+    assertEquals(12, COMPRESSED.getObjectHeaderSize());
+    assertEquals(16, COMPRESSED.getArrayHeaderSize());
+    assertEquals(24, COMPRESSED.getInstanceSize(Node.class));
+    assertEquals(56, COMPRESSED.getArraySize(int.class, 10));
+
+    assertEquals(8, UNCOMPRESSED.getReferenceSize());
+    assertEquals(16, UNCOMPRESSED.getObjectHeaderSize());
+    assertEquals(24, UNCOMPRESSED.getArrayHeaderSize());
+    assertEquals(32, UNCOMPRESSED.getInstanceSize(Node.class));
+    assertEquals(64, UNCOMPRESSED.getArraySize(int.class, 10));
+
+    assertEquals(32, new HeapLayout(true, true, 16).getInstanceSize(Node.class));
+    assertThrows(IllegalArgumentException.class, () -> new HeapLayout(true, true, 12));
+
+    var current = HeapLayout.current();
+    assertEquals(current.isCompressedOops() ? 4 : 8, current.getReferenceSize());
+  }
+
+  @Test
+  void testCyclesAndSharedObjectsAreCountedOnce() {
+    var first = new Node(1, null);
+    var second = new Node(2, first);
+    first.next = second;
+
+    var size = RetainedSize.of(new Node[] {first, second, first}, COMPRESSED);
+
+    assertEquals(COMPRESSED.getArraySize(Node.class, 3) + 2 * 24, size.getBytes());
+    assertEquals(3, size.getObjectCount());
+    assertEquals(size.getBytes() + " bytes in 3 objects", size.toString());
+    assertEquals(0, RetainedSize.of(null).getBytes());
+  }
+
+  @Test
+  void testDeepGraph() {
+    Node head = null;
+
+    for (int i = 0; i < 1_000_000; i++) {
+      head = new Node(i, head);
+    }
+
+    var size = RetainedSize.of(head, COMPRESSED);
+
+    assertEquals(24_000_000, size.getBytes());
+    assertEquals(1_000_000, size.getObjectCount());
+  }
+
+  @Test
+  void testJdkTypes() {
+    assertEquals(
+        COMPRESSED.getInstanceSize(String.class) + COMPRESSED.getArraySize(byte.class, 3),
+        RetainedSize.of("abc", COMPRESSED).getBytes()
+    );
+    assertEquals(
+        COMPRESSED.getInstanceSize(String.class) + COMPRESSED.getArraySize(byte.class, 6),
+        RetainedSize.of("\u0100bc", COMPRESSED).getBytes()
+    );
+
+    List<Node> list = new ArrayList<>(List.of(new Node(1, null), new Node(2, null)));
+
+    assertEquals(
+        COMPRESSED.getInstanceSize(ArrayList.class) + COMPRESSED.getArraySize(Object.class, 2)
+            + 2 * 24,
+        RetainedSize.of(list, COMPRESSED).getBytes()
+    );
+
+    var map = new HashMap<Integer, Node>();
+    map.put(1, new Node(1, null));
+    var entry = map.entrySet().iterator().next();
+
+    assertEquals(
+        COMPRESSED.getInstanceSize(HashMap.class)
+            + COMPRESSED.getArraySize(Object.class, 16)
+            + COMPRESSED.getInstanceSize(entry.getClass())
+            + COMPRESSED.getInstanceSize(Integer.class)
+            + 24,
+        RetainedSize.of(map, COMPRESSED).getBytes()
+    );
+  }
+
+  @Test
+  void testSharedMetadataIsNotCounted() {
+    var size = RetainedSize.of(new Object[] {String.class, TimeUnit.SECONDS}, COMPRESSED);
+
+    assertEquals(COMPRESSED.getArraySize(Object.class, 2), size.getBytes());
+    assertTrue(RetainedSize.of(new Object()).getBytes() >= 8);
+  }
+}
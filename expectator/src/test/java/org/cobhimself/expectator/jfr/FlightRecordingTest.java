@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.cobhimself.expectator.exceptions.ExpectatorException;
+import org.cobhimself.expectator.expectations.IntExpectation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FlightRecordingTest {
+
+  private static final String EXPECTATION = "org.cobhimself.expectator.ExpectationConfirm";
+  private static final String EXPECTATOR = "org.cobhimself.expectator.ExpectatorConfirm";
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void testEventsAreRecorded() throws IOException {
+    List<RecordedEvent> events;
+
+    assertFalse(FlightRecording.isActive());
+
+    try (var recording = new Recording()) {
+      recording.enable(EXPECTATION);
+      recording.enable(EXPECTATOR);
+      recording.start();
+      assertTrue(FlightRecording.isActive());
+
+      new IntExpectation(2, "passing").expectGreaterThan(1).confirm();
+      assertThrows(
+          ExpectatorException.class,
+          () -> new IntExpectation(2, "failing").expectLessThan(1).confirm()
+      );
+
+      recording.stop();
+      assertFalse(FlightRecording.isActive());
+
+      var file = this.directory.resolve("expectator.jfr");
+      recording.dump(file);
+      events = RecordingFile.readAllEvents(file);
+    }
+
+    var expectations = events.stream()
+        .filter(event -> event.getEventType().getName().equals(EXPECTATION))
+        .collect(Collectors.toList());
+    var expectators = events.stream()
+        .filter(event -> event.getEventType().getName().equals(EXPECTATOR))
+        .collect(Collectors.toList());
+
+    assertEquals(2, expectations.size());
+    assertEquals(2, expectators.size());
+    assertEquals("passing", expectations.get(0).getString("expectationName"));
+    assertTrue(expectations.get(0).getBoolean("passed"));
+    assertEquals(1, expectations.get(0).getInt("expectatorCount"));
+    assertEquals("failing", expectators.get(1).getString("expectationName"));
+    assertEquals(
+        "expected {expected} to be less than {actual}",
+        expectators.get(1).getString("messageTemplate")
+    );
+    assertFalse(expectators.get(1).getBoolean("passed"));
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import org.cobhimself.expectator.exceptions.ExpectatorException;
+import org.cobhimself.expectator.expectations.IntExpectation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs in the <code>metricsTest</code> task, whose JVM enables metrics.
+ */
+@Tag("metrics")
+class EnabledMetricsTest {
+
+  private static final String NAME = "Metered expectation";
+
+  @AfterEach
+  void reset() {
+    ExpectatorMetrics.reset();
+  }
+
+  @Test
+  void testConfirmRecordsMetrics() {
+    assumeTrue(ExpectatorMetrics.ENABLED, "run with -D" + ExpectatorMetrics.ENABLED_PROPERTY);
+
+    var expectation = new IntExpectation(2, NAME).expectGreaterThan(1).expectLessThan(3);
+
+    expectation.confirm();
+    expectation.confirm();
+
+    expectation.setExpectedValue(5);
+    assertThrows(ExpectatorException.class, expectation::confirm);
+
+    var stats = ExpectatorMetrics.snapshot().getStats();
+    assertEquals(2, stats.size());
+
+    for (ExpectatorStats stat : stats) {
+      assertEquals(NAME, stat.getExpectationName());
+      assertEquals(stat.getLatencies().getCount(), stat.getInvocations());
+      assertTrue(stat.getLatencies().getMax() > 0, stat::toString);
+    }
+
+    var lessThan = stats.stream()
+        .filter(stat -> stat.getMessageTemplate().contains("less than"))
+        .findFirst()
+        .orElseThrow();
+
+    assertEquals(3, lessThan.getInvocations());
+    assertEquals(1, lessThan.getFailures());
+  }
+}
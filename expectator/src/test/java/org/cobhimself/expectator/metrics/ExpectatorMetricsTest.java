@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ExpectatorMetricsTest {
+
+  @AfterEach
+  void reset() {
+    ExpectatorMetrics.reset();
+  }
+
+  @Test
+  void testRecordAndSnapshot() {
+    ExpectatorMetrics.record("fast", "expected {expected}", 100, true);
+    ExpectatorMetrics.record("fast", "expected {expected}", 300, false);
+    ExpectatorMetrics.record("fast", "other {expected}", 50_000, true);
+    ExpectatorMetrics.record("slow", "expected {expected}", 10_000, true);
+    ExpectatorMetrics.record(null, null, 1, true);
+
+    var snapshot = ExpectatorMetrics.snapshot();
+    assertEquals(4, snapshot.getStats().size());
+
+    var fast = snapshot.getStats().stream()
+        .filter(stats -> stats.getExpectationName().equals("fast"))
+        .filter(stats -> stats.getMessageTemplate().equals("expected {expected}"))
+        .findFirst()
+        .orElseThrow();
+
+    assertEquals(2, fast.getInvocations());
+    assertEquals(1, fast.getFailures());
+    assertEquals(200.0, fast.getLatencies().getMean());
+  }
+
+  @Test
+  void testSlowest() {
+    ExpectatorMetrics.record("a", "t", 10, true);
+    ExpectatorMetrics.record("b", "t", 30, true);
+    ExpectatorMetrics.record("c", "t", 20, true);
+
+    var snapshot = ExpectatorMetrics.snapshot();
+
+    assertEquals(
+        List.of("b", "c"),
+        snapshot.getSlowest(2).stream()
+            .map(ExpectatorStats::getExpectationName)
+            .collect(Collectors.toList())
+    );
+    assertEquals(2, snapshot.reportSlowest(2).lines().count());
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+  @Test
+  void testBucketBoundaries() {
+    for (long value : new long[]{0, 1, 63, 64, 65, 127, 128, 1_000, 123_456_789, Long.MAX_VALUE}) {
+      int bucket = LatencyHistogram.bucketIndex(value);
+
+      assertTrue(LatencyHistogram.lowestValue(bucket) <= value, "lowest of " + value);
+      assertTrue(LatencyHistogram.highestValue(bucket) >= value, "highest of " + value);
+    }
+
+    assertEquals(63, LatencyHistogram.bucketIndex(63));
+    assertEquals(
+        LatencyHistogram.bucketIndex(127) + 1,
+        LatencyHistogram.bucketIndex(128)
+    );
+  }
+
+  @Test
+  void testPercentiles() {
+    var histogram = new LatencyHistogram();
+    IntStream.rangeClosed(1, 10_000).parallel().forEach(histogram::record);
+
+    assertEquals(10_000, histogram.getCount());
+    assertEquals(1, histogram.getMin());
+    assertEquals(10_000, histogram.getMax());
+    assertEquals(5_000.5, histogram.getMean());
+    assertEquals(5_000, histogram.getValueAtPercentile(50), 5_000 * 0.04);
+    assertEquals(9_900, histogram.getValueAtPercentile(99), 9_900 * 0.04);
+    assertEquals(10_000, histogram.getValueAtPercentile(100));
+  }
+
+  @Test
+  void testSnapshotIsIndependent() {
+    var histogram = new LatencyHistogram();
+    histogram.record(10);
+
+    var snapshot = histogram.snapshot();
+    histogram.record(20);
+
+    assertEquals(1, snapshot.getCount());
+    assertEquals(10, snapshot.getMax());
+    assertEquals(2, histogram.getCount());
+  }
+}
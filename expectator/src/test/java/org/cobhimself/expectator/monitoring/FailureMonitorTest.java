@@ -0,0 +1,167 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.stream.IntStream;
+import org.cobhimself.expectator.DetailedExpectator;
+import org.cobhimself.expectator.expectations.ConcurrentExpectation;
+import org.cobhimself.expectator.expectations.IntArrayExpectation;
+import org.cobhimself.expectator.expectations.IntExpectation;
+import org.junit.jupiter.api.Test;
+
+class FailureMonitorTest {
+
+  private static final String NAME = "Monitored expectation";
+  private static final String TEMPLATE = "expected {expected} to be below {actual}";
+
+  @Test
+  void testFailuresAreCountedNotThrown() {
+    var monitor = new FailureMonitor();
+    var expectation = new IntExpectation(5, NAME);
+    expectation.setFailureMonitor(monitor);
+    expectation.expect((e, a) -> e < (Integer) a, 3, TEMPLATE);
+    expectation.expect((e, a) -> e > (Integer) a, 3, "expected {expected} above {actual}");
+
+    for (int i = 0; i < 10; i++) {
+      assertDoesNotThrow(expectation::confirm);
+    }
+
+    var snapshot = monitor.snapshot();
+
+    assertEquals(10, snapshot.getTotalFailures());
+    assertEquals(1, snapshot.getCounts().size());
+
+    var count = snapshot.getCounts().get(0);
+
+    assertEquals(NAME, count.getExpectationName());
+    assertEquals(TEMPLATE, count.getMessageTemplate());
+    assertEquals(10, count.getFailures());
+    assertTrue(count.getSamples().isEmpty());
+  }
+
+  @Test
+  void testReservoirIsBounded() {
+    var monitor = new FailureMonitor(8);
+    var expectation = new IntExpectation(NAME);
+    expectation.expect((e, a) -> e % 2 == 0, 0, "expected {expected} to be even");
+    var spec = expectation.toSpec();
+
+    IntStream.range(0, 10_000).parallel().forEach(i -> spec.confirm(i, monitor));
+
+    var count = monitor.snapshot().getCounts().get(0);
+
+    assertEquals(5_000, count.getFailures());
+    assertEquals(8, count.getSamples().size());
+    count.getSamples().forEach(sample -> assertTrue(sample.matches("expected \\d*[13579] .*")));
+  }
+
+  @Test
+  void testConcurrentExpectation() {
+    var monitor = new FailureMonitor(1);
+    var expectation = new ConcurrentExpectation<Integer>(NAME);
+    expectation.setFailureMonitor(monitor);
+    expectation.setExpectedValue(null);
+    expectation.expectNotNull();
+
+    expectation.confirm();
+
+    var count = monitor.snapshot().getCounts().get(0);
+
+    assertEquals(1, count.getFailures());
+    assertEquals("expected null value to not equal null", count.getSamples().get(0));
+  }
+
+  @Test
+  void testFailingDetailsDoNotReachTheCaller() {
+    var monitor = new FailureMonitor(4);
+    var expectation = new IntExpectation(5, NAME);
+    expectation.setFailureMonitor(monitor);
+    expectation.expect(
+        DetailedExpectator.of(
+            (e, a) -> false,
+            (e, a) -> {
+              throw new IllegalStateException("no details");
+            }
+        ),
+        0,
+        "expected {expected}; {details}"
+    );
+
+    assertDoesNotThrow(expectation::confirm);
+
+    var count = monitor.snapshot().getCounts().get(0);
+
+    assertEquals(1, count.getFailures());
+    assertEquals(
+        "failure details could not be built: java.lang.IllegalStateException: no details",
+        count.getSamples().get(0)
+    );
+  }
+
+  @Test
+  void testThrowingExpectatorsAreRecordedAsFailures() {
+    var monitor = new FailureMonitor(4);
+    var expectation = new IntArrayExpectation(null, NAME).expectLength(3);
+    expectation.setFailureMonitor(monitor);
+
+    assertDoesNotThrow(expectation::confirm);
+
+    var divisor = new IntExpectation(NAME);
+    divisor.expect((e, a) -> 1 / e > 0, 0, "expected {expected} to divide one");
+    var spec = divisor.toSpec();
+
+    assertFalse(assertDoesNotThrow(() -> spec.confirm(0, monitor)));
+    assertTrue(assertDoesNotThrow(() -> spec.confirm(1, monitor)));
+
+    var snapshot = monitor.snapshot();
+
+    assertEquals(2, snapshot.getTotalFailures());
+
+    for (var count : snapshot.getCounts()) {
+      assertEquals(1, count.getFailures());
+      var sample = count.getSamples().get(0);
+
+      assertTrue(sample.startsWith("expectator threw java.lang."), sample);
+    }
+  }
+
+  @Test
+  void testReset() {
+    var monitor = new FailureMonitor();
+    var expectation = new IntExpectation(NAME);
+    expectation.expect((e, a) -> false, 0, TEMPLATE);
+    var spec = expectation.toSpec();
+
+    assertFalse(spec.confirm(1, monitor));
+    monitor.reset();
+
+    assertEquals(0, monitor.snapshot().getTotalFailures());
+  }
+}
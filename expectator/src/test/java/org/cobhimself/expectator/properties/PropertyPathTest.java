@@ -0,0 +1,140 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.properties;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.cobhimself.expectator.exceptions.ExpectatorException;
+import org.cobhimself.expectator.expectations.ConcurrentExpectation;
+import org.junit.jupiter.api.Test;
+
+class PropertyPathTest {
+
+  public static class Address {
+    public final String zip;
+    private final String city;
+
+    Address(String zip, String city) {
+      this.zip = zip;
+      this.city = city;
+    }
+
+    public String getCity() {
+      return this.city;
+    }
+  }
+
+  public static class Customer {
+    private final String name;
+    private final Address address;
+    private final boolean active;
+
+    Customer(String name, Address address, boolean active) {
+      this.name = name;
+      this.address = address;
+      this.active = active;
+    }
+
+    public String name() {
+      return this.name;
+    }
+
+    public Address getAddress() {
+      return this.address;
+    }
+
+    public boolean isActive() {
+      return this.active;
+    }
+  }
+
+  private static final Customer CUSTOMER =
+      new Customer("Collin", new Address("78701", "Austin"), true);
+
+  @Test
+  void testRead() {
+    assertEquals("Collin", PropertyPath.of("name").read(CUSTOMER));
+    assertEquals("Austin", PropertyPath.of("address.city").read(CUSTOMER));
+    assertEquals("78701", PropertyPath.of("address.zip").read(CUSTOMER));
+    assertEquals(true, PropertyPath.of("active").read(CUSTOMER));
+    assertNull(PropertyPath.of("address.zip").read(new Customer("Nobody", null, false)));
+  }
+
+  @Test
+  void testAccessorsAreCached() {
+    assertSame(
+        PropertyAccessors.accessor(Customer.class, "address"),
+        PropertyAccessors.accessor(Customer.class, "address")
+    );
+    assertTrue(PropertyAccessors.names(Customer.class).contains("active"));
+  }
+
+  @Test
+  void testInvalidPaths() {
+    assertThrows(IllegalArgumentException.class, () -> PropertyPath.of("address..zip"));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> PropertyPath.of("address.street").read(CUSTOMER)
+    );
+  }
+
+  @Test
+  void testBareMethodsNeedABackingField() {
+    var names = PropertyAccessors.names(Customer.class);
+
+    assertTrue(names.contains("name"));
+    assertFalse(names.contains("toString"));
+    assertFalse(names.contains("hashCode"));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> PropertyPath.of("address.toString").read(CUSTOMER)
+    );
+  }
+
+  @Test
+  void testExpectProperty() {
+    var expectation = new ConcurrentExpectation<>(CUSTOMER, "Customer");
+    expectation.expectPropertyEquals("address.zip", "78701");
+    expectation.expectProperty(
+        "name",
+        (e, a) -> ((String) e).startsWith((String) a),
+        "Col",
+        "expected name to start with {actual}"
+    );
+
+    assertDoesNotThrow(expectation::confirm);
+
+    expectation.expectPropertyEquals("address.city", "Dallas");
+
+    Exception exception = assertThrows(ExpectatorException.class, expectation::confirm);
+    assertTrue(exception.getMessage().endsWith("to have address.city equal to Dallas"));
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.sampling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.stream.IntStream;
+import org.cobhimself.expectator.exceptions.ExpectatorException;
+import org.cobhimself.expectator.expectations.IntExpectation;
+import org.junit.jupiter.api.Test;
+
+class SampledExpectationTest {
+
+  private static final String NAME = "Sampled expectation";
+
+  @Test
+  void testOneIn() {
+    var expectation = new SampledExpectation<>(
+        new IntExpectation(NAME).expectGreaterThanOrEqualTo(0),
+        Sampler.oneIn(16)
+    );
+
+    //Every thread confirms its own value against the shared guard
+    IntStream.range(0, 160_000).parallel().forEach(expectation::confirm);
+
+    assertEquals(160_000, expectation.getEvaluatedCount() + expectation.getSkippedCount());
+    assertEquals(10_000, expectation.getEvaluatedCount(), 1_000);
+  }
+
+  @Test
+  void testNonPowerOfTwo() {
+    var sampler = Sampler.oneIn(10);
+    long sampled = IntStream.range(0, 100_000).filter(i -> sampler.sample()).count();
+
+    assertEquals(10_000, sampled, 1_000);
+  }
+
+  @Test
+  void testPerSecondBudget() {
+    var expectation = new SampledExpectation<>(
+        new IntExpectation(NAME).expectGreaterThan(1),
+        Sampler.perSecond(100)
+    );
+
+    for (int i = 0; i < 10_000; i++) {
+      expectation.confirm(5);
+    }
+
+    assertTrue(expectation.getEvaluatedCount() >= 100);
+    assertTrue(expectation.getEvaluatedCount() <= 200);
+  }
+
+  @Test
+  void testSampledFailuresThrow() {
+    var expectation = new SampledExpectation<>(
+        new IntExpectation(NAME).expectGreaterThan(10).toSpec(),
+        Sampler.always()
+    );
+
+    var exception = assertThrows(ExpectatorException.class, () -> expectation.confirm(5));
+    assertEquals(NAME + ": expected 5 to be greater than 10", exception.getMessage());
+    assertEquals(NAME, expectation.getName());
+    assertEquals(1, expectation.getEvaluatedCount());
+    assertEquals(0, expectation.getSkippedCount());
+  }
+}
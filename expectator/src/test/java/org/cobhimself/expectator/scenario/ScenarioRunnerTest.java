@@ -0,0 +1,145 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.scenario;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import org.cobhimself.expectator.example.Example;
+import org.cobhimself.expectator.expectations.IntExpectation;
+import org.junit.jupiter.api.Test;
+
+class ScenarioRunnerTest {
+
+  private static final String NAME = "Scenario name";
+
+  /**
+   * Build a scenario whose examples fail for every index divisible by the given divisor.
+   */
+  static Scenario getScenario(int examples, int divisor) {
+    var scenario = new Scenario(NAME, "Examples failing on multiples of " + divisor);
+
+    for (int i = 0; i < examples; i++) {
+      scenario.addExample(
+          new Example("Example " + i, scenario)
+              .addExpectation(new IntExpectation(i % divisor, "remainder").expectGreaterThan(0))
+              .addExpectation(new IntExpectation(i, "index").expectGreaterThanOrEqualTo(0))
+      );
+    }
+
+    return scenario;
+  }
+
+  @Test
+  void testAllExamplesPass() {
+    var scenario = new Scenario();
+
+    for (int i = 0; i < 1000; i++) {
+      scenario.addExample(
+          new Example().addExpectation(new IntExpectation(i, "index").expectLessThan(1000))
+      );
+    }
+
+    var result = new ScenarioRunner().run(scenario);
+
+    assertTrue(result.isSuccessful());
+    assertEquals(1000, result.getPassedCount());
+    assertEquals(0, result.getFailedCount());
+  }
+
+  @Test
+  void testFailuresAreOrderedByIndex() {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    try {
+      var result = new ScenarioRunner(executor)
+          .setBatchSize(7)
+          .run(getScenario(100_000, 10));
+
+      assertFalse(result.isSuccessful());
+      assertEquals(100_000, result.getRunCount());
+      assertEquals(10_000, result.getFailedCount());
+      assertEquals(
+          List.of(0, 10, 20, 30),
+          result.getFailures().stream()
+              .limit(4)
+              .map(ExampleResult::getIndex)
+              .collect(Collectors.toList())
+      );
+      assertEquals(
+          "remainder: expected 0 to be greater than 0",
+          result.getFailures().get(0).getFailures().get(0).getMessage()
+      );
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void testFailuresAreAggregatedPerExample() {
+    var scenario = new Scenario();
+    scenario.addExample(
+        new Example()
+            .addExpectation(new IntExpectation(1, "first").expectLessThan(0))
+            .addExpectation(new IntExpectation(1, "second").expectGreaterThan(0))
+            .addExpectation(new IntExpectation(1, "third").expectGreaterThan(2))
+    );
+
+    var failures = new ScenarioRunner().run(scenario).getFailures();
+
+    assertEquals(1, failures.size());
+    assertEquals(2, failures.get(0).getFailures().size());
+  }
+
+  @Test
+  void testFailFast() {
+    var result = new ScenarioRunner(Runnable::run)
+        .setFailFast(true)
+        .run(getScenario(1000, 10));
+
+    assertTrue(result.isCancelled());
+    assertEquals(1, result.getFailedCount());
+    assertEquals(0, result.getPassedCount());
+  }
+
+  @Test
+  void testUnexpectedExceptionsAreRethrown() {
+    var scenario = new Scenario();
+    scenario.addExample(
+        new Example().addExpectation(
+            new IntExpectation(null, "null value").expectGreaterThan(1)
+        )
+    );
+
+    assertThrows(CompletionException.class, () -> new ScenarioRunner().run(scenario));
+  }
+}
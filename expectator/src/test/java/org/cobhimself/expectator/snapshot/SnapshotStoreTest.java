@@ -0,0 +1,195 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.cobhimself.expectator.exceptions.ExpectatorException;
+import org.cobhimself.expectator.expectations.ConcurrentExpectation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SnapshotStoreTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void testCreateAndMatch() throws Exception {
+    var store = new SnapshotStore(this.directory, false);
+
+    assertEquals(SnapshotResult.Status.CREATED, store.compare("greeting", "hello").getStatus());
+    assertEquals(SnapshotResult.Status.MATCHED, store.compare("greeting", "hello").getStatus());
+
+    byte[] stored = Files.readAllBytes(this.directory.resolve("greeting.snap"));
+    assertEquals(SnapshotStore.HEADER_SIZE + 5, stored.length);
+    assertEquals("hello", new String(stored, SnapshotStore.HEADER_SIZE, 5, "UTF-8"));
+  }
+
+  @Test
+  void testMismatchOffsets() {
+    var store = new SnapshotStore(this.directory, false);
+    store.compare("greeting", "hello");
+
+    var changed = store.compare("greeting", "help");
+    assertEquals(SnapshotResult.Status.MISMATCHED, changed.getStatus());
+    assertEquals(3, changed.getMismatchOffset());
+
+    assertEquals(5, store.compare("greeting", "hello world").getMismatchOffset());
+    assertEquals(2, store.compare("greeting", "he").getMismatchOffset());
+  }
+
+  @Test
+  void testLargeSnapshotsAreMapped() {
+    var store = new SnapshotStore(this.directory, false);
+    var value = new byte[1 << 20];
+    Arrays.fill(value, (byte) 7);
+
+    store.compare("large", value);
+    assertEquals(SnapshotResult.Status.MATCHED, store.compare("large", value).getStatus());
+
+    value[500_000] = 8;
+    assertEquals(500_000, store.compare("large", value).getMismatchOffset());
+  }
+
+  @Test
+  void testUpdateOnlyRewritesChangedSnapshots() throws Exception {
+    var store = new SnapshotStore(this.directory, true);
+    store.compare("same", "unchanged");
+    store.compare("changed", "before");
+
+    Path same = store.getFile("same");
+    var modified = FileTime.fromMillis(0);
+    Files.setLastModifiedTime(same, modified);
+
+    assertEquals(SnapshotResult.Status.MATCHED, store.compare("same", "unchanged").getStatus());
+    assertEquals(SnapshotResult.Status.UPDATED, store.compare("changed", "after").getStatus());
+    assertEquals(modified, Files.getLastModifiedTime(same));
+    assertEquals(SnapshotResult.Status.MATCHED, store.compare("changed", "after").getStatus());
+  }
+
+  @Test
+  void testIds() {
+    var store = new SnapshotStore(this.directory, false);
+
+    assertEquals(this.directory.resolve("group/a_b.snap"), store.getFile("group/a b"));
+    assertThrows(IllegalArgumentException.class, () -> store.getFile("../escape"));
+  }
+
+  @Test
+  void testExpectMatchesSnapshot() {
+    var store = new SnapshotStore(this.directory, false);
+    var expectation = new ConcurrentExpectation<>("value", "Snapshot");
+    expectation.expectMatchesSnapshot("expectation", store);
+
+    assertDoesNotThrow(expectation::confirm);
+    assertDoesNotThrow(expectation::confirm);
+
+    expectation.setExpectedValue("other");
+
+    Exception exception = assertThrows(ExpectatorException.class, expectation::confirm);
+    assertTrue(exception.getMessage().endsWith(
+        "snapshot expectation mismatched, first difference at byte 0"
+    ));
+  }
+
+  @Test
+  void testFailingSnapshotIsComparedOnce() {
+    var serialized = new AtomicInteger();
+    var store = new SnapshotStore(this.directory, false).setSerializer((value, out) -> {
+      serialized.incrementAndGet();
+      SnapshotSerializer.TO_STRING.write(value, out);
+    });
+    store.compare("once", "before");
+    serialized.set(0);
+
+    var expectation = new ConcurrentExpectation<>("after", "Snapshot");
+    expectation.expectMatchesSnapshot("once", store);
+
+    Exception exception = assertThrows(ExpectatorException.class, expectation::confirm);
+    assertTrue(exception.getMessage().endsWith(
+        "snapshot once mismatched, first difference at byte 0"
+    ));
+    assertEquals(1, serialized.get());
+  }
+
+  @Test
+  void testFailureNamesTheSnapshotRatherThanTheValue() {
+    var rendered = new AtomicInteger();
+    var store = new SnapshotStore(this.directory, false)
+        .setSerializer((value, out) -> out.write(value.hashCode()));
+    store.compare("large", 1);
+
+    var expectation = new ConcurrentExpectation<Object>(
+        new Object() {
+          @Override public int hashCode() {
+            return 2;
+          }
+
+          @Override public String toString() {
+            rendered.incrementAndGet();
+
+            return "a value far too large for a failure message";
+          }
+        },
+        "Snapshot"
+    );
+    expectation.expectMatchesSnapshot("large", store);
+
+    Exception exception = assertThrows(ExpectatorException.class, expectation::confirm);
+    assertEquals(
+        "Snapshot: expected the value to match snapshot large; "
+            + "snapshot large mismatched, first difference at byte 0",
+        exception.getMessage()
+    );
+    assertEquals(0, rendered.get());
+  }
+
+  @Test
+  void testToStringStreamsAcrossSlices() throws Exception {
+    var builder = new StringBuilder();
+
+    while (builder.length() < SnapshotSerializer.STRING_SLICE * 3) {
+      builder.append("a\u20ac\ud83d\ude00");
+    }
+
+    String value = builder.toString();
+    var out = new ByteArrayOutputStream();
+    SnapshotSerializer.TO_STRING.write(value, out);
+
+    assertArrayEquals(value.getBytes(StandardCharsets.UTF_8), out.toByteArray());
+  }
+}
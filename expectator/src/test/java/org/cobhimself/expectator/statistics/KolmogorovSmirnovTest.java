@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.statistics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class KolmogorovSmirnovTest {
+
+  static double[] gaussian(long seed, int size, double shift) {
+    var random = new Random(seed);
+    var values = new double[size];
+
+    for (int i = 0; i < size; i++) {
+      values[i] = random.nextGaussian() + shift;
+    }
+
+    return values;
+  }
+
+  @Test
+  void testStatistic() {
+    var a = new double[] {3, 1, 2, 4};
+
+    assertEquals(0, KolmogorovSmirnov.statistic(a, new double[] {4, 3, 2, 1}));
+    assertEquals(1, KolmogorovSmirnov.statistic(a, new double[] {5, 6, 7}));
+    assertEquals(0.5, KolmogorovSmirnov.statistic(a, new double[] {3, 4}));
+    assertEquals(3, a[0], "the samples are not modified");
+    assertTrue(Double.isNaN(KolmogorovSmirnov.statistic(a, new double[0])));
+  }
+
+  @Test
+  void testPValue() {
+    //The 5% critical value of the Kolmogorov distribution is 1.358
+    double n = 1_000_000;
+    double critical = 1.358 / Math.sqrt(n / 2);
+
+    assertEquals(0.05, KolmogorovSmirnov.pValue(critical, (long) n, (long) n), 0.001);
+    assertEquals(1, KolmogorovSmirnov.pValue(0, 10, 10));
+    assertTrue(KolmogorovSmirnov.pValue(1, 1000, 1000) < 1e-10);
+    assertTrue(Double.isNaN(KolmogorovSmirnov.pValue(Double.NaN, 10, 10)));
+  }
+
+  @Test
+  void testSketchesApproximateTheStatistic() {
+    var a = gaussian(1, 200_000, 0);
+    var b = gaussian(2, 100_000, 0.05);
+    var sketchA = new QuantileSketch(0.005);
+    var sketchB = new QuantileSketch(0.005);
+
+    for (double value : a) {
+      sketchA.accept(value);
+    }
+
+    for (double value : b) {
+      sketchB.accept(value);
+    }
+
+    assertEquals(
+        KolmogorovSmirnov.statistic(a, b),
+        KolmogorovSmirnov.statistic(sketchA, sketchB),
+        0.005
+    );
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.statistics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class QuantileSketchTest {
+
+  static void assertWithinAccuracy(double[] sorted, QuantileSketch sketch) {
+    for (double quantile : new double[] {0, 0.01, 0.25, 0.5, 0.75, 0.9, 0.99, 0.999, 1}) {
+      double exact = sorted[(int) (quantile * (sorted.length - 1))];
+      double estimate = sketch.getQuantile(quantile);
+
+      assertTrue(
+          Math.abs(estimate - exact) <= sketch.getRelativeAccuracy() * Math.abs(exact) + 1e-12,
+          quantile + " quantile: " + estimate + " is not within accuracy of " + exact
+      );
+    }
+  }
+
+  @Test
+  void testRelativeAccuracy() {
+    var random = new Random(42);
+    var values = new double[200_000];
+    var sketch = new QuantileSketch();
+
+    for (int i = 0; i < values.length; i++) {
+      //Heavy tailed, mixed sign and with exact zeros
+      values[i] = i % 10 == 0 ? 0 : Math.exp(random.nextGaussian() * 3) * (i % 3 == 0 ? -1 : 1);
+      sketch.accept(values[i]);
+    }
+
+    Arrays.sort(values);
+
+    assertEquals(values.length, sketch.getCount());
+    assertWithinAccuracy(values, sketch);
+  }
+
+  @Test
+  void testMerge() {
+    var random = new Random(7);
+    var values = new double[100_000];
+    var sketches = new QuantileSketch[] {new QuantileSketch(0.02), new QuantileSketch(0.02)};
+
+    for (int i = 0; i < values.length; i++) {
+      values[i] = 1 + random.nextDouble() * 1000;
+      sketches[i % 2].accept(values[i]);
+    }
+
+    Arrays.sort(values);
+
+    assertWithinAccuracy(values, sketches[0].merge(sketches[1]));
+    assertThrows(IllegalArgumentException.class, () -> sketches[0].merge(new QuantileSketch()));
+  }
+
+  @Test
+  void testBoundedBins() {
+    var sketch = new QuantileSketch(0.01, 16);
+
+    for (int i = 0; i < 1000; i++) {
+      sketch.accept(Math.pow(1.1, i % 200));
+    }
+
+    //The lowest bins collapse but the highest quantiles keep their accuracy
+    double max = Math.pow(1.1, 199);
+
+    assertEquals(1000, sketch.getCount());
+    assertEquals(max, sketch.getQuantile(1), max * 0.01);
+    assertTrue(sketch.getQuantile(0) >= 1);
+  }
+
+  @Test
+  void testEdges() {
+    var sketch = new QuantileSketch();
+
+    assertTrue(Double.isNaN(sketch.getQuantile(0.5)));
+
+    sketch.accept(5);
+
+    assertEquals(5, sketch.getQuantile(0));
+    assertEquals(5, sketch.getQuantile(1));
+    assertThrows(IllegalArgumentException.class, () -> sketch.accept(Double.NaN));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> sketch.accept(Double.POSITIVE_INFINITY)
+    );
+    assertThrows(IllegalArgumentException.class, () -> sketch.getQuantile(1.5));
+    assertThrows(IllegalArgumentException.class, () -> new QuantileSketch(0));
+    assertThrows(IllegalArgumentException.class, () -> new QuantileSketch(0.01, 0));
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Collin D. Brooks
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.cobhimself.expectator.statistics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.stream.DoubleStream;
+import org.junit.jupiter.api.Test;
+
+class StreamingSummaryTest {
+
+  @Test
+  void testMatchesTwoPassComputation() {
+    var random = new Random(3);
+    //A large offset makes a naive sum of squares lose all precision
+    double[] values = DoubleStream.generate(() -> 1e9 + random.nextGaussian())
+        .limit(100_000)
+        .toArray();
+    var summary = new StreamingSummary();
+
+    for (double value : values) {
+      summary.accept(value);
+    }
+
+    double mean = DoubleStream.of(values).average().orElseThrow();
+    double variance = DoubleStream.of(values).map(v -> (v - mean) * (v - mean)).sum()
+        / (values.length - 1);
+
+    assertEquals(values.length, summary.getCount());
+    assertEquals(mean, summary.getMean(), 1e-6);
+    assertEquals(variance, summary.getVariance(), 1e-6);
+    assertEquals(DoubleStream.of(values).min().orElseThrow(), summary.getMin());
+    assertEquals(DoubleStream.of(values).max().orElseThrow(), summary.getMax());
+  }
+
+  @Test
+  void testMergeAndParallelStreams() {
+    double[] values = new Random(5).doubles(250_000, -10, 10).toArray();
+    var sequential = SampleStatistics.of(values);
+    var parallel = SampleStatistics.of(DoubleStream.of(values).parallel());
+    var iterated = SampleStatistics.of(DoubleStream.of(values).iterator());
+
+    for (var statistics : new SampleStatistics[] {parallel, iterated}) {
+      assertEquals(sequential.getCount(), statistics.getCount());
+      assertEquals(sequential.getMean(), statistics.getMean(), 1e-9);
+      assertEquals(sequential.getStandardDeviation(), statistics.getStandardDeviation(), 1e-9);
+      assertEquals(sequential.getQuantile(0.5), statistics.getQuantile(0.5), 1e-9);
+    }
+
+    var empty = new StreamingSummary();
+
+    assertTrue(Double.isNaN(empty.getMean()));
+    assertTrue(Double.isNaN(empty.merge(new StreamingSummary()).getVariance()));
+    assertEquals(1, empty.merge(SampleStatistics.of(1).getSummary()).getMean());
+  }
+}